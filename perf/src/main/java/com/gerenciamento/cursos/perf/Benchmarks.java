@@ -0,0 +1,29 @@
+package com.gerenciamento.cursos.perf;
+
+import org.openjdk.jmh.Main;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ponto de entrada do benchmarks.jar: o mesmo Main do JMH (mesmas opções, ex. "Serializacao",
+ * -p tamanho=1000, -l), mas com o resultado em JSON (por padrão em jmh-result.json), para
+ * comparar execuções com {@link CompararResultados}.
+ */
+public final class Benchmarks {
+
+    private Benchmarks() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> argumentos = new ArrayList<>(List.of(args));
+        // só com -rff o JMH gravaria CSV
+        if (!argumentos.contains("-rf")) {
+            argumentos.addAll(0, List.of("-rf", "json"));
+        }
+        if (!argumentos.contains("-rff")) {
+            argumentos.addAll(0, List.of("-rff", "jmh-result.json"));
+        }
+        Main.main(argumentos.toArray(String[]::new));
+    }
+}
@@ -0,0 +1,93 @@
+package com.gerenciamento.cursos.perf;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compara dois resultados JSON do JMH (referência e atual) e termina com código 1 se algum
+ * benchmark piorou mais que a tolerância (padrão 10%) e além da margem de erro das duas medições.
+ * Throughput piora quando cai; os demais modos (avgt, sample, ss), quando o tempo sobe.
+ *
+ * Uso: java -cp benchmarks.jar com.gerenciamento.cursos.perf.CompararResultados base.json atual.json [tolerancia%]
+ */
+public final class CompararResultados {
+
+    private CompararResultados() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Uso: CompararResultados <referencia.json> <atual.json> [tolerancia%]");
+            System.exit(2);
+        }
+        double tolerancia = args.length > 2 ? Double.parseDouble(args[2]) / 100 : 0.10;
+        Map<String, JsonNode> referencia = carregar(new File(args[0]));
+        Map<String, JsonNode> atual = carregar(new File(args[1]));
+
+        int regressoes = 0;
+        System.out.printf(Locale.ROOT, "%-90s %14s %14s %9s%n", "benchmark", "referencia", "atual", "variacao");
+        for (Map.Entry<String, JsonNode> entrada : atual.entrySet()) {
+            JsonNode base = referencia.get(entrada.getKey());
+            if (base == null) {
+                System.out.printf(Locale.ROOT, "%-90s %14s %14.3f %9s%n", entrada.getKey(), "-",
+                        score(entrada.getValue()), "novo");
+                continue;
+            }
+            double antes = score(base);
+            double depois = score(entrada.getValue());
+            boolean throughput = "thrpt".equals(entrada.getValue().path("mode").asText());
+            double variacao = (depois - antes) / antes;
+            double piora = throughput ? -variacao : variacao;
+            boolean alemDoErro = Math.abs(depois - antes) > erro(base) + erro(entrada.getValue());
+            boolean regressao = piora > tolerancia && alemDoErro;
+            if (regressao) {
+                regressoes++;
+            }
+            System.out.printf(Locale.ROOT, "%-90s %14.3f %14.3f %+8.1f%%%s%n", entrada.getKey(), antes, depois,
+                    variacao * 100, regressao ? "  REGRESSAO" : "");
+        }
+        if (regressoes > 0) {
+            System.out.printf(Locale.ROOT, "%d benchmark(s) acima da tolerância de %.0f%%%n", regressoes, tolerancia * 100);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Chave: nome do benchmark mais os parâmetros, em ordem.
+     */
+    private static Map<String, JsonNode> carregar(File arquivo) throws IOException {
+        JsonNode raiz = new ObjectMapper().readTree(arquivo);
+        if (!raiz.isArray()) {
+            throw new IOException(arquivo + " não é um resultado JSON do JMH (-rf json)");
+        }
+        Map<String, JsonNode> resultados = new LinkedHashMap<>();
+        for (JsonNode resultado : raiz) {
+            StringBuilder chave = new StringBuilder(resultado.path("benchmark").asText()
+                    .replace("com.gerenciamento.cursos.perf.", ""));
+            Map<String, String> parametros = new TreeMap<>();
+            resultado.path("params").fields().forEachRemaining(p -> parametros.put(p.getKey(), p.getValue().asText()));
+            parametros.forEach((nome, valor) -> chave.append(' ').append(nome).append('=').append(valor));
+            resultados.put(chave.toString(), resultado);
+        }
+        return resultados;
+    }
+
+    private static double score(JsonNode resultado) {
+        return resultado.path("primaryMetric").path("score").asDouble();
+    }
+
+    /**
+     * Com uma única iteração o JMH grava "NaN" como erro.
+     */
+    private static double erro(JsonNode resultado) {
+        double erro = resultado.path("primaryMetric").path("scoreError").asDouble(0);
+        return Double.isNaN(erro) ? 0 : erro;
+    }
+}
@@ -0,0 +1,97 @@
+package com.gerenciamento.cursos.perf;
+
+import com.gerenciamento.cursos.model.Aluno;
+import com.gerenciamento.cursos.model.Curso;
+import com.gerenciamento.cursos.model.Matricula;
+import com.gerenciamento.cursos.model.Usuario;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Entidades montadas em memória (sem Hibernate) para os benchmarks, com semente fixa para que
+ * execuções diferentes comparem os mesmos dados.
+ */
+final class Dados {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 2, 3, 8, 0);
+
+    private Dados() {
+    }
+
+    static Usuario professor(long id) {
+        Usuario professor = new Usuario();
+        professor.setId(id);
+        professor.setNome("Prof. " + id);
+        professor.setEmail("prof" + id + "@escola.com");
+        professor.setTipo(Usuario.TipoUsuario.PROFESSOR);
+        return professor;
+    }
+
+    static List<Curso> cursos(int quantidade) {
+        List<Curso> cursos = new ArrayList<>(quantidade);
+        for (int i = 1; i <= quantidade; i++) {
+            Curso curso = new Curso();
+            curso.setId((long) i);
+            curso.setVersao(0L);
+            curso.setNome("Curso de Desenvolvimento " + i);
+            curso.setDescricao("Descrição do curso " + i + " com conteúdo programático e bibliografia");
+            curso.setCargaHoraria(40 + i % 80);
+            curso.setVagas(50);
+            curso.setVagasDisponiveis(50);
+            curso.setAtivo(true);
+            curso.setDataCriacao(BASE.plusMinutes(i));
+            curso.setProfessor(professor(1 + i % 10));
+            cursos.add(curso);
+        }
+        return cursos;
+    }
+
+    static List<Aluno> alunos(int quantidade) {
+        List<Aluno> alunos = new ArrayList<>(quantidade);
+        for (int i = 1; i <= quantidade; i++) {
+            Aluno aluno = new Aluno();
+            aluno.setId((long) i);
+            aluno.setVersao(0L);
+            aluno.setNome("Aluno Benchmark " + i);
+            aluno.setEmail("aluno" + i + "@escola.com");
+            aluno.setCpf(String.format("%011d", i));
+            aluno.setTelefone("11999990000");
+            aluno.setAtivo(true);
+            aluno.setDataCadastro(BASE.plusSeconds(i));
+            alunos.add(aluno);
+        }
+        return alunos;
+    }
+
+    /**
+     * Matrículas distribuídas entre os alunos e cursos informados, ligadas nos dois lados
+     * (como o Hibernate deixaria após carregar as coleções).
+     */
+    static List<Matricula> matriculas(int quantidade, List<Aluno> alunos, List<Curso> cursos) {
+        SplittableRandom random = new SplittableRandom(42);
+        List<Matricula> matriculas = new ArrayList<>(quantidade);
+        for (int i = 1; i <= quantidade; i++) {
+            Aluno aluno = alunos.get(i % alunos.size());
+            Curso curso = cursos.get(random.nextInt(cursos.size()));
+            Matricula matricula = new Matricula();
+            matricula.setId((long) i);
+            matricula.setVersao(0L);
+            matricula.setAluno(aluno);
+            matricula.setCurso(curso);
+            matricula.setProgresso((double) random.nextInt(101));
+            matricula.setStatus(matricula.getProgresso() >= 100.0
+                    ? Matricula.StatusMatricula.CONCLUIDA : Matricula.StatusMatricula.ATIVA);
+            matricula.setDataMatricula(BASE.plusHours(i));
+            if (matricula.getStatus() == Matricula.StatusMatricula.CONCLUIDA) {
+                matricula.setDataConclusao(BASE.plusHours(i).plusDays(30));
+            }
+            aluno.getMatriculas().add(matricula);
+            curso.getMatriculas().add(matricula);
+            matriculas.add(matricula);
+        }
+        return matriculas;
+    }
+}
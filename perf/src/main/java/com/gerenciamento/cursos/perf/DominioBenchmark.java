@@ -0,0 +1,95 @@
+package com.gerenciamento.cursos.perf;
+
+import com.gerenciamento.cursos.model.Curso;
+import com.gerenciamento.cursos.model.Matricula;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Regras das entidades no caminho da matrícula. O contador de vagas é medido com um Curso
+ * compartilhado por 4 threads (a mesma linha de cache disputada) e com um Curso por thread;
+ * na aplicação cada transação tem a própria instância e a disputa real fica no banco
+ * (ver o stress de concorrência do módulo perf).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DominioBenchmark {
+
+    @State(Scope.Thread)
+    public static class MatriculaState {
+        Matricula matricula;
+        double progresso;
+
+        @Setup
+        public void preparar() {
+            matricula = new Matricula();
+            matricula.setStatus(Matricula.StatusMatricula.ATIVA);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class CursoCompartilhado {
+        Curso curso;
+
+        @Setup
+        public void preparar() {
+            curso = Dados.cursos(1).get(0);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class CursoPorThread {
+        Curso curso;
+
+        @Setup
+        public void preparar() {
+            curso = Dados.cursos(1).get(0);
+        }
+    }
+
+    /**
+     * Percorre valores dentro e fora da faixa 0-100 (os três ramos do método).
+     */
+    @Benchmark
+    public Double atualizarProgresso(MatriculaState estado) {
+        estado.progresso = estado.progresso >= 120 ? -10 : estado.progresso + 7.5;
+        estado.matricula.atualizarProgresso(estado.progresso);
+        return estado.matricula.getProgresso();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Integer decrementarVagaCompartilhado(CursoCompartilhado estado) {
+        return alterarVaga(estado.curso);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Integer decrementarVagaPorThread(CursoPorThread estado) {
+        return alterarVaga(estado.curso);
+    }
+
+    /**
+     * Decrementa e devolve a vaga para o contador não zerar durante a medição.
+     */
+    private static Integer alterarVaga(Curso curso) {
+        curso.decrementarVaga();
+        Integer disponiveis = curso.getVagasDisponiveis();
+        curso.incrementarVaga();
+        return disponiveis;
+    }
+}
@@ -0,0 +1,91 @@
+package com.gerenciamento.cursos.perf;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.gerenciamento.cursos.config.JacksonConfig;
+import com.gerenciamento.cursos.dto.MatriculaDTO;
+import com.gerenciamento.cursos.model.Aluno;
+import com.gerenciamento.cursos.model.Curso;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Codificação e decodificação de uma lista grande de matrículas em JSON, CBOR e Smile, com os
+ * mappers da aplicação (JSON como SerializacaoBenchmark, binários por JacksonConfig.mapperBinario).
+ * O tamanho do corpo, puro e com gzip, é impresso no início de cada trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FormatosBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    String formato;
+
+    @Param({"100000"})
+    int tamanho;
+
+    private ObjectMapper objectMapper;
+    private JavaType tipoLista;
+    private List<MatriculaDTO> matriculas;
+    private byte[] corpo;
+
+    @Setup
+    public void preparar() throws IOException {
+        objectMapper = switch (formato) {
+            case "json" -> SerializacaoBenchmark.objectMapperDaAplicacao();
+            case "cbor" -> JacksonConfig.mapperBinario(SerializacaoBenchmark.builderDaAplicacao(), new CBORFactory());
+            case "smile" -> JacksonConfig.mapperBinario(SerializacaoBenchmark.builderDaAplicacao(), new SmileFactory());
+            default -> throw new IllegalArgumentException("Formato desconhecido: " + formato);
+        };
+        tipoLista = objectMapper.getTypeFactory().constructCollectionType(List.class, MatriculaDTO.class);
+        List<Curso> cursos = Dados.cursos(Math.max(10, tamanho / 100));
+        List<Aluno> alunos = Dados.alunos(Math.max(10, tamanho / 3));
+        matriculas = Dados.matriculas(tamanho, alunos, cursos).stream()
+                .map(MatriculaDTO::fromEntity)
+                .collect(Collectors.toList());
+        corpo = objectMapper.writeValueAsBytes(matriculas);
+        System.out.printf(Locale.ROOT, "%n[%s] %d matrículas: %d bytes (%.1f por registro), %d com gzip%n",
+                formato, tamanho, corpo.length, (double) corpo.length / tamanho, gzip(corpo));
+    }
+
+    @Benchmark
+    public byte[] codificar() throws IOException {
+        return objectMapper.writeValueAsBytes(matriculas);
+    }
+
+    @Benchmark
+    public List<MatriculaDTO> decodificar() throws IOException {
+        return objectMapper.readValue(corpo, tipoLista);
+    }
+
+    private static int gzip(byte[] dados) throws IOException {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(saida)) {
+            gzip.write(dados);
+        }
+        return saida.size();
+    }
+}
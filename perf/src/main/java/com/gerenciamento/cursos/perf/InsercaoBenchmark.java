@@ -0,0 +1,157 @@
+package com.gerenciamento.cursos.perf;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Linhas inseridas por segundo pelo Hibernate em transações de {@link #LINHAS} alunos, com o
+ * mesmo jdbc.batch_size=50 e order_inserts da aplicação: IDENTITY (como antes; o Hibernate
+ * precisa do id de cada INSERT e não agrupa) × sequence com pool de 50 (como as entidades hoje).
+ * As tabelas são criadas pelo próprio benchmark; por padrão em H2, para o PostgreSQL:
+ * -p url="jdbc:postgresql://localhost:5432/bench?reWriteBatchedInserts=true" -p usuario=... -p senha=...
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class InsercaoBenchmark {
+
+    static final int LINHAS = 1000;
+
+    @Param({"identity", "sequencia"})
+    String estrategia;
+
+    @Param({"jdbc:h2:mem:insercao;DB_CLOSE_DELAY=-1"})
+    String url;
+
+    @Param({"sa"})
+    String usuario;
+
+    @Param({""})
+    String senha;
+
+    private HikariDataSource dataSource;
+    private SessionFactory sessionFactory;
+    private Class<? extends AlunoInserido> tipo;
+
+    @Setup
+    public void preparar() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(usuario);
+        dataSource.setPassword(senha);
+        tipo = "identity".equals(estrategia) ? AlunoIdentity.class : AlunoSequencia.class;
+
+        StandardServiceRegistry registro = new StandardServiceRegistryBuilder()
+                .applySetting(AvailableSettings.DATASOURCE, dataSource)
+                .applySetting(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .applySetting(AvailableSettings.STATEMENT_BATCH_SIZE, 50)
+                .applySetting(AvailableSettings.ORDER_INSERTS, true)
+                .build();
+        sessionFactory = new MetadataSources(registro)
+                .addAnnotatedClass(tipo)
+                .buildMetadata()
+                .buildSessionFactory();
+    }
+
+    @Setup(Level.Iteration)
+    public void limpar() {
+        sessionFactory.inTransaction(session ->
+                session.createMutationQuery("DELETE FROM " + tipo.getSimpleName()).executeUpdate());
+    }
+
+    @TearDown
+    public void encerrar() {
+        sessionFactory.close();
+        dataSource.close();
+    }
+
+    /**
+     * Uma transação com {@link #LINHAS} persist, com flush e clear a cada 50 (o batch_size) para
+     * manter o contexto de persistência pequeno.
+     */
+    @Benchmark
+    @OperationsPerInvocation(LINHAS)
+    public void inserir() throws ReflectiveOperationException {
+        try (Session session = sessionFactory.openSession()) {
+            Transaction transacao = session.beginTransaction();
+            for (int i = 0; i < LINHAS; i++) {
+                AlunoInserido aluno = tipo.getDeclaredConstructor().newInstance();
+                aluno.nome = "Aluno " + i;
+                aluno.email = "aluno" + i + "@bench.com";
+                aluno.cpf = String.format("%011d", i);
+                aluno.telefone = "(11) 99999-0000";
+                aluno.dataCadastro = LocalDateTime.now();
+                aluno.ativo = true;
+                session.persist(aluno);
+                if ((i + 1) % 50 == 0) {
+                    session.flush();
+                    session.clear();
+                }
+            }
+            transacao.commit();
+        }
+    }
+
+    /**
+     * Colunas de Aluno; as subclasses só mudam a geração do id.
+     */
+    @MappedSuperclass
+    public abstract static class AlunoInserido {
+        public String nome;
+        public String email;
+        public String cpf;
+        public String telefone;
+        public LocalDateTime dataCadastro;
+        public Boolean ativo;
+    }
+
+    @Entity(name = "AlunoIdentity")
+    @Table(name = "perf_alunos_identity")
+    public static class AlunoIdentity extends AlunoInserido {
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        public Long id;
+    }
+
+    @Entity(name = "AlunoSequencia")
+    @Table(name = "perf_alunos_sequencia")
+    public static class AlunoSequencia extends AlunoInserido {
+        @Id
+        @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "perf_alunos_seq")
+        @SequenceGenerator(name = "perf_alunos_seq", sequenceName = "perf_alunos_seq", allocationSize = 50)
+        public Long id;
+    }
+}
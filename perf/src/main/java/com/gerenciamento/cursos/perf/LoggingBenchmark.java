@@ -0,0 +1,146 @@
+package com.gerenciamento.cursos.perf;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.encoder.Encoder;
+import com.gerenciamento.cursos.config.LogRateLimitFilter;
+import net.logstash.logback.encoder.LogstashEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.MDC;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo do log para a thread da requisição: console síncrono com o pattern de desenvolvimento
+ * contra o JSON assíncrono do profile prod (logback-spring.xml), com e sem o LogRateLimitFilter.
+ * A saída vai para um arquivo temporário, como um console redirecionado.
+ *
+ * No modo assíncrono com neverBlock, eventos além da capacidade da fila são descartados: o
+ * ganho de latência vem justamente de não esperar o appender.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class LoggingBenchmark {
+
+    static final String PADRAO_CONSOLE =
+            "%d{yyyy-MM-dd HH:mm:ss} [instance:%X{INSTANCE_ID}] [%X{requestId}] %-5level %logger{36} - %msg%n";
+
+    @Param({"sincrono-padrao", "assincrono-json", "assincrono-json-limitado"})
+    String modo;
+
+    private LoggerContext context;
+    private Logger logger;
+    private Path arquivo;
+
+    @State(Scope.Thread)
+    public static class Requisicao {
+        long alunoId;
+
+        @Setup
+        public void preparar() {
+            MDC.put("requestId", UUID.randomUUID().toString());
+            MDC.put("INSTANCE_ID", "benchmark");
+        }
+    }
+
+    @Setup
+    public void preparar() throws IOException {
+        arquivo = Files.createTempFile("logging-benchmark", ".log");
+        context = new LoggerContext();
+        context.setName("benchmark");
+        context.start();
+
+        OutputStreamAppender<ILoggingEvent> saida = new OutputStreamAppender<>();
+        saida.setContext(context);
+        saida.setName("SAIDA");
+        saida.setEncoder(modo.startsWith("sincrono") ? padrao() : json());
+        saida.setOutputStream(new BufferedOutputStream(new FileOutputStream(arquivo.toFile()), 8192));
+        saida.setImmediateFlush(true);
+        saida.start();
+
+        Appender<ILoggingEvent> appender = saida;
+        if (modo.startsWith("assincrono")) {
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setName("ASYNC");
+            async.setQueueSize(8192);
+            async.setNeverBlock(true);
+            async.addAppender(saida);
+            async.start();
+            appender = async;
+        }
+        if (modo.endsWith("limitado")) {
+            LogRateLimitFilter filtro = new LogRateLimitFilter();
+            filtro.setContext(context);
+            filtro.setLimitePorSegundo(5);
+            filtro.start();
+            context.addTurboFilter(filtro);
+        }
+
+        Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.INFO);
+        root.addAppender(appender);
+        logger = context.getLogger("com.gerenciamento.cursos.service.MatriculaService");
+    }
+
+    @TearDown
+    public void encerrar() throws IOException {
+        context.stop();
+        Files.deleteIfExists(arquivo);
+    }
+
+    /**
+     * As duas mensagens INFO de uma matrícula bem-sucedida.
+     */
+    @Benchmark
+    public void matricula(Requisicao requisicao) {
+        long alunoId = ++requisicao.alunoId;
+        logger.info("Matriculando aluno {} no curso {}", alunoId, 7L);
+        logger.info("Matrícula realizada com sucesso. ID: {}", alunoId);
+    }
+
+    private Encoder<ILoggingEvent> padrao() {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(PADRAO_CONSOLE);
+        encoder.start();
+        return encoder;
+    }
+
+    private Encoder<ILoggingEvent> json() {
+        LogstashEncoder encoder = new LogstashEncoder();
+        encoder.setContext(context);
+        encoder.setCustomFields("{\"app\":\"sistema-gerenciamento-cursos\"}");
+        encoder.start();
+        return encoder;
+    }
+}
@@ -0,0 +1,78 @@
+package com.gerenciamento.cursos.perf;
+
+import com.gerenciamento.cursos.dto.AlunoDTO;
+import com.gerenciamento.cursos.dto.CursoDTO;
+import com.gerenciamento.cursos.dto.MatriculaDTO;
+import com.gerenciamento.cursos.model.Aluno;
+import com.gerenciamento.cursos.model.Curso;
+import com.gerenciamento.cursos.model.Matricula;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversão entidade → DTO de listas inteiras, como nas listagens dos services.
+ * AlunoDTO percorre as matrículas do aluno (total de cursos e progresso médio).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapeamentoBenchmark {
+
+    @Param({"100", "1000"})
+    int tamanho;
+
+    private List<Matricula> matriculas;
+    private List<Curso> cursos;
+    private List<Aluno> alunos;
+
+    @Setup
+    public void preparar() {
+        cursos = Dados.cursos(tamanho);
+        alunos = Dados.alunos(tamanho);
+        // três matrículas por aluno; a lista medida tem "tamanho" elementos, como as demais
+        matriculas = Dados.matriculas(tamanho * 3, alunos, cursos).subList(0, tamanho);
+    }
+
+    @Benchmark
+    public List<MatriculaDTO> matriculaFromEntity() {
+        List<MatriculaDTO> dtos = new ArrayList<>(matriculas.size());
+        for (Matricula matricula : matriculas) {
+            dtos.add(MatriculaDTO.fromEntity(matricula));
+        }
+        return dtos;
+    }
+
+    @Benchmark
+    public List<CursoDTO> cursoFromEntity() {
+        List<CursoDTO> dtos = new ArrayList<>(cursos.size());
+        for (Curso curso : cursos) {
+            dtos.add(CursoDTO.fromEntity(curso));
+        }
+        return dtos;
+    }
+
+    @Benchmark
+    public List<AlunoDTO> alunoFromEntity() {
+        List<AlunoDTO> dtos = new ArrayList<>(alunos.size());
+        for (Aluno aluno : alunos) {
+            dtos.add(AlunoDTO.fromEntity(aluno));
+        }
+        return dtos;
+    }
+}
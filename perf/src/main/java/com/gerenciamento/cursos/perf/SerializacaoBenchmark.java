@@ -0,0 +1,84 @@
+package com.gerenciamento.cursos.perf;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.gerenciamento.cursos.dto.CursoDTO;
+import com.gerenciamento.cursos.dto.MatriculaDTO;
+import com.gerenciamento.cursos.model.Aluno;
+import com.gerenciamento.cursos.model.Curso;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Serialização Jackson de listas grandes de DTOs (com LocalDateTime), com o ObjectMapper
+ * configurado como o da aplicação (spring.jackson.* em application.properties).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializacaoBenchmark {
+
+    @Param({"1000", "10000"})
+    int tamanho;
+
+    private ObjectMapper objectMapper;
+    private List<MatriculaDTO> matriculas;
+    private List<CursoDTO> cursos;
+
+    /**
+     * Equivalente ao ObjectMapper do Spring Boot com default-property-inclusion=non_null e
+     * write-dates-as-timestamps=false, e o filtro de campos dos DTOs desligado (JacksonConfig).
+     */
+    static ObjectMapper objectMapperDaAplicacao() {
+        return builderDaAplicacao().build();
+    }
+
+    static Jackson2ObjectMapperBuilder builderDaAplicacao() {
+        return Jackson2ObjectMapperBuilder.json()
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .filters(new SimpleFilterProvider().setFailOnUnknownId(false));
+    }
+
+    @Setup
+    public void preparar() {
+        objectMapper = objectMapperDaAplicacao();
+        List<Curso> entidadesCurso = Dados.cursos(Math.max(10, tamanho / 100));
+        List<Aluno> alunos = Dados.alunos(Math.max(10, tamanho / 3));
+        matriculas = Dados.matriculas(tamanho, alunos, entidadesCurso).stream()
+                .map(MatriculaDTO::fromEntity)
+                .collect(Collectors.toList());
+        cursos = Dados.cursos(tamanho).stream()
+                .map(CursoDTO::fromEntity)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public byte[] matriculas() throws Exception {
+        return objectMapper.writeValueAsBytes(matriculas);
+    }
+
+    @Benchmark
+    public byte[] cursos() throws Exception {
+        return objectMapper.writeValueAsBytes(cursos);
+    }
+}
@@ -0,0 +1,110 @@
+package com.gerenciamento.cursos.perf.carga;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sobe o jar da aplicação num processo separado, com H2 em memória no modo PostgreSQL, para o
+ * teste de carga rodar sem infraestrutura. Argumentos extras (--spring.*) são repassados; com
+ * --spring.datasource.url entre eles, o banco é o informado e o H2 não é configurado.
+ */
+final class AplicacaoLocal implements AutoCloseable {
+
+    private static final Duration ESPERA_MAXIMA = Duration.ofMinutes(3);
+
+    private final Process processo;
+    private final String url;
+
+    private AplicacaoLocal(Process processo, String url) {
+        this.processo = processo;
+        this.url = url;
+    }
+
+    static AplicacaoLocal iniciar(File jar, int porta, List<String> argumentosExtras) throws IOException {
+        List<String> comando = new ArrayList<>(List.of(
+                new File(System.getProperty("java.home"), "bin/java").getPath(),
+                "-jar", jar.getPath(),
+                "--server.port=" + porta,
+                "--management.endpoint.health.probes.enabled=true"));
+        comando.addAll(argumentosBanco(argumentosExtras));
+        comando.addAll(argumentosExtras);
+        File log = new File("carga-app.log");
+        Process processo = new ProcessBuilder(comando)
+                .redirectErrorStream(true)
+                .redirectOutput(log)
+                .start();
+        AplicacaoLocal aplicacao = new AplicacaoLocal(processo, "http://localhost:" + porta);
+        System.out.printf("Aplicação iniciada (pid %d), log em %s%n", processo.pid(), log.getAbsolutePath());
+        aplicacao.aguardarSaude(log);
+        return aplicacao;
+    }
+
+    /**
+     * H2 em memória no modo PostgreSQL, a menos que os argumentos já tragam --spring.datasource.url.
+     */
+    static List<String> argumentosBanco(List<String> argumentosExtras) {
+        if (argumentosExtras.stream().anyMatch(a -> a.startsWith("--spring.datasource.url="))) {
+            return List.of();
+        }
+        return List.of(
+                "--spring.datasource.url=jdbc:h2:mem:carga;MODE=PostgreSQL",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=");
+    }
+
+    String url() {
+        return url;
+    }
+
+    /**
+     * Readiness só fica UP depois dos CommandLineRunners (seed com o usuário admin).
+     */
+    private void aguardarSaude(File log) throws IOException {
+        HttpClient http = HttpClient.newHttpClient();
+        HttpRequest saude = HttpRequest.newBuilder(URI.create(url + "/actuator/health/readiness"))
+                .timeout(Duration.ofSeconds(2)).build();
+        long limite = System.nanoTime() + ESPERA_MAXIMA.toNanos();
+        while (System.nanoTime() < limite) {
+            if (!processo.isAlive()) {
+                throw new IOException("A aplicação terminou com código " + processo.exitValue() + "; ver " + log);
+            }
+            try {
+                if (http.send(saude, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException ex) {
+                // ainda subindo
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrompido aguardando a aplicação", ex);
+            }
+            try {
+                Thread.sleep(500);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrompido aguardando a aplicação", ex);
+            }
+        }
+        close();
+        throw new IOException("A aplicação não respondeu em " + ESPERA_MAXIMA + "; ver " + log);
+    }
+
+    @Override
+    public void close() {
+        processo.destroy();
+        try {
+            processo.waitFor();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            processo.destroyForcibly();
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.gerenciamento.cursos.perf.carga;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Uma sessão de usuário na API (cookie SESSION do Spring Session), com cada chamada medida em
+ * {@link Medicoes} sob o nome da operação. O HttpClient é compartilhado; os cookies são mantidos
+ * por sessão, sem o flag Secure (que o HttpClient respeitaria em http://).
+ */
+final class ClienteApi {
+
+    static final ObjectMapper JSON = new ObjectMapper();
+
+    private static final HttpClient HTTP = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private static final Duration TIMEOUT = Duration.ofSeconds(60);
+
+    private final String url;
+    private final Medicoes medicoes;
+    private final Map<String, String> cookies = new ConcurrentHashMap<>();
+
+    ClienteApi(String url, Medicoes medicoes) {
+        this.url = url;
+        this.medicoes = medicoes;
+    }
+
+    /**
+     * Login por formulário: sucesso é o redirecionamento para a aplicação (302 sem "error").
+     */
+    boolean login(String operacao, String email, String senha) {
+        String corpo = "username=" + URLEncoder.encode(email, StandardCharsets.UTF_8)
+                + "&password=" + URLEncoder.encode(senha, StandardCharsets.UTF_8);
+        Resposta resposta = enviar(operacao, requisicao("/api/auth/login")
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(corpo)));
+        return resposta.status() == 302 && !resposta.localizacao().contains("error");
+    }
+
+    Resposta get(String operacao, String caminho) {
+        return enviar(operacao, requisicao(caminho).GET());
+    }
+
+    Resposta post(String operacao, String caminho, Object corpo) {
+        return enviar(operacao, json(requisicao(caminho), corpo, "POST"));
+    }
+
+    Resposta put(String operacao, String caminho, Object corpo) {
+        return enviar(operacao, json(requisicao(caminho), corpo, "PUT"));
+    }
+
+    Resposta patch(String operacao, String caminho, Object corpo) {
+        return enviar(operacao, json(requisicao(caminho), corpo, "PATCH"));
+    }
+
+    Resposta delete(String operacao, String caminho) {
+        return enviar(operacao, requisicao(caminho).DELETE());
+    }
+
+    Resposta upload(String operacao, String caminho, String campo, String nomeArquivo, String conteudo) {
+        String fronteira = "----carga" + UUID.randomUUID();
+        String corpo = "--" + fronteira + "\r\n"
+                + "Content-Disposition: form-data; name=\"" + campo + "\"; filename=\"" + nomeArquivo + "\"\r\n"
+                + "Content-Type: text/csv\r\n\r\n"
+                + conteudo + "\r\n--" + fronteira + "--\r\n";
+        return enviar(operacao, requisicao(caminho)
+                .header("Content-Type", "multipart/form-data; boundary=" + fronteira)
+                .POST(HttpRequest.BodyPublishers.ofString(corpo, StandardCharsets.UTF_8)));
+    }
+
+    private HttpRequest.Builder requisicao(String caminho) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url + caminho)).timeout(TIMEOUT);
+        if (!cookies.isEmpty()) {
+            builder.header("Cookie", cabecalhoCookie());
+        }
+        return builder;
+    }
+
+    /**
+     * Valor do cabeçalho Cookie da sessão, para clientes que falam HTTP direto no socket.
+     */
+    String cabecalhoCookie() {
+        return cookies.entrySet().stream()
+                .map(c -> c.getKey() + "=" + c.getValue())
+                .collect(Collectors.joining("; "));
+    }
+
+    private static HttpRequest.Builder json(HttpRequest.Builder builder, Object corpo, String metodo) {
+        try {
+            return builder.header("Content-Type", "application/json")
+                    .method(metodo, HttpRequest.BodyPublishers.ofByteArray(JSON.writeValueAsBytes(corpo)));
+        } catch (IOException ex) {
+            throw new IllegalArgumentException(ex);
+        }
+    }
+
+    private Resposta enviar(String operacao, HttpRequest.Builder builder) {
+        long inicio = System.nanoTime();
+        try {
+            HttpResponse<String> resposta = HTTP.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+            medicoes.registrar(operacao, resposta.statusCode(), inicio, System.nanoTime());
+            for (String cookie : resposta.headers().allValues("Set-Cookie")) {
+                String par = cookie.split(";", 2)[0];
+                int igual = par.indexOf('=');
+                if (igual > 0) {
+                    cookies.put(par.substring(0, igual).trim(), par.substring(igual + 1).trim());
+                }
+            }
+            return new Resposta(resposta.statusCode(), resposta.body(),
+                    resposta.headers().firstValue("Location").orElse(""));
+        } catch (IOException ex) {
+            medicoes.registrar(operacao, -1, inicio, System.nanoTime());
+            return new Resposta(-1, ex.toString(), "");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return new Resposta(-1, "interrompida", "");
+        }
+    }
+
+    record Resposta(int status, String corpo, String localizacao) {
+
+        boolean sucesso() {
+            return status >= 200 && status < 300;
+        }
+
+        JsonNode json() {
+            try {
+                return JSON.readTree(corpo);
+            } catch (IOException ex) {
+                throw new IllegalStateException("Resposta não é JSON (status " + status + "): " + corpo, ex);
+            }
+        }
+    }
+}
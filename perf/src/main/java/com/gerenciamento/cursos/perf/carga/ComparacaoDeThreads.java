@@ -0,0 +1,132 @@
+package com.gerenciamento.cursos.perf.carga;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Compara o Tomcat com pool de threads de plataforma e com threads virtuais no mesmo cenário do
+ * {@link TesteDeCarga} e com o mesmo tamanho de pool do Hikari (--pool-db), para que a diferença
+ * venha só do modelo de threads. Cada modo de --modos roda numa aplicação nova; depois do cenário
+ * são coletados o pico de threads de plataforma, a espera por conexão no Hikari e, nas threads
+ * virtuais, os eventos de pinning (GET /actuator/pinning).
+ *
+ * Uso: java -cp benchmarks.jar com.gerenciamento.cursos.perf.carga.ComparacaoDeThreads --jar=&lt;aplicacao.jar&gt;
+ * [--modos=plataforma,virtuais] [--pool-db=10] [--threads-tomcat=200] [opções do TesteDeCarga]
+ */
+public final class ComparacaoDeThreads {
+
+    private ComparacaoDeThreads() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> padroes = new LinkedHashMap<>(TesteDeCarga.PADROES);
+        padroes.put("modos", "plataforma,virtuais");
+        padroes.put("pool-db", "10");
+        padroes.put("threads-tomcat", "200");
+        padroes.put("concorrencia", "256");
+        padroes.put("saida", "threads-result.json");
+        List<String> argumentosAplicacao = new ArrayList<>();
+        Map<String, String> opcoes = Preparacao.lerOpcoes(args, padroes, argumentosAplicacao);
+        if (!opcoes.containsKey("jar")) {
+            throw new IllegalArgumentException("Informe --jar=<aplicacao.jar>: cada modo sobe uma aplicação nova");
+        }
+
+        Map<String, Execucao> execucoes = new LinkedHashMap<>();
+        for (String modo : opcoes.get("modos").split(",")) {
+            modo = modo.trim();
+            List<String> argumentos = new ArrayList<>(argumentosAplicacao);
+            argumentos.add("--spring.threads.virtual.enabled=" + "virtuais".equals(modo));
+            argumentos.add("--spring.datasource.hikari.maximum-pool-size=" + opcoes.get("pool-db"));
+            argumentos.add("--server.tomcat.threads.max=" + opcoes.get("threads-tomcat"));
+            try (AplicacaoLocal aplicacao = AplicacaoLocal.iniciar(new File(opcoes.get("jar")),
+                    Integer.parseInt(opcoes.get("porta")), argumentos)) {
+                Map<String, String> porModo = new LinkedHashMap<>(opcoes);
+                porModo.put("url", aplicacao.url());
+                porModo.put("saida", "threads-" + modo + ".json");
+                System.out.printf("%n=== %s ===%n", modo);
+                TesteDeCarga teste = new TesteDeCarga(porModo);
+                int falhas = teste.executar();
+                execucoes.put(modo, new Execucao(falhas, teste.resumos(), coletar(aplicacao.url(), opcoes)));
+            }
+        }
+
+        imprimir(execucoes);
+        File saida = new File(opcoes.get("saida"));
+        ObjectNode raiz = ClienteApi.JSON.createObjectNode();
+        raiz.set("parametros", ClienteApi.JSON.valueToTree(opcoes));
+        raiz.set("execucoes", ClienteApi.JSON.valueToTree(execucoes));
+        ClienteApi.JSON.writer().with(SerializationFeature.INDENT_OUTPUT).writeValue(saida, raiz);
+        System.out.println("Resultado gravado em " + saida.getAbsolutePath());
+        int falhas = execucoes.values().stream().mapToInt(Execucao::falhas).sum();
+        System.exit(falhas == 0 ? 0 : 1);
+    }
+
+    /**
+     * Métricas do servidor ao fim do cenário, lidas pelo actuator com a sessão do administrador.
+     */
+    private static Map<String, Object> coletar(String url, Map<String, String> opcoes) {
+        ClienteApi admin = Preparacao.loginAdmin(url, new Medicoes(), opcoes);
+        Map<String, Object> servidor = new LinkedHashMap<>();
+        servidor.put("threadsPlataformaPico", medida(admin, "jvm.threads.peak", "VALUE"));
+        double aquisicoes = medida(admin, "hikaricp.connections.acquire", "COUNT");
+        double esperaSegundos = medida(admin, "hikaricp.connections.acquire", "TOTAL_TIME");
+        servidor.put("esperaConexaoMediaMs", aquisicoes == 0 ? 0 : esperaSegundos * 1000 / aquisicoes);
+        servidor.put("esperaConexaoMaximaMs", medida(admin, "hikaricp.connections.acquire", "MAX") * 1000);
+        servidor.put("pinningEventos", medida(admin, "threads.virtuais.pinning", "COUNT"));
+        ClienteApi.Resposta pinning = admin.get("coleta.pinning", "/actuator/pinning?limite=5");
+        if (pinning.sucesso()) {
+            List<String> locais = new ArrayList<>();
+            for (JsonNode local : pinning.json().path("locais")) {
+                locais.add(String.format(Locale.ROOT, "%s (%d, %d ms)", local.path("local").asText(),
+                        local.path("ocorrencias").asLong(), local.path("tempoTotalMs").asLong()));
+            }
+            servidor.put("pinningLocais", locais);
+        }
+        return servidor;
+    }
+
+    private static double medida(ClienteApi admin, String metrica, String estatistica) {
+        ClienteApi.Resposta resposta = admin.get("coleta.metricas", "/actuator/metrics/" + metrica);
+        if (!resposta.sucesso()) {
+            return 0;
+        }
+        for (JsonNode medida : resposta.json().path("measurements")) {
+            if (estatistica.equals(medida.path("statistic").asText())) {
+                return medida.path("value").asDouble();
+            }
+        }
+        return 0;
+    }
+
+    private static void imprimir(Map<String, Execucao> execucoes) {
+        List<String> modos = new ArrayList<>(execucoes.keySet());
+        TreeSet<String> operacoes = new TreeSet<>();
+        execucoes.values().forEach(e -> operacoes.addAll(e.operacoes().keySet()));
+
+        System.out.printf("%n%-24s", "operacao");
+        modos.forEach(m -> System.out.printf(Locale.ROOT, " %20s %20s", m + " req/s", m + " p99 ms"));
+        System.out.println();
+        for (String operacao : operacoes) {
+            System.out.printf("%-24s", operacao);
+            for (String modo : modos) {
+                Medicoes.Resumo r = execucoes.get(modo).operacoes().get(operacao);
+                System.out.printf(Locale.ROOT, " %20.1f %20.1f", r == null ? 0 : r.porSegundo(), r == null ? 0 : r.p99Ms());
+            }
+            System.out.println();
+        }
+        System.out.println();
+        execucoes.forEach((modo, e) -> System.out.printf("%-12s %s%n", modo, e.servidor()));
+    }
+
+    record Execucao(int falhas, Map<String, Medicoes.Resumo> operacoes, Map<String, Object> servidor) {
+    }
+}
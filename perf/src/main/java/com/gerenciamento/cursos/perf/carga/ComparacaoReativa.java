@@ -0,0 +1,206 @@
+package com.gerenciamento.cursos.perf.carga;
+
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compara as listagens da API servlet (/api) com as da API de leitura reativa (/api/reativo) na
+ * mesma aplicação, subida com app.reativo.habilitado=true e poucas threads no Tomcat
+ * (--threads-tomcat). Para cada modo de --modos:
+ * <ul>
+ *   <li>rápidos: --concorrencia clientes repetindo GET alunos e GET cursos por --duracao-s;</li>
+ *   <li>lentos: --lentos clientes pedem a lista de alunos pelo socket, com buffer de recepção
+ *   pequeno, e leem --leitura-bytes a cada --intervalo-ms; enquanto isso, um cliente rápido mede
+ *   a latência de GET cursos. No servlet cada cliente lento prende uma thread na escrita
+ *   bloqueante; no reativo a escrita espera o socket sem thread.</li>
+ * </ul>
+ *
+ * Uso: java -cp benchmarks.jar com.gerenciamento.cursos.perf.carga.ComparacaoReativa --jar=&lt;aplicacao.jar&gt;
+ * [--modos=servlet,reativo] [--alunos=3000] [--threads-tomcat=16] [--lentos=48] [--spring.* ...]
+ */
+public final class ComparacaoReativa {
+
+    /** Buffer de recepção dos clientes lentos: o servidor enche o socket logo e passa a esperar. */
+    private static final int BUFFER_LENTO = 4096;
+
+    private ComparacaoReativa() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> padroes = new LinkedHashMap<>();
+        padroes.put("modos", "servlet,reativo");
+        padroes.put("alunos", "3000");
+        padroes.put("threads-tomcat", "16");
+        padroes.put("concorrencia", "16");
+        padroes.put("duracao-s", "20");
+        padroes.put("lentos", "48");
+        padroes.put("leitura-bytes", "1024");
+        padroes.put("intervalo-ms", "50");
+        padroes.put("saida", "reativo-result.json");
+        List<String> argumentosAplicacao = new ArrayList<>();
+        Map<String, String> opcoes = Preparacao.lerOpcoes(args, padroes, argumentosAplicacao);
+        if (!opcoes.containsKey("jar")) {
+            throw new IllegalArgumentException("Informe --jar=<aplicacao.jar>: a aplicação sobe com app.reativo.habilitado");
+        }
+        argumentosAplicacao.add("--app.reativo.habilitado=true");
+        argumentosAplicacao.add("--server.tomcat.threads.max=" + opcoes.get("threads-tomcat"));
+
+        Map<String, Map<String, Object>> execucoes = new LinkedHashMap<>();
+        int falhas = 0;
+        try (AplicacaoLocal aplicacao = AplicacaoLocal.iniciar(new File(opcoes.get("jar")),
+                Integer.parseInt(opcoes.get("porta")), argumentosAplicacao)) {
+            ClienteApi admin = Preparacao.loginAdmin(aplicacao.url(), new Medicoes(), opcoes);
+            Preparacao.importarAlunos(admin, Preparacao.rodada("Reativo"), Integer.parseInt(opcoes.get("alunos")));
+
+            for (String modo : opcoes.get("modos").split(",")) {
+                modo = modo.trim();
+                String prefixo = switch (modo) {
+                    case "servlet" -> "/api";
+                    case "reativo" -> "/api/reativo";
+                    default -> throw new IllegalArgumentException("Modo desconhecido: " + modo);
+                };
+                System.out.printf("%n=== %s (%s) ===%n", modo, prefixo);
+                Medicoes medicoes = new Medicoes();
+                ClienteApi sessao = Preparacao.loginAdmin(aplicacao.url(), medicoes, opcoes);
+                Map<String, Object> execucao = new LinkedHashMap<>();
+                rapidos(sessao, prefixo, opcoes);
+                execucao.put("lentos", lentos(aplicacao.url(), sessao, prefixo, opcoes));
+                Map<String, Medicoes.Resumo> resumos = medicoes.resumos();
+                resumos.remove("login.admin");
+                execucao.put("operacoes", resumos);
+                falhas += (int) resumos.values().stream().mapToLong(Medicoes.Resumo::erros).sum();
+                execucoes.put(modo, execucao);
+            }
+        }
+
+        imprimir(execucoes);
+        File saida = new File(opcoes.get("saida"));
+        ObjectNode raiz = ClienteApi.JSON.createObjectNode();
+        raiz.set("parametros", ClienteApi.JSON.valueToTree(opcoes));
+        raiz.set("execucoes", ClienteApi.JSON.valueToTree(execucoes));
+        ClienteApi.JSON.writer().with(SerializationFeature.INDENT_OUTPUT).writeValue(saida, raiz);
+        System.out.println("Resultado gravado em " + saida.getAbsolutePath());
+        System.exit(falhas == 0 ? 0 : 1);
+    }
+
+    /**
+     * Clientes rápidos em laço fechado; as medições ficam em "rapido.alunos" e "rapido.cursos".
+     */
+    private static void rapidos(ClienteApi sessao, String prefixo, Map<String, String> opcoes) throws InterruptedException {
+        int concorrencia = Integer.parseInt(opcoes.get("concorrencia"));
+        long fim = System.nanoTime() + TimeUnit.SECONDS.toNanos(Long.parseLong(opcoes.get("duracao-s")));
+        ExecutorService executor = Executors.newFixedThreadPool(concorrencia);
+        try {
+            Preparacao.disparar(executor, concorrencia, indice -> {
+                String recurso = indice % 2 == 0 ? "alunos" : "cursos";
+                while (System.nanoTime() < fim) {
+                    sessao.get("rapido." + recurso, prefixo + "/" + recurso);
+                }
+            });
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Conecta os clientes lentos e, com eles pendurados, mede "lento.sonda" (GET cursos) a cada
+     * 100 ms por --duracao-s. Depois fecha os sockets, o que aborta as respostas ainda pendentes.
+     */
+    private static Map<String, Object> lentos(String url, ClienteApi sessao, String prefixo,
+                                              Map<String, String> opcoes) throws Exception {
+        int quantidade = Integer.parseInt(opcoes.get("lentos"));
+        int leitura = Integer.parseInt(opcoes.get("leitura-bytes"));
+        long intervaloMs = Long.parseLong(opcoes.get("intervalo-ms"));
+        URI destino = URI.create(url);
+        String requisicao = "GET " + prefixo + "/alunos HTTP/1.1\r\n"
+                + "Host: " + destino.getHost() + ":" + destino.getPort() + "\r\n"
+                + "Cookie: " + sessao.cabecalhoCookie() + "\r\n"
+                + "Accept: application/json\r\n"
+                + "Connection: close\r\n\r\n";
+
+        List<Socket> sockets = new ArrayList<>(quantidade);
+        AtomicLong bytesRecebidos = new AtomicLong();
+        AtomicLong concluidos = new AtomicLong();
+        ExecutorService leitores = Executors.newFixedThreadPool(quantidade);
+        try {
+            for (int i = 0; i < quantidade; i++) {
+                Socket socket = new Socket();
+                socket.setReceiveBufferSize(BUFFER_LENTO);
+                socket.connect(new InetSocketAddress(destino.getHost(), destino.getPort()), 10_000);
+                socket.getOutputStream().write(requisicao.getBytes(StandardCharsets.US_ASCII));
+                sockets.add(socket);
+                leitores.execute(() -> lerDevagar(socket, leitura, intervaloMs, bytesRecebidos, concluidos));
+            }
+            // dá tempo para todas as requisições lentas chegarem ao handler e encherem o socket
+            Thread.sleep(2_000);
+            long fim = System.nanoTime() + TimeUnit.SECONDS.toNanos(Long.parseLong(opcoes.get("duracao-s")));
+            while (System.nanoTime() < fim) {
+                sessao.get("lento.sonda", prefixo + "/cursos");
+                Thread.sleep(100);
+            }
+        } finally {
+            for (Socket socket : sockets) {
+                try {
+                    socket.close();
+                } catch (IOException ex) {
+                    // já fechado pelo leitor
+                }
+            }
+            leitores.shutdownNow();
+            leitores.awaitTermination(10, TimeUnit.SECONDS);
+        }
+        // o servidor descobre os sockets fechados na próxima escrita; espera antes do próximo modo
+        Thread.sleep(3_000);
+
+        Map<String, Object> resultado = new LinkedHashMap<>();
+        resultado.put("clientes", quantidade);
+        resultado.put("respostasCompletas", concluidos.get());
+        resultado.put("bytesRecebidos", bytesRecebidos.get());
+        return resultado;
+    }
+
+    private static void lerDevagar(Socket socket, int leitura, long intervaloMs,
+                                   AtomicLong bytesRecebidos, AtomicLong concluidos) {
+        byte[] buffer = new byte[leitura];
+        try (InputStream entrada = socket.getInputStream()) {
+            int lidos;
+            while ((lidos = entrada.read(buffer)) >= 0) {
+                bytesRecebidos.addAndGet(lidos);
+                Thread.sleep(intervaloMs);
+            }
+            concluidos.incrementAndGet();
+        } catch (IOException ex) {
+            // socket fechado ao fim da medição
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void imprimir(Map<String, Map<String, Object>> execucoes) {
+        System.out.printf("%n%-10s %-14s %10s %10s %10s %10s %8s%n", "modo", "operacao", "req/s", "p50 ms", "p99 ms", "max ms", "erros");
+        execucoes.forEach((modo, execucao) -> {
+            ((Map<String, Medicoes.Resumo>) execucao.get("operacoes")).forEach((operacao, r) ->
+                    System.out.printf(Locale.ROOT, "%-10s %-14s %10.1f %10.1f %10.1f %10.1f %8d%n",
+                            modo, operacao, r.porSegundo(), r.p50Ms(), r.p99Ms(), r.maxMs(), r.erros()));
+            System.out.printf("%-10s %-14s %s%n", modo, "lentos", execucao.get("lentos"));
+        });
+    }
+}
@@ -0,0 +1,80 @@
+package com.gerenciamento.cursos.perf.carga;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Latências e códigos de status por operação ("login", "matricula", "dashboard.cursos"...).
+ * Status -1 representa falha de I/O (timeout, conexão recusada).
+ */
+final class Medicoes {
+
+    private final Map<String, Operacao> operacoes = new ConcurrentHashMap<>();
+
+    void registrar(String operacao, int status, long inicioNanos, long fimNanos) {
+        operacoes.computeIfAbsent(operacao, k -> new Operacao()).registrar(status, inicioNanos, fimNanos);
+    }
+
+    Map<String, Resumo> resumos() {
+        Map<String, Resumo> resumos = new TreeMap<>();
+        operacoes.forEach((nome, operacao) -> resumos.put(nome, operacao.resumo()));
+        return resumos;
+    }
+
+    /**
+     * Totais de uma operação. Vazão = requisições / intervalo entre o início da primeira e o fim
+     * da última; erros = falhas de I/O e 5xx exceto 503, que conta como rejeitada (load shedding).
+     */
+    record Resumo(long total, long erros, long rejeitadas, double porSegundo,
+                  double p50Ms, double p95Ms, double p99Ms, double maxMs, Map<String, Long> status) {
+    }
+
+    private static final class Operacao {
+        private final Map<Integer, Long> status = new TreeMap<>();
+        private long[] latencias = new long[1024];
+        private int total;
+        private long primeiroInicio = Long.MAX_VALUE;
+        private long ultimoFim = Long.MIN_VALUE;
+
+        synchronized void registrar(int codigo, long inicio, long fim) {
+            if (total == latencias.length) {
+                latencias = Arrays.copyOf(latencias, total * 2);
+            }
+            latencias[total++] = fim - inicio;
+            status.merge(codigo, 1L, Long::sum);
+            primeiroInicio = Math.min(primeiroInicio, inicio);
+            ultimoFim = Math.max(ultimoFim, fim);
+        }
+
+        synchronized Resumo resumo() {
+            long[] ordenadas = Arrays.copyOf(latencias, total);
+            Arrays.sort(ordenadas);
+            long erros = 0;
+            long rejeitadas = 0;
+            Map<String, Long> porStatus = new TreeMap<>();
+            for (Map.Entry<Integer, Long> entrada : status.entrySet()) {
+                int codigo = entrada.getKey();
+                if (codigo == 503) {
+                    rejeitadas += entrada.getValue();
+                } else if (codigo < 0 || codigo >= 500) {
+                    erros += entrada.getValue();
+                }
+                porStatus.put(codigo < 0 ? "io" : String.valueOf(codigo), entrada.getValue());
+            }
+            double segundos = Math.max(1, ultimoFim - primeiroInicio) / 1e9;
+            return new Resumo(total, erros, rejeitadas, total / segundos,
+                    percentil(ordenadas, 0.50), percentil(ordenadas, 0.95), percentil(ordenadas, 0.99),
+                    ordenadas.length == 0 ? 0 : ordenadas[ordenadas.length - 1] / 1e6, porStatus);
+        }
+
+        private static double percentil(long[] ordenadas, double p) {
+            if (ordenadas.length == 0) {
+                return 0;
+            }
+            int indice = (int) Math.ceil(p * ordenadas.length) - 1;
+            return ordenadas[Math.max(0, indice)] / 1e6;
+        }
+    }
+}
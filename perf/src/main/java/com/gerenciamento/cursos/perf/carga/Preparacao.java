@@ -0,0 +1,179 @@
+package com.gerenciamento.cursos.perf.carga;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Partes comuns dos testes pela API: opções de linha de comando, cursos e alunos próprios de cada
+ * execução (nomes com a "rodada") e o disparo de tarefas concorrentes.
+ */
+final class Preparacao {
+
+    /** Senha padrão dos alunos importados sem a coluna senha. */
+    static final String SENHA_ALUNO = "aluno123";
+
+    private Preparacao() {
+    }
+
+    /**
+     * Opções --chave=valor sobre os padrões; --spring.*, --app.* e --server.* vão para a
+     * aplicação iniciada com --jar.
+     */
+    static Map<String, String> lerOpcoes(String[] args, Map<String, String> padroes, List<String> argumentosAplicacao) {
+        Map<String, String> opcoes = new LinkedHashMap<>(padroes);
+        opcoes.putIfAbsent("url", "http://localhost:8080");
+        opcoes.putIfAbsent("porta", "18080");
+        opcoes.putIfAbsent("admin", "admin@escola.com");
+        opcoes.putIfAbsent("senha-admin", "admin123");
+        for (String arg : args) {
+            if (arg.startsWith("--spring.") || arg.startsWith("--app.") || arg.startsWith("--server.")) {
+                argumentosAplicacao.add(arg);
+            } else if (arg.startsWith("--") && arg.contains("=")) {
+                opcoes.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            } else {
+                throw new IllegalArgumentException("Argumento inválido: " + arg + " (use --opcao=valor)");
+            }
+        }
+        return opcoes;
+    }
+
+    static String rodada(String prefixo) {
+        return prefixo + " " + Long.toString(System.currentTimeMillis() / 1000, 36);
+    }
+
+    static String email(String rodada, int numero) {
+        return rodada.toLowerCase(Locale.ROOT).replace(' ', '.') + "." + numero + "@escola.com";
+    }
+
+    static ClienteApi loginAdmin(String url, Medicoes medicoes, Map<String, String> opcoes) {
+        ClienteApi admin = new ClienteApi(url, medicoes);
+        if (!admin.login("login.admin", opcoes.get("admin"), opcoes.get("senha-admin"))) {
+            throw new IllegalStateException("Login do administrador recusado: " + opcoes.get("admin"));
+        }
+        return admin;
+    }
+
+    static long professorId(ClienteApi admin) {
+        JsonNode professores = exigir(admin.get("setup.professores", "/api/usuarios/professores")).json();
+        if (professores.isEmpty()) {
+            throw new IllegalStateException("Nenhum professor cadastrado para os cursos de teste");
+        }
+        return professores.get(0).path("id").asLong();
+    }
+
+    static Map<String, Object> curso(String nome, int vagas, long professorId) {
+        Map<String, Object> curso = new HashMap<>();
+        curso.put("nome", nome);
+        curso.put("descricao", "Curso criado pelo teste de carga");
+        curso.put("cargaHoraria", 40);
+        curso.put("vagas", vagas);
+        curso.put("professorId", professorId);
+        return curso;
+    }
+
+    static long criarCurso(ClienteApi admin, String nome, int vagas, long professorId) {
+        return exigir(admin.post("setup.curso", "/api/cursos", curso(nome, vagas, professorId))).json().path("id").asLong();
+    }
+
+    /**
+     * Importa os alunos "&lt;rodada&gt; 1..n" por CSV (sem coluna senha: todos recebem a senha
+     * padrão) e devolve os IDs na ordem dos números.
+     */
+    static Importacao importarAlunos(ClienteApi admin, String rodada, int quantidade) throws InterruptedException {
+        long baseCpf = (System.currentTimeMillis() / 1000 % 1_000_000) * 100_000;
+        StringBuilder csv = new StringBuilder("nome,email,cpf,telefone\n");
+        for (int i = 1; i <= quantidade; i++) {
+            csv.append(rodada).append(' ').append(i).append(',')
+                    .append(email(rodada, i)).append(',')
+                    .append(String.format("%011d", baseCpf + i)).append(",11999990000\n");
+        }
+        long inicio = System.nanoTime();
+        JsonNode job = exigir(admin.upload("setup.importacao", "/api/alunos/importacao", "arquivo",
+                "carga.csv", csv.toString())).json();
+        String id = job.path("id").asText();
+        while (!"CONCLUIDA".equals(job.path("status").asText())) {
+            if ("FALHOU".equals(job.path("status").asText())) {
+                throw new IllegalStateException("Importação falhou: " + job);
+            }
+            Thread.sleep(200);
+            job = exigir(admin.get("setup.importacao.status", "/api/alunos/importacao/" + id)).json();
+        }
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        if (job.path("totalErros").asInt() > 0) {
+            throw new IllegalStateException("Importação com erros: " + job.path("erros"));
+        }
+
+        String nome = URLEncoder.encode(rodada + " ", StandardCharsets.UTF_8);
+        JsonNode alunos = exigir(admin.get("setup.alunos", "/api/alunos/buscar?nome=" + nome)).json();
+        Map<String, Long> porEmail = new HashMap<>();
+        alunos.forEach(a -> porEmail.put(a.path("email").asText(), a.path("id").asLong()));
+        List<Long> ids = new ArrayList<>(quantidade);
+        for (int i = 1; i <= quantidade; i++) {
+            Long alunoId = porEmail.get(email(rodada, i));
+            if (alunoId == null) {
+                throw new IllegalStateException("Aluno importado não encontrado: " + i);
+            }
+            ids.add(alunoId);
+        }
+        System.out.printf(Locale.ROOT, "Importação: %d alunos em %.1f s (%.0f linhas/s)%n",
+                quantidade, segundos, quantidade / segundos);
+        return new Importacao(ids, job.path("importados").asInt(), segundos);
+    }
+
+    /**
+     * Submete {@code quantidade} tarefas liberadas por um único sinal de largada e aguarda todas.
+     */
+    static void disparar(ExecutorService executor, int quantidade, Tarefa tarefa) throws InterruptedException {
+        CountDownLatch largada = new CountDownLatch(1);
+        CountDownLatch fim = new CountDownLatch(quantidade);
+        AtomicInteger falhas = new AtomicInteger();
+        for (int i = 0; i < quantidade; i++) {
+            int indice = i;
+            executor.execute(() -> {
+                try {
+                    largada.await();
+                    tarefa.executar(indice);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                } catch (RuntimeException ex) {
+                    if (falhas.getAndIncrement() == 0) {
+                        ex.printStackTrace();
+                    }
+                } finally {
+                    fim.countDown();
+                }
+            });
+        }
+        largada.countDown();
+        fim.await();
+        if (falhas.get() > 0) {
+            throw new IllegalStateException(falhas.get() + " tarefa(s) com exceção no cliente");
+        }
+    }
+
+    static ClienteApi.Resposta exigir(ClienteApi.Resposta resposta) {
+        if (!resposta.sucesso()) {
+            throw new IllegalStateException("Resposta inesperada " + resposta.status() + ": " + resposta.corpo());
+        }
+        return resposta;
+    }
+
+    record Importacao(List<Long> alunoIds, int importados, double segundos) {
+    }
+
+    @FunctionalInterface
+    interface Tarefa {
+        void executar(int indice) throws InterruptedException;
+    }
+}
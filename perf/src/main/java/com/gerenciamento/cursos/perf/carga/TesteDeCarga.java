@@ -0,0 +1,318 @@
+package com.gerenciamento.cursos.perf.carga;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Teste de carga ponta a ponta contra a API HTTP: importação dos alunos, tempestade de logins,
+ * abertura de matrículas com todos os alunos disputando as vagas de um curso ao mesmo tempo e
+ * regime estável (dashboard, heartbeat de progresso, exportações da secretaria). Verifica as
+ * invariantes de vagas depois da disputa e do regime e, com --referencia, compara latências e
+ * vazão com uma execução anterior. Termina com código 1 se alguma invariante ou comparação falhar.
+ * Com --p99-login-ms, procura no fim a maior vazão de login dentro desse p99 ({@link VazaoDeLogin}).
+ *
+ * Uso: java -cp benchmarks.jar com.gerenciamento.cursos.perf.carga.TesteDeCarga [--opcao=valor ...]
+ * Com --jar=&lt;aplicacao.jar&gt;, sobe a aplicação com H2 (modo PostgreSQL); sem ele, usa --url.
+ */
+public final class TesteDeCarga {
+
+    /** Diferenças de latência abaixo disso são ruído de agendamento, não regressão. */
+    private static final double PIORA_MINIMA_MS = 5;
+
+    private final Map<String, String> opcoes;
+    private final Medicoes medicoes = new Medicoes();
+    private final List<Invariante> invariantes = new ArrayList<>();
+    private final Map<String, Object> importacao = new LinkedHashMap<>();
+    private Map<String, Object> vazaoLogin;
+
+    /** Opções padrão, também usadas por quem reaproveita o cenário (ex.: {@link ComparacaoDeThreads}). */
+    static final Map<String, String> PADROES = Map.of(
+            "alunos", "2000",
+            "vagas", "30",
+            "logins", "200",
+            "concorrencia", "64",
+            "duracao-s", "30",
+            "saida", "carga-result.json",
+            "tolerancia", "20",
+            "login-taxa-inicial", "5",
+            "login-degrau-s", "10",
+            "login-refinamentos", "3");
+
+    TesteDeCarga(Map<String, String> opcoes) {
+        this.opcoes = opcoes;
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> argumentosAplicacao = new ArrayList<>();
+        Map<String, String> opcoes = Preparacao.lerOpcoes(args, PADROES, argumentosAplicacao);
+
+        AplicacaoLocal aplicacao = null;
+        if (opcoes.containsKey("jar")) {
+            aplicacao = AplicacaoLocal.iniciar(new File(opcoes.get("jar")),
+                    Integer.parseInt(opcoes.get("porta")), argumentosAplicacao);
+            opcoes.put("url", aplicacao.url());
+        }
+        int falhas;
+        try {
+            falhas = new TesteDeCarga(opcoes).executar();
+        } finally {
+            if (aplicacao != null) {
+                aplicacao.close();
+            }
+        }
+        System.exit(falhas == 0 ? 0 : 1);
+    }
+
+    /**
+     * Executa todas as fases; retorna o número de invariantes ou comparações que falharam.
+     */
+    int executar() throws Exception {
+        String url = opcoes.get("url");
+        int totalAlunos = inteiro("alunos");
+        int vagas = inteiro("vagas");
+        int concorrencia = inteiro("concorrencia");
+        String rodada = Preparacao.rodada("Carga");
+        System.out.printf("%s contra %s: %d alunos, %d vagas, concorrência %d%n",
+                rodada, url, totalAlunos, vagas, concorrencia);
+
+        ClienteApi admin = Preparacao.loginAdmin(url, medicoes, opcoes);
+        long cursoId = Preparacao.criarCurso(admin, rodada, vagas, Preparacao.professorId(admin));
+        Preparacao.Importacao importados = Preparacao.importarAlunos(admin, rodada, totalAlunos);
+        List<Long> alunoIds = importados.alunoIds();
+        importacao.put("linhas", totalAlunos);
+        importacao.put("importados", importados.importados());
+        importacao.put("segundos", importados.segundos());
+        importacao.put("linhasPorSegundo", totalAlunos / importados.segundos());
+
+        ExecutorService executor = Executors.newFixedThreadPool(concorrencia);
+        try {
+            List<ClienteApi> sessoes = tempestadeDeLogins(executor, url, rodada, Math.min(inteiro("logins"), totalAlunos));
+            Map<Long, Long> matriculas = aberturaDeMatriculas(executor, sessoes, alunoIds, cursoId);
+            verificarInvariantes("abertura", admin, cursoId, vagas, totalAlunos, matriculas.size());
+            regimeEstavel(executor, admin, sessoes, alunoIds, new ArrayList<>(matriculas.keySet()), concorrencia);
+            verificarInvariantes("regime", admin, cursoId, vagas, totalAlunos, matriculas.size());
+            if (opcoes.containsKey("p99-login-ms")) {
+                VazaoDeLogin busca = new VazaoDeLogin(url, rodada, totalAlunos,
+                        Double.parseDouble(opcoes.get("p99-login-ms")), inteiro("login-degrau-s"));
+                vazaoLogin = busca.resultado(busca.buscar(Double.parseDouble(opcoes.get("login-taxa-inicial")),
+                        inteiro("login-refinamentos")));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Map<String, Medicoes.Resumo> resumos = medicoes.resumos();
+        long errosServidor = resumos.values().stream().mapToLong(Medicoes.Resumo::erros).sum();
+        invariantes.add(new Invariante("sem erros de servidor", errosServidor == 0,
+                errosServidor + " respostas 5xx (exceto 503) ou falhas de I/O"));
+        imprimir(resumos);
+        gravar(resumos, rodada);
+
+        int falhas = (int) invariantes.stream().filter(i -> !i.ok()).count();
+        if (opcoes.containsKey("referencia")) {
+            falhas += compararComReferencia(resumos, new File(opcoes.get("referencia")),
+                    Double.parseDouble(opcoes.get("tolerancia")) / 100);
+        }
+        System.out.println(falhas == 0 ? "OK" : falhas + " falha(s)");
+        return falhas;
+    }
+
+    /**
+     * Todos os logins liberados ao mesmo tempo; as sessões aceitas seguem para as próximas fases.
+     */
+    private List<ClienteApi> tempestadeDeLogins(ExecutorService executor, String url, String rodada, int quantidade)
+            throws InterruptedException {
+        List<ClienteApi> sessoes = Collections.synchronizedList(new ArrayList<>());
+        Preparacao.disparar(executor, quantidade, i -> {
+            ClienteApi sessao = new ClienteApi(url, medicoes);
+            if (sessao.login("login.aluno", Preparacao.email(rodada, i + 1), Preparacao.SENHA_ALUNO)) {
+                sessoes.add(sessao);
+            }
+        });
+        invariantes.add(new Invariante("logins aceitos", sessoes.size() == quantidade,
+                sessoes.size() + " de " + quantidade));
+        if (sessoes.isEmpty()) {
+            throw new IllegalStateException("Nenhum login de aluno aceito");
+        }
+        return sessoes;
+    }
+
+    /**
+     * Abertura das matrículas: uma tentativa por aluno, todas liberadas juntas. As sessões logadas
+     * são reaproveitadas entre os alunos (o serviço não amarra a matrícula ao usuário da sessão),
+     * evitando um login com BCrypt por aluno. Retorna matrícula -> aluno das tentativas aceitas.
+     */
+    private Map<Long, Long> aberturaDeMatriculas(ExecutorService executor, List<ClienteApi> sessoes,
+                                                 List<Long> alunoIds, long cursoId) throws InterruptedException {
+        Map<Long, Long> matriculas = new ConcurrentHashMap<>();
+        Preparacao.disparar(executor, alunoIds.size(), i -> {
+            ClienteApi.Resposta resposta = sessoes.get(i % sessoes.size()).post("matricula.abertura",
+                    "/api/matriculas", Map.of("alunoId", alunoIds.get(i), "cursoId", cursoId));
+            if (resposta.status() == 201) {
+                matriculas.put(resposta.json().path("id").asLong(), alunoIds.get(i));
+            }
+        });
+        System.out.printf("Abertura: %d matrículas aceitas de %d tentativas%n", matriculas.size(), alunoIds.size());
+        return matriculas;
+    }
+
+    /**
+     * Carga em laço fechado por duracao-s: cada worker escolhe a próxima operação pelo peso.
+     */
+    private void regimeEstavel(ExecutorService executor, ClienteApi admin, List<ClienteApi> sessoes,
+                               List<Long> alunoIds, List<Long> matriculas, int workers) throws InterruptedException {
+        long fim = System.nanoTime() + TimeUnit.SECONDS.toNanos(inteiro("duracao-s"));
+        System.out.printf("Regime estável por %s s com %d workers%n", opcoes.get("duracao-s"), workers);
+        Preparacao.disparar(executor, workers, w -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            while (System.nanoTime() < fim && !Thread.currentThread().isInterrupted()) {
+                ClienteApi sessao = sessoes.get(random.nextInt(sessoes.size()));
+                int sorteio = random.nextInt(100);
+                if (sorteio < 40) {
+                    sessao.get("dashboard.cursos", "/api/cursos");
+                } else if (sorteio < 55) {
+                    sessao.get("dashboard.disponiveis", "/api/cursos/disponiveis");
+                } else if (sorteio < 70) {
+                    sessao.get("dashboard.matriculas", "/api/matriculas/aluno/" + alunoIds.get(random.nextInt(alunoIds.size())));
+                } else if (sorteio < 95 && !matriculas.isEmpty()) {
+                    // abaixo de 100 para a matrícula continuar ATIVA e ocupando a vaga
+                    sessao.patch("heartbeat.progresso", "/api/matriculas/" + matriculas.get(random.nextInt(matriculas.size()))
+                            + "/progresso", Map.of("progresso", (double) random.nextInt(1, 100)));
+                } else if (random.nextBoolean()) {
+                    admin.get("exportacao.matriculas", "/api/matriculas");
+                } else {
+                    admin.get("exportacao.eventos", "/api/eventos?desde=0&limite=1000");
+                }
+            }
+        });
+    }
+
+    /**
+     * Vagas nunca ultrapassadas e contador de vagas coerente com as matrículas ATIVAS. A listagem
+     * por curso vem do modelo de leitura, atualizado de forma assíncrona; por isso a verificação
+     * é repetida por até 10 s antes de falhar.
+     */
+    private void verificarInvariantes(String fase, ClienteApi admin, long cursoId, int vagas,
+                                      int tentativas, int aceitas) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        int disponiveis;
+        long ativas;
+        do {
+            disponiveis = Preparacao.exigir(admin.get("verificacao.curso", "/api/cursos/" + cursoId)).json()
+                    .path("vagasDisponiveis").asInt();
+            ativas = 0;
+            for (JsonNode matricula : Preparacao.exigir(admin.get("verificacao.matriculas", "/api/matriculas/curso/" + cursoId)).json()) {
+                if ("ATIVA".equals(matricula.path("status").asText())) {
+                    ativas++;
+                }
+            }
+            if (disponiveis == vagas - ativas && ativas == aceitas) {
+                break;
+            }
+            Thread.sleep(250);
+        } while (System.nanoTime() < limite);
+
+        invariantes.add(new Invariante(fase + ": sem overbooking", aceitas <= vagas && ativas <= vagas,
+                aceitas + " aceitas, " + ativas + " ativas, " + vagas + " vagas"));
+        invariantes.add(new Invariante(fase + ": vagasDisponiveis = vagas - ativas", disponiveis == vagas - ativas,
+                "vagasDisponiveis=" + disponiveis + ", vagas - ativas=" + (vagas - ativas)));
+        invariantes.add(new Invariante(fase + ": matrículas aceitas = ativas", aceitas == ativas,
+                aceitas + " aceitas, " + ativas + " ativas"));
+        invariantes.add(new Invariante(fase + ": vagas preenchidas", tentativas < vagas || aceitas == vagas,
+                aceitas + " de " + vagas + " com " + tentativas + " tentativas"));
+    }
+
+    Map<String, Medicoes.Resumo> resumos() {
+        return medicoes.resumos();
+    }
+
+    private void imprimir(Map<String, Medicoes.Resumo> resumos) {
+        System.out.printf(Locale.ROOT, "%n%-24s %7s %6s %6s %9s %9s %9s %9s %9s  %s%n",
+                "operacao", "total", "erros", "503", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms", "status");
+        resumos.forEach((nome, r) -> System.out.printf(Locale.ROOT,
+                "%-24s %7d %6d %6d %9.1f %9.1f %9.1f %9.1f %9.1f  %s%n",
+                nome, r.total(), r.erros(), r.rejeitadas(), r.porSegundo(), r.p50Ms(), r.p95Ms(), r.p99Ms(),
+                r.maxMs(), r.status()));
+        System.out.println();
+        invariantes.forEach(i -> System.out.printf("[%s] %s (%s)%n", i.ok() ? "ok" : "FALHOU", i.nome(), i.detalhe()));
+    }
+
+    private void gravar(Map<String, Medicoes.Resumo> resumos, String rodada) throws IOException {
+        ObjectNode raiz = ClienteApi.JSON.createObjectNode();
+        raiz.put("rodada", rodada);
+        raiz.set("parametros", ClienteApi.JSON.valueToTree(opcoes));
+        raiz.set("importacao", ClienteApi.JSON.valueToTree(importacao));
+        raiz.set("operacoes", ClienteApi.JSON.valueToTree(resumos));
+        raiz.set("invariantes", ClienteApi.JSON.valueToTree(invariantes));
+        if (vazaoLogin != null) {
+            raiz.set("vazaoLogin", ClienteApi.JSON.valueToTree(vazaoLogin));
+        }
+        File saida = new File(opcoes.get("saida"));
+        ClienteApi.JSON.writer().with(SerializationFeature.INDENT_OUTPUT).writeValue(saida, raiz);
+        System.out.println("Resultado gravado em " + saida.getAbsolutePath());
+    }
+
+    /**
+     * Regressão: p95/p99 acima da tolerância (e de {@link #PIORA_MINIMA_MS}) ou vazão abaixo dela,
+     * em operações com amostras suficientes nas duas execuções. Retorna o número de regressões.
+     */
+    private static int compararComReferencia(Map<String, Medicoes.Resumo> atual, File arquivo, double tolerancia)
+            throws IOException {
+        JsonNode referencia = ClienteApi.JSON.readTree(arquivo).path("operacoes");
+        if (!referencia.isObject()) {
+            throw new IOException(arquivo + " não é um resultado do teste de carga");
+        }
+        int regressoes = 0;
+        System.out.printf(Locale.ROOT, "%nComparação com %s (tolerância %.0f%%)%n", arquivo, tolerancia * 100);
+        for (Map.Entry<String, Medicoes.Resumo> entrada : atual.entrySet()) {
+            JsonNode base = referencia.path(entrada.getKey());
+            Medicoes.Resumo r = entrada.getValue();
+            if (base.isMissingNode() || r.total() < 20 || base.path("total").asLong() < 20) {
+                continue;
+            }
+            List<String> pioras = new ArrayList<>();
+            comparar(pioras, "p95", base.path("p95Ms").asDouble(), r.p95Ms(), tolerancia);
+            comparar(pioras, "p99", base.path("p99Ms").asDouble(), r.p99Ms(), tolerancia);
+            double vazao = base.path("porSegundo").asDouble();
+            if (r.porSegundo() < vazao * (1 - tolerancia)) {
+                pioras.add(String.format(Locale.ROOT, "req/s %.1f -> %.1f", vazao, r.porSegundo()));
+            }
+            if (!pioras.isEmpty()) {
+                regressoes++;
+                System.out.printf("REGRESSAO %s: %s%n", entrada.getKey(), String.join(", ", pioras));
+            }
+        }
+        if (regressoes == 0) {
+            System.out.println("Sem regressões");
+        }
+        return regressoes;
+    }
+
+    private static void comparar(List<String> pioras, String metrica, double antes, double depois, double tolerancia) {
+        if (depois > antes * (1 + tolerancia) && depois - antes > PIORA_MINIMA_MS) {
+            pioras.add(String.format(Locale.ROOT, "%s %.1f -> %.1f ms", metrica, antes, depois));
+        }
+    }
+
+    private int inteiro(String opcao) {
+        return Integer.parseInt(opcoes.get(opcao));
+    }
+
+    record Invariante(String nome, boolean ok, String detalhe) {
+    }
+}
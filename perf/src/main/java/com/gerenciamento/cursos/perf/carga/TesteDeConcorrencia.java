@@ -0,0 +1,312 @@
+package com.gerenciamento.cursos.perf.carga;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Estresse de concorrência da contabilidade de vagas: workers matriculam, cancelam, reativam e
+ * alteram as vagas de poucos cursos pequenos ao mesmo tempo, em ordem aleatória e com pausas
+ * aleatórias entre as chamadas. Ao fim de cada execução verifica, por curso, que
+ * 0 &lt;= vagasDisponiveis &lt;= vagas, que as vagas ocupadas batem com as matrículas não canceladas,
+ * que nenhum aluno aparece duas vezes e que toda matrícula aceita (201) está listada; e relata a
+ * vazão sob contenção (operações efetivas/s, 409 e conflitos absorvidos pelo retry).
+ *
+ * Com --jar, cada modo de --modos (otimista, pessimista) roda numa aplicação nova e as execuções
+ * são comparadas. Termina com código 1 se alguma invariante falhar.
+ *
+ * Uso: java -cp benchmarks.jar com.gerenciamento.cursos.perf.carga.TesteDeConcorrencia [--opcao=valor ...]
+ */
+public final class TesteDeConcorrencia {
+
+    private static final String METRICA_CONFLITOS = "/actuator/metrics/concorrencia.conflitos";
+
+    private final Map<String, String> opcoes;
+    private final String modo;
+    private final Medicoes medicoes = new Medicoes();
+    private final List<TesteDeCarga.Invariante> invariantes = new ArrayList<>();
+
+    private TesteDeConcorrencia(Map<String, String> opcoes, String modo) {
+        this.opcoes = opcoes;
+        this.modo = modo;
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> argumentosAplicacao = new ArrayList<>();
+        Map<String, String> opcoes = Preparacao.lerOpcoes(args, Map.of(
+                "cursos", "3",
+                "vagas", "10",
+                "alunos", "200",
+                "concorrencia", "32",
+                "duracao-s", "20",
+                "pausa-max-ms", "5",
+                "modos", "otimista,pessimista",
+                "saida", "concorrencia-result.json"), argumentosAplicacao);
+
+        List<Resultado> resultados = new ArrayList<>();
+        if (opcoes.containsKey("jar")) {
+            for (String modo : opcoes.get("modos").split(",")) {
+                List<String> argumentos = new ArrayList<>(argumentosAplicacao);
+                argumentos.add("--app.concorrencia.modo=" + modo.trim());
+                try (AplicacaoLocal aplicacao = AplicacaoLocal.iniciar(new File(opcoes.get("jar")),
+                        Integer.parseInt(opcoes.get("porta")), argumentos)) {
+                    Map<String, String> porModo = new LinkedHashMap<>(opcoes);
+                    porModo.put("url", aplicacao.url());
+                    resultados.add(new TesteDeConcorrencia(porModo, modo.trim()).executar());
+                }
+            }
+        } else {
+            // aplicação já em execução: o modo é o que estiver configurado nela
+            resultados.add(new TesteDeConcorrencia(opcoes, opcoes.getOrDefault("modo", "configurado")).executar());
+        }
+
+        comparar(resultados);
+        gravar(new File(opcoes.get("saida")), opcoes, resultados);
+        long falhas = resultados.stream().flatMap(r -> r.invariantes().stream()).filter(i -> !i.ok()).count();
+        System.out.println(falhas == 0 ? "OK" : falhas + " falha(s)");
+        System.exit(falhas == 0 ? 0 : 1);
+    }
+
+    private Resultado executar() throws Exception {
+        String url = opcoes.get("url");
+        int vagas = inteiro("vagas");
+        int workers = inteiro("concorrencia");
+        String rodada = Preparacao.rodada("Concorrencia");
+        System.out.printf("%n%s (modo %s) contra %s: %s cursos de %d vagas, %s alunos, %d workers por %s s%n",
+                rodada, modo, url, opcoes.get("cursos"), vagas, opcoes.get("alunos"), workers, opcoes.get("duracao-s"));
+
+        ClienteApi admin = Preparacao.loginAdmin(url, medicoes, opcoes);
+        long professorId = Preparacao.professorId(admin);
+        List<Curso> cursos = new ArrayList<>();
+        for (int k = 1; k <= inteiro("cursos"); k++) {
+            String nome = rodada + " " + k;
+            cursos.add(new Curso(Preparacao.criarCurso(admin, nome, vagas, professorId), nome,
+                    Collections.synchronizedList(new ArrayList<>())));
+        }
+        List<Long> alunoIds = Preparacao.importarAlunos(admin, rodada, inteiro("alunos")).alunoIds();
+
+        // uma sessão por worker: a linha da sessão no Spring Session JDBC não vira ponto de contenção
+        List<ClienteApi> sessoes = new ArrayList<>();
+        for (int w = 0; w < workers; w++) {
+            sessoes.add(Preparacao.loginAdmin(url, medicoes, opcoes));
+        }
+
+        double conflitosAntes = conflitosAbsorvidos(admin);
+        long inicio = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        try {
+            estressar(executor, sessoes, cursos, alunoIds, professorId);
+        } finally {
+            executor.shutdownNow();
+        }
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        double absorvidos = conflitosAbsorvidos(admin) - conflitosAntes;
+
+        for (Curso curso : cursos) {
+            verificarInvariantes(admin, curso);
+        }
+        Map<String, Medicoes.Resumo> resumos = new LinkedHashMap<>();
+        medicoes.resumos().forEach((nome, resumo) -> {
+            if (nome.startsWith("estresse.")) {
+                resumos.put(nome, resumo);
+            }
+        });
+        long inesperadas = contar(resumos, s -> !s.startsWith("2") && !s.equals("400") && !s.equals("409"));
+        invariantes.add(new TesteDeCarga.Invariante("sem respostas inesperadas", inesperadas == 0,
+                inesperadas + " respostas fora de 2xx/400/409"));
+
+        Resultado resultado = new Resultado(modo, segundos, contar(resumos, s -> s.startsWith("2")) / segundos,
+                contar(resumos, "400"::equals), contar(resumos, "409"::equals), absorvidos, resumos, invariantes);
+        imprimir(resultado);
+        return resultado;
+    }
+
+    /**
+     * Laço fechado por duracao-s: cada worker sorteia curso e operação (40% matricular, 25%
+     * cancelar, 20% reativar, 15% alterar vagas entre metade e uma vez e meia o valor inicial).
+     * Recusas de negócio (400: sem vagas, já matriculado, redução abaixo das ocupadas) fazem
+     * parte da disputa.
+     */
+    private void estressar(ExecutorService executor, List<ClienteApi> sessoes, List<Curso> cursos,
+                           List<Long> alunoIds, long professorId) throws InterruptedException {
+        int vagas = inteiro("vagas");
+        int pausaMaxima = inteiro("pausa-max-ms");
+        long fim = System.nanoTime() + TimeUnit.SECONDS.toNanos(inteiro("duracao-s"));
+        Preparacao.disparar(executor, sessoes.size(), w -> {
+            ClienteApi sessao = sessoes.get(w);
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            while (System.nanoTime() < fim && !Thread.currentThread().isInterrupted()) {
+                Curso curso = cursos.get(random.nextInt(cursos.size()));
+                int sorteio = random.nextInt(100);
+                if (sorteio < 40) {
+                    ClienteApi.Resposta resposta = sessao.post("estresse.matricular", "/api/matriculas",
+                            Map.of("alunoId", alunoIds.get(random.nextInt(alunoIds.size())), "cursoId", curso.id()));
+                    if (resposta.status() == 201) {
+                        curso.matriculas().add(resposta.json().path("id").asLong());
+                    }
+                } else if (sorteio < 85) {
+                    Long matricula = sortear(curso.matriculas(), random);
+                    if (matricula == null) {
+                        continue;
+                    }
+                    if (sorteio < 65) {
+                        sessao.delete("estresse.cancelar", "/api/matriculas/" + matricula);
+                    } else {
+                        sessao.patch("estresse.reativar", "/api/matriculas/" + matricula + "/reativar", Map.of());
+                    }
+                } else {
+                    int novasVagas = random.nextInt(Math.max(1, vagas / 2), vagas + vagas / 2 + 1);
+                    sessao.put("estresse.vagas", "/api/cursos/" + curso.id(),
+                            Preparacao.curso(curso.nome(), novasVagas, professorId));
+                }
+                if (pausaMaxima > 0) {
+                    Thread.sleep(random.nextInt(pausaMaxima + 1));
+                }
+            }
+        });
+    }
+
+    /**
+     * Verifica um curso contra a listagem por curso, que vem do modelo de leitura (assíncrono):
+     * repete por até 10 s até as contagens convergirem antes de registrar o resultado.
+     */
+    private void verificarInvariantes(ClienteApi admin, Curso curso) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        int vagas;
+        int disponiveis;
+        int ocupadas;
+        int listadas;
+        Set<Long> duplicados = new HashSet<>();
+        int aceitas = curso.matriculas().size();
+        do {
+            JsonNode dados = Preparacao.exigir(admin.get("verificacao.curso", "/api/cursos/" + curso.id())).json();
+            vagas = dados.path("vagas").asInt();
+            disponiveis = dados.path("vagasDisponiveis").asInt();
+            JsonNode matriculas = Preparacao.exigir(admin.get("verificacao.matriculas",
+                    "/api/matriculas/curso/" + curso.id())).json();
+            Set<Long> alunos = new HashSet<>();
+            duplicados.clear();
+            ocupadas = 0;
+            listadas = matriculas.size();
+            for (JsonNode matricula : matriculas) {
+                if (!alunos.add(matricula.path("alunoId").asLong())) {
+                    duplicados.add(matricula.path("alunoId").asLong());
+                }
+                if (!"CANCELADA".equals(matricula.path("status").asText())) {
+                    ocupadas++;
+                }
+            }
+            if (vagas - disponiveis == ocupadas && listadas == aceitas) {
+                break;
+            }
+            Thread.sleep(250);
+        } while (System.nanoTime() < limite);
+
+        String prefixo = curso.nome() + ": ";
+        invariantes.add(new TesteDeCarga.Invariante(prefixo + "0 <= vagasDisponiveis <= vagas",
+                disponiveis >= 0 && disponiveis <= vagas, "vagasDisponiveis=" + disponiveis + ", vagas=" + vagas));
+        invariantes.add(new TesteDeCarga.Invariante(prefixo + "vagas ocupadas = matrículas não canceladas",
+                vagas - disponiveis == ocupadas, (vagas - disponiveis) + " ocupadas, " + ocupadas + " matrículas"));
+        invariantes.add(new TesteDeCarga.Invariante(prefixo + "sem aluno duplicado", duplicados.isEmpty(),
+                duplicados.isEmpty() ? listadas + " matrículas" : "alunos " + duplicados));
+        invariantes.add(new TesteDeCarga.Invariante(prefixo + "matrículas aceitas (201) listadas", listadas == aceitas,
+                aceitas + " aceitas, " + listadas + " listadas"));
+    }
+
+    /**
+     * Conflitos de @Version que o retry resolveu sem chegar ao cliente (contador do RetryConfig);
+     * 0 se a métrica ainda não existe.
+     */
+    private static double conflitosAbsorvidos(ClienteApi admin) {
+        ClienteApi.Resposta resposta = admin.get("setup.metricas", METRICA_CONFLITOS);
+        if (!resposta.sucesso()) {
+            return 0;
+        }
+        for (JsonNode medida : resposta.json().path("measurements")) {
+            if ("COUNT".equals(medida.path("statistic").asText())) {
+                return medida.path("value").asDouble();
+            }
+        }
+        return 0;
+    }
+
+    private static Long sortear(List<Long> lista, ThreadLocalRandom random) {
+        synchronized (lista) {
+            return lista.isEmpty() ? null : lista.get(random.nextInt(lista.size()));
+        }
+    }
+
+    private static long contar(Map<String, Medicoes.Resumo> resumos, Predicate<String> status) {
+        return resumos.values().stream()
+                .flatMap(r -> r.status().entrySet().stream())
+                .filter(e -> status.test(e.getKey()))
+                .mapToLong(Map.Entry::getValue)
+                .sum();
+    }
+
+    private static void imprimir(Resultado resultado) {
+        System.out.printf(Locale.ROOT, "%n%-22s %7s %9s %9s %9s  %s%n",
+                "operacao", "total", "req/s", "p50 ms", "p99 ms", "status");
+        resultado.operacoes().forEach((nome, r) -> System.out.printf(Locale.ROOT,
+                "%-22s %7d %9.1f %9.1f %9.1f  %s%n", nome, r.total(), r.porSegundo(), r.p50Ms(), r.p99Ms(), r.status()));
+        System.out.println();
+        resultado.invariantes().forEach(i ->
+                System.out.printf("[%s] %s (%s)%n", i.ok() ? "ok" : "FALHOU", i.nome(), i.detalhe()));
+    }
+
+    private static void comparar(List<Resultado> resultados) {
+        System.out.printf(Locale.ROOT, "%n%-12s %12s %8s %8s %12s %12s %12s%n",
+                "modo", "efetivas/s", "400", "409", "absorvidos", "p99 matr.", "p99 vagas");
+        for (Resultado r : resultados) {
+            System.out.printf(Locale.ROOT, "%-12s %12.1f %8d %8d %12.0f %9.1f ms %9.1f ms%n",
+                    r.modo(), r.efetivasPorSegundo(), r.recusadas(), r.conflitos(), r.conflitosAbsorvidos(),
+                    p99(r, "estresse.matricular"), p99(r, "estresse.vagas"));
+        }
+    }
+
+    private static double p99(Resultado resultado, String operacao) {
+        Medicoes.Resumo resumo = resultado.operacoes().get(operacao);
+        return resumo == null ? 0 : resumo.p99Ms();
+    }
+
+    private static void gravar(File saida, Map<String, String> opcoes, List<Resultado> resultados) throws Exception {
+        ObjectNode raiz = ClienteApi.JSON.createObjectNode();
+        raiz.set("parametros", ClienteApi.JSON.valueToTree(opcoes));
+        ArrayNode execucoes = raiz.putArray("execucoes");
+        resultados.forEach(r -> execucoes.add(ClienteApi.JSON.valueToTree(r)));
+        ClienteApi.JSON.writer().with(SerializationFeature.INDENT_OUTPUT).writeValue(saida, raiz);
+        System.out.println("Resultado gravado em " + saida.getAbsolutePath());
+    }
+
+    private int inteiro(String opcao) {
+        return Integer.parseInt(opcoes.get(opcao));
+    }
+
+    private record Curso(long id, String nome, List<Long> matriculas) {
+    }
+
+    /**
+     * Uma execução: efetivas = respostas 2xx das operações de estresse por segundo; conflitos =
+     * 409 que chegaram ao cliente; absorvidos = conflitos resolvidos pelo retry no servidor.
+     */
+    record Resultado(String modo, double segundos, double efetivasPorSegundo, long recusadas, long conflitos,
+                     double conflitosAbsorvidos, Map<String, Medicoes.Resumo> operacoes,
+                     List<TesteDeCarga.Invariante> invariantes) {
+    }
+}
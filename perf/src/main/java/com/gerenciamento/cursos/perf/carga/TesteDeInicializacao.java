@@ -0,0 +1,208 @@
+package com.gerenciamento.cursos.perf.carga;
+
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Tempo até a primeira requisição bem-sucedida: do início do processo até o primeiro 200 em
+ * --caminho (padrão /actuator/health, que inclui o banco e é o healthcheck do docker-compose).
+ * Compara o jar do Boot com a saída do perfil Maven inicio-rapido (--dir=target/inicio-rapido):
+ *
+ * <ul>
+ *   <li>jar: java -jar com o jar do Boot (--jar);</li>
+ *   <li>aot: jar com classpath comum e -Dspring.aot.enabled=true;</li>
+ *   <li>aot-cds: o mesmo com o arquivo AppCDS (--dir/app.jsa), gerado numa rodada de treino se não existir.</li>
+ * </ul>
+ *
+ * As variantes se alternam a cada repetição, todas com os perfis de --perfis, que precisam ser os
+ * do build AOT (aot.perfis no pom.xml).
+ *
+ * Uso: java -cp benchmarks.jar com.gerenciamento.cursos.perf.carga.TesteDeInicializacao
+ * --jar=target/sistema-gerenciamento-cursos-1.0.0.jar --dir=target/inicio-rapido [--repeticoes=5]
+ */
+public final class TesteDeInicializacao {
+
+    private static final Duration ESPERA_MAXIMA = Duration.ofMinutes(3);
+    private static final Pattern STARTED = Pattern.compile("Started \\S+ in ([0-9.]+) seconds");
+
+    private final Map<String, String> opcoes;
+    private final List<String> argumentosAplicacao;
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+    private TesteDeInicializacao(Map<String, String> opcoes, List<String> argumentosAplicacao) {
+        this.opcoes = opcoes;
+        this.argumentosAplicacao = argumentosAplicacao;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> padroes = new LinkedHashMap<>();
+        padroes.put("variantes", "jar,aot,aot-cds");
+        padroes.put("repeticoes", "5");
+        padroes.put("perfis", "prod");
+        padroes.put("caminho", "/actuator/health");
+        padroes.put("saida", "inicializacao-result.json");
+        List<String> argumentosAplicacao = new ArrayList<>();
+        Map<String, String> opcoes = Preparacao.lerOpcoes(args, padroes, argumentosAplicacao);
+        new TesteDeInicializacao(opcoes, argumentosAplicacao).executar();
+    }
+
+    private void executar() throws Exception {
+        List<String> variantes = Arrays.stream(opcoes.get("variantes").split(",")).map(String::trim).toList();
+        if (variantes.contains("aot-cds")) {
+            treinarCds();
+        }
+        Map<String, List<Medida>> medidas = new LinkedHashMap<>();
+        int repeticoes = Integer.parseInt(opcoes.get("repeticoes"));
+        for (int i = 1; i <= repeticoes; i++) {
+            for (String variante : variantes) {
+                Medida medida = medir(comando(variante));
+                System.out.printf(Locale.ROOT, "%-8s #%d: primeira requisição em %d ms (Started em %.2f s)%n",
+                        variante, i, medida.primeiraRequisicaoMs(), medida.startedS());
+                medidas.computeIfAbsent(variante, v -> new ArrayList<>()).add(medida);
+            }
+        }
+
+        Map<String, Map<String, Object>> resumo = new LinkedHashMap<>();
+        System.out.printf("%n%-8s %10s %10s %10s %12s%n", "variante", "min ms", "mediana ms", "max ms", "Started s");
+        medidas.forEach((variante, lista) -> {
+            long[] tempos = lista.stream().mapToLong(Medida::primeiraRequisicaoMs).sorted().toArray();
+            double started = lista.stream().mapToDouble(Medida::startedS).sorted().toArray()[lista.size() / 2];
+            System.out.printf(Locale.ROOT, "%-8s %10d %10d %10d %12.2f%n",
+                    variante, tempos[0], tempos[tempos.length / 2], tempos[tempos.length - 1], started);
+            Map<String, Object> r = new LinkedHashMap<>();
+            r.put("minimoMs", tempos[0]);
+            r.put("medianaMs", tempos[tempos.length / 2]);
+            r.put("maximoMs", tempos[tempos.length - 1]);
+            r.put("startedMedianaS", started);
+            r.put("execucoes", lista);
+            resumo.put(variante, r);
+        });
+
+        File saida = new File(opcoes.get("saida"));
+        ObjectNode raiz = ClienteApi.JSON.createObjectNode();
+        raiz.set("parametros", ClienteApi.JSON.valueToTree(opcoes));
+        raiz.set("variantes", ClienteApi.JSON.valueToTree(resumo));
+        ClienteApi.JSON.writer().with(SerializationFeature.INDENT_OUTPUT).writeValue(saida, raiz);
+        System.out.println("Resultado gravado em " + saida.getAbsolutePath());
+    }
+
+    private List<String> comando(String variante) {
+        List<String> comando = new ArrayList<>();
+        comando.add(new File(System.getProperty("java.home"), "bin/java").getPath());
+        switch (variante) {
+            case "jar" -> comando.addAll(List.of("-jar", exigir("jar").getPath()));
+            case "aot" -> comando.addAll(List.of("-Dspring.aot.enabled=true", "-jar", jarInicioRapido().getPath()));
+            case "aot-cds" -> comando.addAll(List.of("-XX:SharedArchiveFile=" + arquivoCds().getPath(),
+                    "-Xlog:cds=off", "-Dspring.aot.enabled=true", "-jar", jarInicioRapido().getPath()));
+            default -> throw new IllegalArgumentException("Variante desconhecida: " + variante);
+        }
+        comando.add("--server.port=" + opcoes.get("porta"));
+        comando.add("--spring.profiles.active=" + opcoes.get("perfis"));
+        comando.addAll(AplicacaoLocal.argumentosBanco(argumentosAplicacao));
+        comando.addAll(argumentosAplicacao);
+        return comando;
+    }
+
+    /**
+     * Mesma rodada de treino do Dockerfile: sobe o contexto e sai no refresh, gravando as classes
+     * carregadas no arquivo.
+     */
+    private void treinarCds() throws IOException, InterruptedException {
+        File arquivo = arquivoCds();
+        if (arquivo.exists()) {
+            System.out.println("Usando o arquivo CDS existente " + arquivo);
+            return;
+        }
+        List<String> comando = new ArrayList<>(List.of(
+                new File(System.getProperty("java.home"), "bin/java").getPath(),
+                "-XX:ArchiveClassesAtExit=" + arquivo.getPath(), "-Xlog:cds=off",
+                "-Dspring.aot.enabled=true", "-Dspring.context.exit=onRefresh",
+                "-jar", jarInicioRapido().getPath(),
+                "--spring.profiles.active=" + opcoes.get("perfis")));
+        comando.addAll(AplicacaoLocal.argumentosBanco(argumentosAplicacao));
+        comando.addAll(argumentosAplicacao);
+        System.out.println("Gerando o arquivo CDS " + arquivo + "...");
+        Process treino = new ProcessBuilder(comando).redirectErrorStream(true)
+                .redirectOutput(new File("inicializacao-app.log")).start();
+        if (treino.waitFor() != 0 || !arquivo.exists()) {
+            throw new IOException("Rodada de treino do CDS falhou; ver inicializacao-app.log");
+        }
+    }
+
+    private Medida medir(List<String> comando) throws IOException, InterruptedException {
+        File log = new File("inicializacao-app.log");
+        HttpRequest requisicao = HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + opcoes.get("porta") + opcoes.get("caminho")))
+                .timeout(Duration.ofSeconds(2)).build();
+        long inicio = System.nanoTime();
+        Process processo = new ProcessBuilder(comando).redirectErrorStream(true).redirectOutput(log).start();
+        try {
+            long limite = inicio + ESPERA_MAXIMA.toNanos();
+            while (System.nanoTime() < limite) {
+                if (!processo.isAlive()) {
+                    throw new IOException("A aplicação terminou com código " + processo.exitValue() + "; ver " + log);
+                }
+                try {
+                    if (http.send(requisicao, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        long ms = (System.nanoTime() - inicio) / 1_000_000;
+                        return new Medida(ms, started(log));
+                    }
+                } catch (IOException ex) {
+                    // ainda subindo
+                }
+                Thread.sleep(10);
+            }
+            throw new IOException("A aplicação não respondeu em " + ESPERA_MAXIMA + "; ver " + log);
+        } finally {
+            processo.destroy();
+            processo.waitFor();
+        }
+    }
+
+    /**
+     * Tempo de inicialização informado pelo Spring ("Started ... in X seconds"), sem a primeira requisição.
+     */
+    private static double started(File log) throws IOException {
+        Matcher matcher = STARTED.matcher(Files.readString(log.toPath()));
+        return matcher.find() ? Double.parseDouble(matcher.group(1)) : Double.NaN;
+    }
+
+    private File exigir(String opcao) {
+        if (!opcoes.containsKey(opcao)) {
+            throw new IllegalArgumentException("Informe --" + opcao);
+        }
+        return new File(opcoes.get(opcao));
+    }
+
+    private File jarInicioRapido() {
+        File[] jars = exigir("dir").listFiles((d, nome) -> nome.endsWith(".jar"));
+        if (jars == null || jars.length != 1) {
+            throw new IllegalArgumentException("--dir deve conter um único jar (saída de mvn package -Pinicio-rapido)");
+        }
+        return jars[0];
+    }
+
+    private File arquivoCds() {
+        return new File(exigir("dir"), "app.jsa");
+    }
+
+    record Medida(long primeiraRequisicaoMs, double startedS) {
+    }
+}
@@ -0,0 +1,98 @@
+package com.gerenciamento.cursos.perf.carga;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Maior vazão de logins (por segundo) com p99 dentro do orçamento e nenhuma rejeição (503) ou
+ * erro. Cada degrau dispara logins em taxa fixa por degrau-s segundos, em laço aberto (uma thread
+ * virtual por login, no horário previsto, sem esperar as anteriores), para que a fila do servidor
+ * apareça na latência. A taxa dobra até um degrau falhar e depois é refinada por busca binária.
+ */
+final class VazaoDeLogin {
+
+    /** Teto da busca, para não dobrar para sempre contra um servidor que nunca satura. */
+    private static final double TAXA_MAXIMA = 10_000;
+
+    private final String url;
+    private final String rodada;
+    private final int alunos;
+    private final double orcamentoP99Ms;
+    private final int degrauSegundos;
+    private final List<Degrau> degraus = new ArrayList<>();
+    private int proximoAluno;
+
+    record Degrau(double taxa, long total, double p99Ms, long rejeitadas, long erros, boolean ok) {
+    }
+
+    VazaoDeLogin(String url, String rodada, int alunos, double orcamentoP99Ms, int degrauSegundos) {
+        this.url = url;
+        this.rodada = rodada;
+        this.alunos = alunos;
+        this.orcamentoP99Ms = orcamentoP99Ms;
+        this.degrauSegundos = degrauSegundos;
+    }
+
+    /**
+     * Executa a busca a partir de {@code taxaInicial}; retorna a maior taxa aprovada (0 se nenhuma).
+     */
+    double buscar(double taxaInicial, int refinamentos) throws InterruptedException {
+        System.out.printf(Locale.ROOT, "Vazão de login com p99 <= %.0f ms (degraus de %d s)%n",
+                orcamentoP99Ms, degrauSegundos);
+        double aprovada = 0;
+        double reprovada = 0;
+        for (double taxa = taxaInicial; taxa <= TAXA_MAXIMA; taxa *= 2) {
+            if (!executar(taxa).ok()) {
+                reprovada = taxa;
+                break;
+            }
+            aprovada = taxa;
+        }
+        for (int i = 0; i < refinamentos && reprovada > 0 && reprovada - aprovada > 1; i++) {
+            double taxa = Math.floor((aprovada + reprovada) / 2);
+            if (executar(taxa).ok()) {
+                aprovada = taxa;
+            } else {
+                reprovada = taxa;
+            }
+        }
+        System.out.printf(Locale.ROOT, "Vazão máxima de login: %.0f/s com p99 <= %.0f ms%n", aprovada, orcamentoP99Ms);
+        return aprovada;
+    }
+
+    private Degrau executar(double taxa) throws InterruptedException {
+        Medicoes medicoes = new Medicoes();
+        long intervalo = (long) (TimeUnit.SECONDS.toNanos(1) / taxa);
+        int quantidade = (int) Math.max(1, taxa * degrauSegundos);
+        long inicio = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < quantidade; i++) {
+                LockSupport.parkNanos(inicio + i * intervalo - System.nanoTime());
+                String email = Preparacao.email(rodada, proximoAluno++ % alunos + 1);
+                executor.execute(() -> new ClienteApi(url, medicoes).login("login", email, Preparacao.SENHA_ALUNO));
+            }
+        }
+        Medicoes.Resumo resumo = medicoes.resumos().get("login");
+        boolean ok = resumo.p99Ms() <= orcamentoP99Ms && resumo.rejeitadas() == 0 && resumo.erros() == 0;
+        Degrau degrau = new Degrau(taxa, resumo.total(), resumo.p99Ms(), resumo.rejeitadas(), resumo.erros(), ok);
+        degraus.add(degrau);
+        System.out.printf(Locale.ROOT, "  %7.0f/s: %5d logins, p99 %8.1f ms, %4d rejeitados, %4d erros  %s%n",
+                taxa, degrau.total(), degrau.p99Ms(), degrau.rejeitadas(), degrau.erros(), ok ? "ok" : "acima");
+        return degrau;
+    }
+
+    Map<String, Object> resultado(double maxima) {
+        Map<String, Object> resultado = new LinkedHashMap<>();
+        resultado.put("orcamentoP99Ms", orcamentoP99Ms);
+        resultado.put("maximaPorSegundo", maxima);
+        resultado.put("degraus", degraus);
+        return resultado;
+    }
+}
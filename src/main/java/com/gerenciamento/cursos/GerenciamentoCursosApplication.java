@@ -2,12 +2,17 @@ package com.gerenciamento.cursos;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
 
 /**
  * Classe principal da aplicação Spring Boot.
  * Responsável por inicializar o sistema de gerenciamento de cursos.
+ *
+ * O R2DBC do Boot fica desligado: com o r2dbc-h2 no classpath ele criaria um ConnectionFactory
+ * embutido, e com um ConnectionFactory no contexto o Boot deixa de criar o DataSource do JDBC.
+ * O pool da leitura reativa é montado em ReactiveReadConfig.
  */
-@SpringBootApplication
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
 public class GerenciamentoCursosApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,67 @@
+package com.gerenciamento.cursos.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executores para trabalhos assíncronos (fora das threads do Tomcat) e tarefas agendadas.
+ * Com spring.threads.virtual.enabled=true, o Spring Boot passa o Tomcat, o agendador (relay do
+ * outbox, projeção, arquivamento) e o applicationTaskExecutor para threads virtuais; aqui a
+ * importação segue o mesmo modo. Os executores de hashing continuam com threads de plataforma:
+ * BCrypt é CPU pura e o tamanho do pool é o que limita o uso dos núcleos.
+ */
+@Configuration
+@EnableScheduling
+public class AsyncConfig {
+
+    /**
+     * Executa as importações em lote, uma por vez por instância, com poucas na fila.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService importacaoExecutor(@Value("${spring.threads.virtual.enabled:false}") boolean threadsVirtuais) {
+        return new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(4),
+                threadsVirtuais ? threadFactoryVirtual("importacao-") : threadFactory("importacao-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Paraleliza o hashing das senhas da importação em todos os núcleos,
+     * separado do executor de hashing usado no login.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService importacaoHashingExecutor() {
+        int nucleos = Runtime.getRuntime().availableProcessors();
+        return new ThreadPoolExecutor(nucleos, nucleos, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), threadFactory("importacao-hash-"));
+    }
+
+    /**
+     * Threads daemon nomeadas por prefixo, para facilitar a leitura de thread dumps.
+     */
+    static ThreadFactory threadFactory(String prefixo) {
+        AtomicInteger contador = new AtomicInteger();
+        return r -> {
+            Thread thread = new Thread(r, prefixo + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Threads virtuais (sempre daemon) com o mesmo esquema de nomes.
+     */
+    static ThreadFactory threadFactoryVirtual(String prefixo) {
+        return Thread.ofVirtual().name(prefixo, 1).factory();
+    }
+}
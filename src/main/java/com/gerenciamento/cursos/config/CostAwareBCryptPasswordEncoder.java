@@ -0,0 +1,32 @@
+package com.gerenciamento.cursos.config;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt que pede o recálculo do hash sempre que o custo gravado difere do configurado. O
+ * {@link BCryptPasswordEncoder#upgradeEncoding} só considera custos menores; aqui reduzir
+ * app.security.bcrypt.strength também vale no próximo login, aliviando o custo de CPU das senhas já gravadas.
+ */
+public class CostAwareBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    private static final Pattern HASH = Pattern.compile("\\A\\$2[aby]?\\$(\\d\\d)\\$[./0-9A-Za-z]{53}");
+
+    private final int strength;
+
+    public CostAwareBCryptPasswordEncoder(int strength) {
+        super(strength);
+        this.strength = strength;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher hash = HASH.matcher(encodedPassword);
+        return hash.matches() && Integer.parseInt(hash.group(1)) != strength;
+    }
+}
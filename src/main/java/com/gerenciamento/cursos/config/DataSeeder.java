@@ -11,15 +11,21 @@ import com.gerenciamento.cursos.repository.UsuarioRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Classe para popular o banco de dados com dados iniciais para testes.
+ * Executa em uma única transação para que os INSERTs sejam enviados em lotes JDBC.
+ * Não roda em produção nem com o gerador de volume ({@link SyntheticDataGenerator}).
  */
 @Component
+@Profile("!prod & !gerar-dados")
 @RequiredArgsConstructor
 @Slf4j
 public class DataSeeder implements CommandLineRunner {
@@ -31,6 +37,7 @@ public class DataSeeder implements CommandLineRunner {
     private final PasswordEncoder passwordEncoder;
 
     @Override
+    @Transactional
     public void run(String... args) {
         if (usuarioRepository.count() == 0) {
             log.info("Populando banco de dados com dados iniciais...");
@@ -67,9 +74,7 @@ public class DataSeeder implements CommandLineRunner {
             prof3.setTipo(Usuario.TipoUsuario.PROFESSOR);
             prof3.setAtivo(true);
             
-            usuarioRepository.save(prof1);
-            usuarioRepository.save(prof2);
-            usuarioRepository.save(prof3);
+            usuarioRepository.saveAll(List.of(prof1, prof2, prof3));
             
             log.info("Professores criados: {}", usuarioRepository.count());
             
@@ -90,6 +95,7 @@ public class DataSeeder implements CommandLineRunner {
                 "Gabriela Santos", "Hugo Pereira", "Isabela Rocha"
             };
             
+            List<Aluno> alunos = new ArrayList<>();
             for (int i = 0; i < nomesAlunos.length; i++) {
                 Aluno aluno = new Aluno();
                 aluno.setNome(nomesAlunos[i]);
@@ -97,8 +103,9 @@ public class DataSeeder implements CommandLineRunner {
                 aluno.setCpf(String.format("%011d", 10000000000L + i));
                 aluno.setTelefone(String.format("(11) 9%04d-%04d", i, i * 10));
                 aluno.setAtivo(true);
-                alunoRepository.save(aluno);
+                alunos.add(aluno);
             }
+            alunoRepository.saveAll(alunos);
             
             log.info("Alunos criados: {}", alunoRepository.count());
             
@@ -148,45 +155,43 @@ public class DataSeeder implements CommandLineRunner {
             curso5.setProfessor(prof2);
             curso5.setAtivo(true);
             
-            cursoRepository.save(curso1);
-            cursoRepository.save(curso2);
-            cursoRepository.save(curso3);
-            cursoRepository.save(curso4);
-            cursoRepository.save(curso5);
+            cursoRepository.saveAll(List.of(curso1, curso2, curso3, curso4, curso5));
             
             log.info("Cursos criados: {}", cursoRepository.count());
             
             // Criar Matrículas de exemplo
-            List<Aluno> todosAlunos = alunoRepository.findAll();
-            List<Curso> todosCursos = cursoRepository.findAll();
+            List<Aluno> todosAlunos = alunos;
+            List<Curso> todosCursos = List.of(curso1, curso2, curso3, curso4, curso5);
+            List<Matricula> matriculas = new ArrayList<>();
             
             // Matricular primeiros 5 alunos em cursos variados
             if (!todosAlunos.isEmpty() && !todosCursos.isEmpty()) {
                 // Aluno 1 - 3 cursos (progresso variado)
-                criarMatricula(todosAlunos.get(0), todosCursos.get(0), 75.0, Matricula.StatusMatricula.ATIVA);
-                criarMatricula(todosAlunos.get(0), todosCursos.get(1), 100.0, Matricula.StatusMatricula.CONCLUIDA);
-                criarMatricula(todosAlunos.get(0), todosCursos.get(3), 30.0, Matricula.StatusMatricula.ATIVA);
+                criarMatricula(matriculas, todosAlunos.get(0), todosCursos.get(0), 75.0, Matricula.StatusMatricula.ATIVA);
+                criarMatricula(matriculas, todosAlunos.get(0), todosCursos.get(1), 100.0, Matricula.StatusMatricula.CONCLUIDA);
+                criarMatricula(matriculas, todosAlunos.get(0), todosCursos.get(3), 30.0, Matricula.StatusMatricula.ATIVA);
                 
                 // Aluno 2 - 2 cursos
-                criarMatricula(todosAlunos.get(1), todosCursos.get(0), 50.0, Matricula.StatusMatricula.ATIVA);
-                criarMatricula(todosAlunos.get(1), todosCursos.get(2), 20.0, Matricula.StatusMatricula.ATIVA);
+                criarMatricula(matriculas, todosAlunos.get(1), todosCursos.get(0), 50.0, Matricula.StatusMatricula.ATIVA);
+                criarMatricula(matriculas, todosAlunos.get(1), todosCursos.get(2), 20.0, Matricula.StatusMatricula.ATIVA);
                 
                 // Aluno 3 - 1 curso concluído
-                criarMatricula(todosAlunos.get(2), todosCursos.get(1), 100.0, Matricula.StatusMatricula.CONCLUIDA);
+                criarMatricula(matriculas, todosAlunos.get(2), todosCursos.get(1), 100.0, Matricula.StatusMatricula.CONCLUIDA);
                 
                 // Aluno 4 - 2 cursos
-                criarMatricula(todosAlunos.get(3), todosCursos.get(2), 85.0, Matricula.StatusMatricula.ATIVA);
-                criarMatricula(todosAlunos.get(3), todosCursos.get(4), 45.0, Matricula.StatusMatricula.ATIVA);
+                criarMatricula(matriculas, todosAlunos.get(3), todosCursos.get(2), 85.0, Matricula.StatusMatricula.ATIVA);
+                criarMatricula(matriculas, todosAlunos.get(3), todosCursos.get(4), 45.0, Matricula.StatusMatricula.ATIVA);
                 
                 // Aluno 5 - 1 curso cancelado e 1 ativo
-                criarMatricula(todosAlunos.get(4), todosCursos.get(0), 10.0, Matricula.StatusMatricula.CANCELADA);
-                criarMatricula(todosAlunos.get(4), todosCursos.get(3), 60.0, Matricula.StatusMatricula.ATIVA);
+                criarMatricula(matriculas, todosAlunos.get(4), todosCursos.get(0), 10.0, Matricula.StatusMatricula.CANCELADA);
+                criarMatricula(matriculas, todosAlunos.get(4), todosCursos.get(3), 60.0, Matricula.StatusMatricula.ATIVA);
                 
                 // Aluno 6 - 3 cursos
-                criarMatricula(todosAlunos.get(5), todosCursos.get(1), 40.0, Matricula.StatusMatricula.ATIVA);
-                criarMatricula(todosAlunos.get(5), todosCursos.get(2), 90.0, Matricula.StatusMatricula.ATIVA);
-                criarMatricula(todosAlunos.get(5), todosCursos.get(4), 15.0, Matricula.StatusMatricula.ATIVA);
+                criarMatricula(matriculas, todosAlunos.get(5), todosCursos.get(1), 40.0, Matricula.StatusMatricula.ATIVA);
+                criarMatricula(matriculas, todosAlunos.get(5), todosCursos.get(2), 90.0, Matricula.StatusMatricula.ATIVA);
+                criarMatricula(matriculas, todosAlunos.get(5), todosCursos.get(4), 15.0, Matricula.StatusMatricula.ATIVA);
                 
+                matriculaRepository.saveAll(matriculas);
                 log.info("Matrículas criadas: {}", matriculaRepository.count());
             }
             
@@ -196,7 +201,7 @@ public class DataSeeder implements CommandLineRunner {
         }
     }
     
-    private void criarMatricula(Aluno aluno, Curso curso, Double progresso, Matricula.StatusMatricula status) {
+    private void criarMatricula(List<Matricula> matriculas, Aluno aluno, Curso curso, Double progresso, Matricula.StatusMatricula status) {
         Matricula matricula = new Matricula();
         matricula.setAluno(aluno);
         matricula.setCurso(curso);
@@ -204,11 +209,11 @@ public class DataSeeder implements CommandLineRunner {
         matricula.setStatus(status);
         
         // Ajustar vagas disponíveis apenas para matrículas ativas
+        // (curso gerenciado pela transação: o UPDATE é enviado em lote no flush)
         if (status == Matricula.StatusMatricula.ATIVA || status == Matricula.StatusMatricula.CONCLUIDA) {
             curso.decrementarVaga();
-            cursoRepository.save(curso);
         }
         
-        matriculaRepository.save(matricula);
+        matriculas.add(matricula);
     }
 }
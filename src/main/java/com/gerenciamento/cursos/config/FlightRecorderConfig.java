@@ -0,0 +1,83 @@
+package com.gerenciamento.cursos.config;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Gravação contínua do JFR iniciada pela aplicação (app.jfr.habilitado=true): perfil base do JDK
+ * (app.jfr.perfil-base, "default" por padrão) mais os eventos de {@link FlightRecorderEvents}
+ * habilitados por jfr/gerenciamento.jfc. Mantém os últimos app.jfr.max-idade em disco; o arquivo
+ * é escrito no encerramento, ou a qualquer momento com jcmd &lt;pid&gt; JFR.dump name=gerenciamento.
+ */
+@Component
+@ConditionalOnProperty(name = "app.jfr.habilitado", havingValue = "true")
+@Slf4j
+public class FlightRecorderConfig implements InitializingBean, DisposableBean {
+
+    static final String PERFIL = "jfr/gerenciamento.jfc";
+
+    private final String perfilBase;
+    private final Duration maxIdade;
+    private final long maxTamanhoBytes;
+    private final Path destino;
+    private Recording recording;
+
+    public FlightRecorderConfig(@Value("${app.jfr.perfil-base:default}") String perfilBase,
+                                @Value("${app.jfr.max-idade:30m}") Duration maxIdade,
+                                @Value("${app.jfr.max-tamanho-mb:250}") long maxTamanhoMb,
+                                @Value("${app.jfr.destino:gerenciamento.jfr}") Path destino) {
+        this.perfilBase = perfilBase;
+        this.maxIdade = maxIdade;
+        this.maxTamanhoBytes = maxTamanhoMb * 1024 * 1024;
+        this.destino = destino;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws IOException, ParseException {
+        Map<String, String> settings = new HashMap<>(Configuration.getConfiguration(perfilBase).getSettings());
+        try (Reader reader = new InputStreamReader(new ClassPathResource(PERFIL).getInputStream(), StandardCharsets.UTF_8)) {
+            settings.putAll(Configuration.create(reader).getSettings());
+        }
+        recording = new Recording(settings);
+        recording.setName("gerenciamento");
+        recording.setToDisk(true);
+        recording.setMaxAge(maxIdade);
+        recording.setMaxSize(maxTamanhoBytes);
+        recording.setDestination(destino);
+        recording.setDumpOnExit(true);
+        recording.start();
+        log.info("Gravação JFR iniciada (perfil {} + {}), destino {}", perfilBase, PERFIL, destino.toAbsolutePath());
+    }
+
+    /**
+     * stop() grava o arquivo de destino antes de liberar a gravação.
+     */
+    @Override
+    public void destroy() {
+        try {
+            recording.stop();
+            log.info("Gravação JFR salva em {}", destino.toAbsolutePath());
+        } catch (IllegalStateException ex) {
+            log.debug("Gravação JFR já encerrada: {}", ex.getMessage());
+        } finally {
+            recording.close();
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.gerenciamento.cursos.config;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.support.RetrySynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Eventos do Java Flight Recorder da aplicação (categoria "Gerenciamento de Cursos").
+ *
+ * Todos nascem desabilitados: só são gravados com o perfil src/main/resources/jfr/gerenciamento.jfc
+ * (ver {@link FlightRecorderConfig}) ou com settings equivalentes no JFR.start. Desabilitado, um
+ * evento custa a alocação e o begin/commit vazios, que o JIT elimina.
+ */
+public final class FlightRecorderEvents {
+
+    private static final String CATEGORIA = "Gerenciamento de Cursos";
+
+    private FlightRecorderEvents() {
+    }
+
+    /**
+     * Converte uma lista de entidades em DTOs registrando o lote (inclui carregamentos lazy
+     * disparados pelo fromEntity).
+     */
+    public static <E, D> List<D> mapearLote(String tipo, Collection<E> entidades, Function<E, D> conversor) {
+        MapeamentoDto evento = new MapeamentoDto();
+        evento.begin();
+        List<D> dtos = entidades.stream().map(conversor).collect(Collectors.toList());
+        evento.end();
+        if (evento.shouldCommit()) {
+            evento.tipo = tipo;
+            evento.quantidade = dtos.size();
+            evento.commit();
+        }
+        return dtos;
+    }
+
+    /**
+     * Uma tentativa de matrícula: cada reexecução do retry é um evento próprio. A duração vai
+     * até o fim da transação, então inclui o commit em que o conflito de versão aparece.
+     */
+    @Name("gerenciamento.TentativaMatricula")
+    @Label("Tentativa de Matrícula")
+    @Category(CATEGORIA)
+    @Enabled(false)
+    @StackTrace(false)
+    public static class TentativaMatricula extends Event {
+        @Label("Aluno")
+        long alunoId;
+
+        @Label("Curso")
+        long cursoId;
+
+        @Label("Tentativa")
+        int tentativa;
+
+        @Label("Resultado")
+        @Description("sucesso, conflito (rollback no commit), motivo da recusa ou exceção")
+        String resultado;
+
+        @Label("Espera pela Vaga")
+        @Description("Carga do curso cujas vagas serão alteradas, com a espera pelo lock no modo pessimista")
+        @Timespan
+        long esperaVaga;
+
+        public static TentativaMatricula iniciar(Long alunoId, Long cursoId) {
+            TentativaMatricula evento = new TentativaMatricula();
+            evento.begin();
+            evento.alunoId = alunoId;
+            evento.cursoId = cursoId;
+            RetryContext contexto = RetrySynchronizationManager.getContext();
+            evento.tentativa = contexto == null ? 1 : contexto.getRetryCount() + 1;
+            return evento;
+        }
+
+        public void registrarEsperaVaga(long nanos) {
+            esperaVaga = nanos;
+        }
+
+        public void recusar(String motivo) {
+            resultado = motivo;
+        }
+
+        /**
+         * Grava o evento; uma recusa registrada antes prevalece sobre o resultado informado.
+         */
+        public void concluir(String resultadoPadrao) {
+            if (resultado == null) {
+                resultado = resultadoPadrao;
+            }
+            commit();
+        }
+    }
+
+    /**
+     * Carga do curso para alterar o contador de vagas. No modo pessimista a duração é a espera
+     * pelo lock de linha; o perfil só grava as acima de 1 ms.
+     */
+    @Name("gerenciamento.ContencaoVagas")
+    @Label("Contenção nas Vagas")
+    @Category(CATEGORIA)
+    @Enabled(false)
+    public static class ContencaoVagas extends Event {
+        @Label("Curso")
+        long cursoId;
+
+        @Label("Modo")
+        String modo;
+
+        public static ContencaoVagas iniciar(Long cursoId, String modo) {
+            ContencaoVagas evento = new ContencaoVagas();
+            evento.begin();
+            evento.cursoId = cursoId;
+            evento.modo = modo;
+            return evento;
+        }
+    }
+
+    /**
+     * Conflito de versão (modo otimista) que levou a uma nova tentativa.
+     */
+    @Name("gerenciamento.ConflitoVersao")
+    @Label("Conflito de Versão")
+    @Category(CATEGORIA)
+    @Enabled(false)
+    @StackTrace(false)
+    public static class ConflitoVersao extends Event {
+        @Label("Método")
+        String metodo;
+
+        @Label("Tentativa")
+        int tentativa;
+
+        @Label("Exceção")
+        String excecao;
+
+        public static void registrar(String metodo, int tentativa, Throwable excecao) {
+            ConflitoVersao evento = new ConflitoVersao();
+            if (evento.shouldCommit()) {
+                evento.metodo = metodo;
+                evento.tentativa = tentativa;
+                evento.excecao = excecao.getClass().getSimpleName();
+                evento.commit();
+            }
+        }
+    }
+
+    /**
+     * Leitura, gravação ou remoção de sessão no Spring Session JDBC.
+     */
+    @Name("gerenciamento.Sessao")
+    @Label("Sessão JDBC")
+    @Category(CATEGORIA)
+    @Enabled(false)
+    @StackTrace(false)
+    public static class Sessao extends Event {
+        @Label("Operação")
+        String operacao;
+
+        public static Sessao iniciar(String operacao) {
+            Sessao evento = new Sessao();
+            evento.begin();
+            evento.operacao = operacao;
+            return evento;
+        }
+    }
+
+    /**
+     * Hashing BCrypt no executor dedicado; a duração é só o hashing, sem a espera na fila.
+     */
+    @Name("gerenciamento.HashingSenha")
+    @Label("Hashing de Senha")
+    @Category(CATEGORIA)
+    @Enabled(false)
+    @StackTrace(false)
+    public static class HashingSenha extends Event {
+        @Label("Operação")
+        String operacao;
+
+        @Label("Espera na Fila")
+        @Timespan
+        long esperaFila;
+
+        public static HashingSenha iniciar(String operacao, long esperaFilaNanos) {
+            HashingSenha evento = new HashingSenha();
+            evento.begin();
+            evento.operacao = operacao;
+            evento.esperaFila = esperaFilaNanos;
+            return evento;
+        }
+    }
+
+    @Name("gerenciamento.MapeamentoDto")
+    @Label("Mapeamento de DTOs")
+    @Description("Conversão de uma lista de entidades em DTOs")
+    @Category(CATEGORIA)
+    @Enabled(false)
+    public static class MapeamentoDto extends Event {
+        @Label("Tipo")
+        String tipo;
+
+        @Label("Quantidade")
+        int quantidade;
+    }
+}
@@ -0,0 +1,228 @@
+package com.gerenciamento.cursos.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Verifica se todas as consultas declaradas nos repositories usam índice (PostgreSQL).
+ * Ativado pelo profile "verificar-indices": executa cada método de consulta com argumentos
+ * fictícios numa transação revertida, captura o SQL gerado pelo Hibernate e roda
+ * EXPLAIN com plano genérico e enable_seqscan=off. Se o plano ainda tiver Seq Scan,
+ * nenhum índice atende a consulta. Encerra a aplicação com código 0 (ok) ou 1 (falhas).
+ *
+ * Uso: java -jar app.jar --spring.profiles.active=verificar-indices
+ */
+@Component
+@Profile("verificar-indices")
+@Order // depois do DataSeeder
+@RequiredArgsConstructor
+@Slf4j
+public class IndexUsageVerifier implements CommandLineRunner {
+
+    private static final Pattern SEQ_SCAN = Pattern.compile("Seq Scan on (\\w+)");
+    private static final Pattern INDICE = Pattern.compile("Index (?:Only )?Scan (?:Backward )?using (\\w+)|Bitmap Index Scan on (\\w+)");
+
+    private final ApplicationContext applicationContext;
+    private final DataSource dataSource;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public void run(String... args) throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            if (!"PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())) {
+                log.warn("Verificação de índices suportada apenas em PostgreSQL; ignorando");
+                return;
+            }
+        }
+
+        Map<String, List<String>> consultas = capturarConsultas();
+        List<String> falhas = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("SET enable_seqscan = off");
+            statement.execute("SET plan_cache_mode = force_generic_plan");
+            for (Map.Entry<String, List<String>> consulta : consultas.entrySet()) {
+                for (String sql : consulta.getValue()) {
+                    String plano = explicar(statement, sql);
+                    Matcher seqScan = SEQ_SCAN.matcher(plano);
+                    if (seqScan.find()) {
+                        falhas.add(consulta.getKey());
+                        log.error("SEM ÍNDICE  {} -> Seq Scan on {}\n{}\n{}", consulta.getKey(), seqScan.group(1), sql, plano);
+                    } else {
+                        log.info("OK          {} -> {}", consulta.getKey(), indicesUsados(plano));
+                    }
+                }
+            }
+        }
+
+        int codigo = falhas.isEmpty() ? 0 : 1;
+        if (falhas.isEmpty()) {
+            log.info("Verificação de índices concluída: {} consultas, todas usam índice", consultas.size());
+        } else {
+            log.error("Verificação de índices falhou: {} de {} consultas sem índice: {}",
+                    falhas.size(), consultas.size(), falhas);
+        }
+        System.exit(SpringApplication.exit(applicationContext, () -> codigo));
+    }
+
+    /**
+     * Executa os métodos de consulta de cada repository e guarda o SQL emitido por cada um.
+     */
+    private Map<String, List<String>> capturarConsultas() {
+        Repositories repositories = new Repositories(applicationContext);
+        Map<String, List<String>> consultas = new LinkedHashMap<>();
+        for (Class<?> dominio : repositories) {
+            RepositoryInformation info = repositories.getRequiredRepositoryInformation(dominio);
+            Object repository = repositories.getRepositoryFor(dominio).orElseThrow();
+            info.getQueryMethods().stream()
+                    .sorted(Comparator.comparing(Method::getName))
+                    .forEach(metodo -> {
+                        String nome = info.getRepositoryInterface().getSimpleName() + "." + metodo.getName();
+                        consultas.put(nome, capturar(repository, metodo));
+                    });
+        }
+        return consultas;
+    }
+
+    private List<String> capturar(Object repository, Method metodo) {
+        Object[] argumentos = new Object[metodo.getParameterCount()];
+        for (int i = 0; i < argumentos.length; i++) {
+            argumentos[i] = valorFicticio(metodo.getParameterTypes()[i]);
+        }
+        return transactionTemplate.execute(status -> {
+            status.setRollbackOnly();
+            CapturaSql.iniciar();
+            try {
+                metodo.invoke(repository, argumentos);
+                return new ArrayList<>(CapturaSql.capturados());
+            } catch (ReflectiveOperationException ex) {
+                throw new IllegalStateException("Falha ao executar " + metodo, ex);
+            } finally {
+                CapturaSql.parar();
+            }
+        });
+    }
+
+    private static Object valorFicticio(Class<?> tipo) {
+        if (tipo == Long.class || tipo == long.class) {
+            return 1L;
+        }
+        if (tipo == Integer.class || tipo == int.class) {
+            return 1;
+        }
+        if (tipo == Boolean.class || tipo == boolean.class) {
+            return Boolean.TRUE;
+        }
+        if (tipo == String.class) {
+            return "x";
+        }
+        if (tipo.isEnum()) {
+            return tipo.getEnumConstants()[0];
+        }
+        if (tipo == Pageable.class) {
+            return PageRequest.of(0, 1);
+        }
+        throw new IllegalArgumentException("Tipo de parâmetro não suportado na verificação: " + tipo);
+    }
+
+    /**
+     * EXPLAIN com plano genérico, sem depender de valores concretos dos parâmetros.
+     */
+    private static String explicar(Statement statement, String sql) throws SQLException {
+        int parametros = 0;
+        StringBuilder convertido = new StringBuilder();
+        boolean literal = false;
+        for (char c : sql.toCharArray()) {
+            if (c == '\'') {
+                literal = !literal;
+            }
+            if (c == '?' && !literal) {
+                convertido.append('$').append(++parametros);
+            } else {
+                convertido.append(c);
+            }
+        }
+
+        statement.execute("PREPARE verificacao_indice AS " + convertido);
+        try {
+            String nulos = String.join(", ", Collections.nCopies(parametros, "NULL"));
+            StringBuilder plano = new StringBuilder();
+            try (ResultSet rs = statement.executeQuery("EXPLAIN EXECUTE verificacao_indice"
+                    + (parametros > 0 ? "(" + nulos + ")" : ""))) {
+                while (rs.next()) {
+                    plano.append(rs.getString(1)).append('\n');
+                }
+            }
+            return plano.toString();
+        } finally {
+            statement.execute("DEALLOCATE verificacao_indice");
+        }
+    }
+
+    private static Set<String> indicesUsados(String plano) {
+        Set<String> indices = new LinkedHashSet<>();
+        Matcher matcher = INDICE.matcher(plano);
+        while (matcher.find()) {
+            indices.add(matcher.group(1) != null ? matcher.group(1) : matcher.group(2));
+        }
+        return indices;
+    }
+
+    /**
+     * StatementInspector do Hibernate que registra o SQL emitido na thread atual.
+     * Registrado em application-verificar-indices.properties.
+     */
+    public static class CapturaSql implements StatementInspector {
+
+        private static final ThreadLocal<List<String>> CAPTURADOS = new ThreadLocal<>();
+
+        static void iniciar() {
+            CAPTURADOS.set(new ArrayList<>());
+        }
+
+        static List<String> capturados() {
+            return CAPTURADOS.get();
+        }
+
+        static void parar() {
+            CAPTURADOS.remove();
+        }
+
+        @Override
+        public String inspect(String sql) {
+            List<String> capturados = CAPTURADOS.get();
+            if (capturados != null) {
+                capturados.add(sql);
+            }
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.gerenciamento.cursos.config;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Ajustes do ObjectMapper da aplicação, além das propriedades spring.jackson.*, e os conversores
+ * dos formatos binários.
+ */
+@Configuration
+public class JacksonConfig {
+
+    public static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+
+    /**
+     * Sem ?fields=, o filtro dos DTOs (SparseFieldsAdvice.FILTRO) não é registrado: serializa tudo.
+     * Vale também fora das respostas HTTP (payload do outbox, API reativa).
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer filtroCamposPadrao() {
+        return builder -> builder.filters(new SimpleFilterProvider().setFailOnUnknownId(false));
+    }
+
+    /**
+     * CBOR com Accept: application/cbor. Sem ele (ou com JSON), a resposta continua em JSON: o
+     * conversor JSON vem antes na lista.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(mapperBinario(builder, new CBORFactory()));
+    }
+
+    /**
+     * Smile com Accept: application/x-jackson-smile; repete nomes de campos e valores curtos por referência.
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(mapperBinario(builder, new SmileFactory()));
+    }
+
+    /**
+     * Mesma configuração do mapper JSON (o builder do Spring Boot já traz spring.jackson.* e os
+     * customizers), mas com datas como arrays de números ([2024,3,1,10,30,0]): nos formatos
+     * binários isso evita formatar e interpretar texto ISO a cada LocalDateTime.
+     */
+    public static ObjectMapper mapperBinario(Jackson2ObjectMapperBuilder builder, JsonFactory factory) {
+        return builder.factory(factory)
+                .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+}
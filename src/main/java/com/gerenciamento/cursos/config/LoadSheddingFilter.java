@@ -0,0 +1,52 @@
+package com.gerenciamento.cursos.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gerenciamento.cursos.exception.GlobalExceptionHandler.ErrorResponse;
+import com.gerenciamento.cursos.exception.ServiceUnavailableException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * Converte {@link ServiceUnavailableException} lançada dentro da cadeia do Spring Security
+ * (ex.: login com fila de hashing cheia) em HTTP 503 com Retry-After.
+ * Exceções lançadas nos controllers são tratadas pelo GlobalExceptionHandler.
+ */
+public class LoadSheddingFilter extends OncePerRequestFilter {
+
+    private final ObjectMapper objectMapper;
+
+    public LoadSheddingFilter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        try {
+            filterChain.doFilter(request, response);
+        } catch (ServiceUnavailableException ex) {
+            if (response.isCommitted()) {
+                throw ex;
+            }
+            response.resetBuffer();
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                ex.getMessage(),
+                LocalDateTime.now()
+            ));
+        }
+    }
+}
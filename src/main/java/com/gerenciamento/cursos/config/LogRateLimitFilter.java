@@ -0,0 +1,66 @@
+package com.gerenciamento.cursos.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limita os logs de caminho quente (profile prod, ver logback-spring.xml): para loggers sob
+ * {@code prefixo}, cada mensagem (chave = template, antes da formatação dos argumentos) passa no
+ * máximo {@code limitePorSegundo} vezes por segundo; o excedente é descartado sem formatar.
+ * WARN e ERROR passam sempre.
+ */
+public class LogRateLimitFilter extends TurboFilter {
+
+    private String prefixo = "com.gerenciamento.cursos";
+    private int limitePorSegundo = 5;
+    private int maximoTemplates = 500;
+    private final Map<String, Janela> janelas = new ConcurrentHashMap<>();
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // format == null: consulta isXxxEnabled(), que não deve ser afetada; abaixo do nível
+        // efetivo o logger já descarta a mensagem, sem passar pela contagem
+        if (format == null || level == null || level.isGreaterOrEqual(Level.WARN)
+                || !level.isGreaterOrEqual(logger.getEffectiveLevel()) || !logger.getName().startsWith(prefixo)) {
+            return FilterReply.NEUTRAL;
+        }
+        // templates montados por concatenação não podem crescer o mapa indefinidamente
+        String chave = janelas.size() < maximoTemplates || janelas.containsKey(format) ? format : logger.getName();
+        Janela janela = janelas.computeIfAbsent(chave, k -> new Janela());
+        return janela.permitir(System.currentTimeMillis() / 1000, limitePorSegundo)
+                ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    public void setPrefixo(String prefixo) {
+        this.prefixo = prefixo;
+    }
+
+    public void setLimitePorSegundo(int limitePorSegundo) {
+        this.limitePorSegundo = limitePorSegundo;
+    }
+
+    public void setMaximoTemplates(int maximoTemplates) {
+        this.maximoTemplates = maximoTemplates;
+    }
+
+    private static class Janela {
+        private volatile long segundo;
+        private final AtomicInteger contagem = new AtomicInteger();
+
+        boolean permitir(long agora, int limite) {
+            if (agora != segundo) {
+                // reinício aproximado: na virada, algumas mensagens a mais podem passar
+                segundo = agora;
+                contagem.set(0);
+            }
+            return contagem.incrementAndGet() <= limite;
+        }
+    }
+}
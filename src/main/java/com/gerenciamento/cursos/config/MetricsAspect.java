@@ -0,0 +1,77 @@
+package com.gerenciamento.cursos.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Timers dos métodos públicos dos services de negócio e das operações do repositório de sessões.
+ * Fica por fora do retry e do transacional: o tempo medido inclui retentativas e commit,
+ * que é o que o chamador percebe.
+ *
+ * Tags só com valores de conjunto fechado (classe, método, tipo da exceção, operação).
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class MetricsAspect {
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("execution(public * com.gerenciamento.cursos.service.MatriculaService.*(..))"
+            + " || execution(public * com.gerenciamento.cursos.service.CursoService.*(..))"
+            + " || execution(public * com.gerenciamento.cursos.service.AlunoService.*(..))"
+            + " || execution(public * com.gerenciamento.cursos.service.UsuarioService.*(..))")
+    public Object medirServico(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample amostra = Timer.start(meterRegistry);
+        String excecao = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable ex) {
+            excecao = ex.getClass().getSimpleName();
+            throw ex;
+        } finally {
+            amostra.stop(Timer.builder("servico.execucao")
+                    .description("Tempo de execução dos métodos dos services")
+                    .tag("class", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("exception", excecao)
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Latência do Spring Session JDBC: leitura da sessão no início da requisição,
+     * gravação no fim e remoção no logout. Também alimenta o perfil da requisição e o JFR.
+     */
+    @Around("execution(* org.springframework.session.SessionRepository+.findById(..))"
+            + " || execution(* org.springframework.session.SessionRepository+.save(..))"
+            + " || execution(* org.springframework.session.SessionRepository+.deleteById(..))")
+    public Object medirSessao(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample amostra = Timer.start(meterRegistry);
+        RequestProfile perfil = RequestProfile.atual();
+        if (perfil != null) {
+            perfil.entrarSessao();
+        }
+        FlightRecorderEvents.Sessao evento = FlightRecorderEvents.Sessao.iniciar(joinPoint.getSignature().getName());
+        try {
+            return joinPoint.proceed();
+        } finally {
+            evento.commit();
+            long nanos = amostra.stop(Timer.builder("sessao.repositorio")
+                    .description("Latência do repositório de sessões (Spring Session JDBC)")
+                    .tag("operacao", joinPoint.getSignature().getName())
+                    .register(meterRegistry));
+            if (perfil != null) {
+                perfil.sairSessao(nanos);
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.gerenciamento.cursos.config;
+
+import com.gerenciamento.cursos.exception.ServiceUnavailableException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * PasswordEncoder que executa o hashing (encode/matches) em um executor dedicado e limitado.
+ * Quando a fila do executor está cheia ou a espera ultrapassa o timeout, a operação é
+ * descartada com {@link ServiceUnavailableException} (HTTP 503), evitando que picos de login
+ * consumam toda a CPU e deixem as demais requisições sem resposta.
+ */
+@Slf4j
+public class OffloadedPasswordEncoder implements PasswordEncoder {
+
+    private static final long RETRY_AFTER_SECONDS = 1;
+
+    private final PasswordEncoder delegate;
+    private final ExecutorService executor;
+    private final long timeoutMillis;
+
+    public OffloadedPasswordEncoder(PasswordEncoder delegate, ExecutorService executor, long timeoutMillis) {
+        this.delegate = delegate;
+        this.executor = executor;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return executar("encode", () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return executar("matches", () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Apenas inspeciona o prefixo do hash, por isso roda na própria thread.
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Encoder original, para processamentos em lote que já controlam o próprio paralelismo
+     * (ex.: importação de alunos) e não devem competir pela fila do login.
+     */
+    public PasswordEncoder getDelegate() {
+        return delegate;
+    }
+
+    private <T> T executar(String operacao, Callable<T> tarefa) {
+        long enfileirado = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                FlightRecorderEvents.HashingSenha evento =
+                        FlightRecorderEvents.HashingSenha.iniciar(operacao, System.nanoTime() - enfileirado);
+                try {
+                    return tarefa.call();
+                } finally {
+                    evento.commit();
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            log.warn("Fila de hashing de senhas cheia, requisição descartada");
+            throw new ServiceUnavailableException("Servidor ocupado, tente novamente em instantes", RETRY_AFTER_SECONDS);
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            future.cancel(true);
+            log.warn("Hashing de senha excedeu {} ms, requisição descartada", timeoutMillis);
+            throw new ServiceUnavailableException("Servidor ocupado, tente novamente em instantes", RETRY_AFTER_SECONDS);
+        } catch (InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Hashing de senha interrompido", RETRY_AFTER_SECONDS);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.gerenciamento.cursos.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * GET /actuator/pinning (ou /actuator/pinning/{limite}; padrão 20): locais onde threads virtuais
+ * mais ficaram presas à carrier, por tempo total, com uma pilha de exemplo. DELETE zera as
+ * estatísticas. O limite é um seletor pelo mesmo motivo do SlowQueryEndpoint.
+ */
+@Component
+@ConditionalOnBean(VirtualThreadPinningMonitor.class)
+@Endpoint(id = "pinning")
+@RequiredArgsConstructor
+public class PinningEndpoint {
+
+    private final VirtualThreadPinningMonitor monitor;
+
+    @ReadOperation
+    public Map<String, Object> piores() {
+        return piores(20);
+    }
+
+    @ReadOperation
+    public Map<String, Object> piores(@Selector int limite) {
+        Map<String, Object> resposta = new LinkedHashMap<>();
+        resposta.put("limiarMs", monitor.getLimiar().toMillis());
+        resposta.put("locaisDescartados", monitor.getDescartados());
+        resposta.put("locais", monitor.piores(limite));
+        return resposta;
+    }
+
+    @DeleteOperation
+    public void limpar() {
+        monitor.limpar();
+    }
+}
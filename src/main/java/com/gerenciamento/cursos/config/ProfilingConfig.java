@@ -0,0 +1,107 @@
+package com.gerenciamento.cursos.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Perfil por requisição (ver {@link RequestIdFilter}) e amostrador de consultas lentas
+ * ({@link SlowQuerySampler}): o DataSource principal é envolvido por um proxy que repassa cada
+ * statement aos dois, e o conversor JSON mede a serialização.
+ * Com app.perfil.habilitado=false e o amostrador desligado, não há proxy nem conversor próprio.
+ */
+@Configuration
+public class ProfilingConfig {
+
+    /**
+     * Só o bean "dataSource" (com réplica, o DataSource roteado): os pools tipados
+     * (HikariDataSource) continuam sendo os originais.
+     */
+    @Bean
+    public static BeanPostProcessor profilingDataSourcePostProcessor(Environment environment,
+                                                                     ObjectProvider<SlowQuerySampler> sampler) {
+        boolean perfil = environment.getProperty("app.perfil.habilitado", Boolean.class, true);
+        boolean consultasLentas = environment.getProperty("app.consultas-lentas.habilitado", Boolean.class, false);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!"dataSource".equals(beanName) || !(bean instanceof DataSource dataSource)
+                        || !(perfil || consultasLentas)) {
+                    return bean;
+                }
+                ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create(dataSource).name("perfil");
+                if (perfil) {
+                    builder.listener(new StatementListener());
+                }
+                if (consultasLentas) {
+                    builder.listener(new SamplerListener(sampler));
+                }
+                return builder.build();
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.perfil.habilitado", matchIfMissing = true)
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(
+            ObjectMapper objectMapper,
+            @Value("${app.perfil.server-timing:true}") boolean serverTiming) {
+        return new ProfilingJsonMessageConverter(objectMapper, serverTiming);
+    }
+
+    /**
+     * Resolve o amostrador só no primeiro statement: ele depende de beans criados depois do DataSource.
+     */
+    private static class SamplerListener implements QueryExecutionListener {
+
+        private final ObjectProvider<SlowQuerySampler> sampler;
+
+        SamplerListener(ObjectProvider<SlowQuerySampler> sampler) {
+            this.sampler = sampler;
+        }
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            SlowQuerySampler amostrador = sampler.getIfAvailable();
+            if (amostrador != null) {
+                amostrador.afterQuery(execInfo, queryInfoList);
+            }
+        }
+    }
+
+    private static class StatementListener implements QueryExecutionListener {
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            RequestProfile perfil = RequestProfile.atual();
+            if (perfil != null) {
+                perfil.antesDoStatement();
+            }
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            RequestProfile perfil = RequestProfile.atual();
+            if (perfil != null) {
+                perfil.depoisDoStatement();
+            }
+        }
+    }
+}
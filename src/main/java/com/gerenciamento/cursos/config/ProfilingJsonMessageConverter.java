@@ -0,0 +1,57 @@
+package com.gerenciamento.cursos.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+
+/**
+ * Conversor JSON que mede a serialização e publica o header Server-Timing.
+ * Serializa para um buffer antes de escrever a resposta: assim o tempo não inclui a rede e
+ * os headers ainda podem ser definidos (a escrita do corpo faz o commit da resposta).
+ */
+public class ProfilingJsonMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    private final boolean serverTiming;
+
+    public ProfilingJsonMessageConverter(ObjectMapper objectMapper, boolean serverTiming) {
+        super(objectMapper);
+        this.serverTiming = serverTiming;
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+        RequestProfile perfil = RequestProfile.atual();
+        if (perfil == null) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+        long inicio = System.nanoTime();
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(1024);
+        super.writeInternal(object, type, new HttpOutputMessage() {
+            @Override
+            public OutputStream getBody() {
+                return buffer;
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return outputMessage.getHeaders();
+            }
+        });
+        perfil.registrarSerializacao(System.nanoTime() - inicio);
+
+        outputMessage.getHeaders().setContentLength(buffer.size());
+        if (serverTiming) {
+            outputMessage.getHeaders().set(RequestIdFilter.SERVER_TIMING, perfil.serverTiming());
+        }
+        // Não usar buffer.writeTo: é synchronized, e o commit da resposta grava a sessão (JDBC)
+        // dentro dele; com threads virtuais isso prende a carrier enquanto espera uma conexão.
+        outputMessage.getBody().write(buffer.toByteArray());
+    }
+}
@@ -0,0 +1,246 @@
+package com.gerenciamento.cursos.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gerenciamento.cursos.exception.GlobalExceptionHandler.ErrorResponse;
+import com.gerenciamento.cursos.model.Usuario.TipoUsuario;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limite de requisições por usuário autenticado e classe de endpoint, com um {@link TokenBucket}
+ * por (classe, tipo de usuário, login). O limite por IP do nginx não separa os usuários atrás do
+ * NAT do campus; aqui cada login tem o próprio balde, com capacidade definida por
+ * {@link TipoUsuario} em app.limite-taxa.&lt;classe&gt;.&lt;tipo&gt; (ex.: 30/min, 5/s, ilimitado).
+ *
+ * Roda depois da autorização: requisições anônimas ou negadas não consomem fichas. Ao estourar,
+ * responde 429 com Retry-After. Métricas: limite.taxa.requisicoes (classe, tipo, resultado) e
+ * limite.taxa.baldes.
+ */
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    /**
+     * Classes de endpoint com limite próprio. Endpoints fora delas não são limitados.
+     */
+    enum Classe {
+        /** Escritas de matrícula: matricular, cancelar, reativar, progresso. */
+        MATRICULA("matricula",
+                new AntPathRequestMatcher("/api/matriculas", "POST"),
+                new AntPathRequestMatcher("/api/matriculas/*", "DELETE"),
+                new AntPathRequestMatcher("/api/matriculas/*/**", "PATCH")),
+        /** Buscas por nome (LIKE sem índice). */
+        BUSCA("busca",
+                new AntPathRequestMatcher("/api/*/buscar", "GET"),
+                new AntPathRequestMatcher("/api/reativo/*/buscar", "GET")),
+        /** Listagens completas usadas como exportação. */
+        EXPORTACAO("exportacao",
+                new AntPathRequestMatcher("/api/matriculas", "GET"),
+                new AntPathRequestMatcher("/api/reativo/matriculas", "GET"),
+                new AntPathRequestMatcher("/api/eventos", "GET"));
+
+        private final String propriedade;
+        private final RequestMatcher matcher;
+
+        Classe(String propriedade, RequestMatcher... matchers) {
+            this.propriedade = propriedade;
+            this.matcher = new OrRequestMatcher(matchers);
+        }
+    }
+
+    /**
+     * {@code capacidade} requisições em rajada, repostas ao ritmo de {@code capacidade} por {@code periodo}.
+     */
+    record Limite(int capacidade, Duration periodo) {
+
+        /**
+         * "30/min", "5/s" ou "1000/h"; "ilimitado" (ou vazio) devolve null.
+         */
+        static Limite ler(String valor) {
+            String texto = valor.trim().toLowerCase(Locale.ROOT);
+            if (texto.isEmpty() || texto.equals("ilimitado")) {
+                return null;
+            }
+            int barra = texto.indexOf('/');
+            if (barra < 0) {
+                throw new IllegalStateException("Limite inválido: " + valor + " (use 30/min, 5/s, 1000/h ou ilimitado)");
+            }
+            int capacidade = Integer.parseInt(texto.substring(0, barra).trim());
+            Duration periodo = switch (texto.substring(barra + 1).trim()) {
+                case "s" -> Duration.ofSeconds(1);
+                case "min" -> Duration.ofMinutes(1);
+                case "h" -> Duration.ofHours(1);
+                default -> throw new IllegalStateException("Unidade inválida em " + valor + " (s, min ou h)");
+            };
+            if (capacidade <= 0) {
+                throw new IllegalStateException("Capacidade deve ser positiva: " + valor);
+            }
+            return new Limite(capacidade, periodo);
+        }
+    }
+
+    private record Chave(Classe classe, TipoUsuario tipo, String login) {
+    }
+
+    private final Map<Classe, Map<TipoUsuario, Limite>> limites;
+    private final int maximoBaldes;
+    private final long intervaloLimpezaNanos;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Map<Chave, TokenBucket> baldes = new ConcurrentHashMap<>();
+    /** Instante (System.nanoTime) a partir do qual uma nova limpeza pode ser disparada. */
+    private final AtomicLong proximaLimpeza = new AtomicLong(System.nanoTime());
+
+    RateLimitFilter(Map<Classe, Map<TipoUsuario, Limite>> limites, int maximoBaldes, Duration intervaloLimpeza,
+                    ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.limites = limites;
+        this.maximoBaldes = maximoBaldes;
+        this.intervaloLimpezaNanos = intervaloLimpeza.toNanos();
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        meterRegistry.gaugeMapSize("limite.taxa.baldes", Tags.empty(), baldes);
+    }
+
+    /**
+     * Lê os limites de app.limite-taxa.&lt;classe&gt;.&lt;tipo&gt;; sem a propriedade, o par é ilimitado.
+     */
+    static RateLimitFilter deConfiguracao(Environment environment, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        Map<Classe, Map<TipoUsuario, Limite>> limites = new EnumMap<>(Classe.class);
+        for (Classe classe : Classe.values()) {
+            Map<TipoUsuario, Limite> porTipo = new EnumMap<>(TipoUsuario.class);
+            for (TipoUsuario tipo : TipoUsuario.values()) {
+                String chave = "app.limite-taxa." + classe.propriedade + "." + tipo.name().toLowerCase(Locale.ROOT);
+                Limite limite = Limite.ler(environment.getProperty(chave, ""));
+                if (limite != null) {
+                    porTipo.put(tipo, limite);
+                }
+            }
+            limites.put(classe, porTipo);
+        }
+        log.info("Limite de requisições por usuário: {}", limites);
+        return new RateLimitFilter(limites,
+                environment.getProperty("app.limite-taxa.maximo-baldes", Integer.class, 100_000),
+                Duration.ofMillis(environment.getProperty("app.limite-taxa.intervalo-limpeza-ms", Long.class, 1000L)),
+                objectMapper, meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Classe classe = classificar(request);
+        Authentication autenticacao = SecurityContextHolder.getContext().getAuthentication();
+        TipoUsuario tipo = classe == null ? null : tipo(autenticacao);
+        Limite limite = tipo == null ? null : limites.get(classe).get(tipo);
+        if (limite == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long agora = System.nanoTime();
+        long esperaNanos = balde(new Chave(classe, tipo, autenticacao.getName()), limite, agora).consumir(agora);
+        meterRegistry.counter("limite.taxa.requisicoes", "classe", classe.propriedade,
+                "tipo", tipo.name(), "resultado", esperaNanos == 0 ? "permitida" : "rejeitada").increment();
+        if (esperaNanos == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long segundos = Math.max(1, (esperaNanos + 999_999_999L) / 1_000_000_000L);
+        log.info("Limite de {} excedido por {} ({}); nova tentativa em {} s",
+                classe.propriedade, autenticacao.getName(), tipo, segundos);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(segundos));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(
+            HttpStatus.TOO_MANY_REQUESTS.value(),
+            "Limite de requisições excedido; tente novamente em " + segundos + " s",
+            LocalDateTime.now()
+        ));
+    }
+
+    private static Classe classificar(HttpServletRequest request) {
+        for (Classe classe : Classe.values()) {
+            if (classe.matcher.matches(request)) {
+                return classe;
+            }
+        }
+        return null;
+    }
+
+    private static TipoUsuario tipo(Authentication autenticacao) {
+        if (autenticacao == null || !autenticacao.isAuthenticated() || autenticacao instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        for (GrantedAuthority autoridade : autenticacao.getAuthorities()) {
+            for (TipoUsuario tipo : TipoUsuario.values()) {
+                if (("ROLE_" + tipo.name()).equals(autoridade.getAuthority())) {
+                    return tipo;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Acima de maximoBaldes (limite suave) o balde novo é criado mesmo assim e uma limpeza é
+     * disparada fora da thread da requisição, no máximo uma por intervalo-limpeza-ms.
+     */
+    private TokenBucket balde(Chave chave, Limite limite, long agora) {
+        TokenBucket balde = baldes.get(chave);
+        if (balde != null) {
+            return balde;
+        }
+        if (baldes.size() >= maximoBaldes) {
+            dispararLimpeza(agora);
+        }
+        return baldes.computeIfAbsent(chave, k -> new TokenBucket(limite.capacidade(), limite.periodo(), agora));
+    }
+
+    private void dispararLimpeza(long agora) {
+        long proxima = proximaLimpeza.get();
+        if (agora - proxima < 0 || !proximaLimpeza.compareAndSet(proxima, agora + intervaloLimpezaNanos)) {
+            return;
+        }
+        CompletableFuture.runAsync(this::limpar);
+    }
+
+    /**
+     * Baldes cheios são descartados: recriá-los dá o mesmo limite.
+     */
+    void limpar() {
+        long agora = System.nanoTime();
+        int antes = baldes.size();
+        baldes.values().removeIf(b -> b.cheio(agora));
+        if (baldes.size() >= maximoBaldes) {
+            log.warn("{} baldes de limite de taxa depois da limpeza ({} descartados), acima de maximo-baldes={}",
+                    baldes.size(), antes - baldes.size(), maximoBaldes);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.gerenciamento.cursos.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gerenciamento.cursos.controller.LeituraReativaController;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.r2dbc.ConnectionPoolMetrics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.web.servlet.ServletRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.TomcatHttpHandlerAdapter;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+
+import java.time.Duration;
+
+/**
+ * Pilha de leitura não bloqueante (app.reativo.habilitado=true), ao lado do Spring MVC.
+ *
+ * As rotas de {@link LeituraReativaController} rodam como um servlet próprio em /api/reativo/*,
+ * no mesmo Tomcat: passam pelos mesmos filtros (segurança, sessão, request id), mas a resposta é
+ * escrita com I/O não bloqueante do Servlet. Um cliente lento não prende thread: o Tomcat só
+ * pede mais dados quando o socket aceita escrita, e essa demanda chega ao R2DBC.
+ *
+ * O pool R2DBC é separado do Hikari e aponta para o mesmo banco: a URL vem de spring.r2dbc.url
+ * ou é derivada de spring.datasource.url (PostgreSQL e H2).
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.reativo.habilitado", havingValue = "true")
+public class ReactiveReadConfig implements DisposableBean {
+
+    /**
+     * O pool não é um bean: com um ConnectionFactory no contexto, o Boot deixa de criar o
+     * DataSource do JDBC. Por isso as métricas (r2dbc.pool.*) são registradas aqui.
+     */
+    private ConnectionPool conexoes;
+
+    @Bean
+    public DatabaseClient databaseClient(DataSourceProperties properties, MeterRegistry meterRegistry,
+                                         @Value("${spring.r2dbc.url:}") String url,
+                                         @Value("${app.reativo.pool.maximo:10}") int maximo) {
+        ConnectionFactoryOptions opcoes = ConnectionFactoryOptions.parse(
+                        url.isBlank() ? urlR2dbc(properties.determineUrl()) : url)
+                .mutate()
+                .option(ConnectionFactoryOptions.USER, properties.determineUsername())
+                .option(ConnectionFactoryOptions.PASSWORD, properties.determinePassword())
+                .build();
+        conexoes = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(opcoes))
+                .name("reativo")
+                .initialSize(1)
+                .maxSize(maximo)
+                .maxIdleTime(Duration.ofMinutes(10))
+                .build());
+        new ConnectionPoolMetrics(conexoes, "reativo", Tags.empty()).bindTo(meterRegistry);
+        return DatabaseClient.create(conexoes);
+    }
+
+    @Override
+    public void destroy() {
+        if (conexoes != null) {
+            conexoes.dispose();
+        }
+    }
+
+    /**
+     * jdbc:postgresql://host:5432/banco?... vira r2dbc:postgresql://host:5432/banco (os parâmetros
+     * são do pgjdbc); jdbc:h2:mem:nome;... vira r2dbc:h2:mem:///nome;..., o mesmo banco em memória.
+     */
+    static String urlR2dbc(String urlJdbc) {
+        if (urlJdbc.startsWith("jdbc:postgresql:")) {
+            int parametros = urlJdbc.indexOf('?');
+            return "r2dbc:" + urlJdbc.substring("jdbc:".length(), parametros < 0 ? urlJdbc.length() : parametros);
+        }
+        if (urlJdbc.startsWith("jdbc:h2:mem:")) {
+            return "r2dbc:h2:mem:///" + urlJdbc.substring("jdbc:h2:mem:".length());
+        }
+        throw new IllegalStateException("Sem URL R2DBC equivalente a " + urlJdbc + "; defina spring.r2dbc.url");
+    }
+
+    @Bean
+    public ServletRegistrationBean<TomcatHttpHandlerAdapter> leituraReativaServlet(LeituraReativaController controller,
+                                                                                   ObjectMapper objectMapper) {
+        HandlerStrategies estrategias = HandlerStrategies.builder()
+                .codecs(codecs -> codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper)))
+                .build();
+        HttpHandler handler = RouterFunctions.toHttpHandler(controller.rotas(), estrategias);
+        ServletRegistrationBean<TomcatHttpHandlerAdapter> registro = new ServletRegistrationBean<>(
+                new TomcatHttpHandlerAdapter(handler), LeituraReativaController.PREFIXO + "/*");
+        registro.setName("leituraReativa");
+        registro.setAsyncSupported(true);
+        registro.setLoadOnStartup(1);
+        return registro;
+    }
+}
@@ -0,0 +1,115 @@
+package com.gerenciamento.cursos.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Read-your-writes por sessão: guarda na sessão o instante da última escrita para que
+ * leituras que podem estar atrasadas (réplica, modelo de leitura de matrículas) saibam
+ * quando voltar à fonte. Cada leitor decide a própria janela com {@link #escritaRecente(long)}.
+ * Roda dentro do filtro do Spring Session; o atributo é gravado na sessão no momento da escrita,
+ * antes de a resposta ser enviada: gravado depois, a próxima requisição do mesmo cliente podia
+ * carregar a sessão antes dele e as duas inseriam o atributo (chave duplicada no Spring Session JDBC).
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 10) // antes do ResponseCacheFilter, que consulta a escrita recente
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String ATRIBUTO_ULTIMA_ESCRITA = "leitura.ultimaEscrita";
+
+    private static final ThreadLocal<Requisicao> REQUISICAO = new ThreadLocal<>();
+
+    /**
+     * Indica se a sessão da requisição atual escreveu há menos de janelaMillis
+     * (inclusive na própria requisição).
+     */
+    public static boolean escritaRecente(long janelaMillis) {
+        Requisicao requisicao = REQUISICAO.get();
+        if (requisicao == null) {
+            return false;
+        }
+        if (requisicao.houveEscrita) {
+            return true;
+        }
+        return requisicao.ultimaEscrita != null
+                && System.currentTimeMillis() - requisicao.ultimaEscrita < janelaMillis;
+    }
+
+    /**
+     * Registra que a requisição atual leu da réplica (ver {@link ReplicaRoutingDataSource}).
+     */
+    public static void registrarLeituraReplica() {
+        Requisicao requisicao = REQUISICAO.get();
+        if (requisicao != null) {
+            requisicao.leuDaReplica = true;
+        }
+    }
+
+    /**
+     * Indica se alguma leitura da requisição atual foi à réplica, que pode estar atrasada.
+     */
+    public static boolean leuDaReplica() {
+        Requisicao requisicao = REQUISICAO.get();
+        return requisicao != null && requisicao.leuDaReplica;
+    }
+
+    /**
+     * Registra que a requisição atual alterou dados.
+     */
+    public static void registrarEscrita() {
+        Requisicao requisicao = REQUISICAO.get();
+        if (requisicao != null && !requisicao.houveEscrita) {
+            requisicao.houveEscrita = true;
+            registrarEscrita(requisicao.request.getSession(false));
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Requisicao requisicao = new Requisicao(request);
+        requisicao.ultimaEscrita = ultimaEscrita(request.getSession(false));
+        REQUISICAO.set(requisicao);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            REQUISICAO.remove();
+        }
+    }
+
+    private Long ultimaEscrita(HttpSession session) {
+        return session != null ? (Long) session.getAttribute(ATRIBUTO_ULTIMA_ESCRITA) : null;
+    }
+
+    private static void registrarEscrita(HttpSession session) {
+        if (session == null) {
+            return;
+        }
+        try {
+            session.setAttribute(ATRIBUTO_ULTIMA_ESCRITA, System.currentTimeMillis());
+        } catch (IllegalStateException ex) {
+            // sessão invalidada durante a requisição (logout)
+        }
+    }
+
+    private static class Requisicao {
+        private final HttpServletRequest request;
+        private Long ultimaEscrita;
+        private boolean houveEscrita;
+        private boolean leuDaReplica;
+
+        private Requisicao(HttpServletRequest request) {
+            this.request = request;
+        }
+    }
+}
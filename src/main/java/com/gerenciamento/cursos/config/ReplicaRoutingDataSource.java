@@ -0,0 +1,45 @@
+package com.gerenciamento.cursos.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Direciona transações somente leitura para a réplica e todo o resto para o primário.
+ * Deve ficar atrás de um LazyConnectionDataSourceProxy: a conexão só é escolhida
+ * depois que o Spring marcou a transação como readOnly.
+ *
+ * Read-your-writes: depois de uma escrita na sessão (ver {@link ReadYourWritesFilter}),
+ * as leituras também vão ao primário durante a janela configurada.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Destino {
+        PRIMARIO,
+        REPLICA
+    }
+
+    private final long janelaMillis;
+
+    public ReplicaRoutingDataSource(long janelaMillis) {
+        this.janelaMillis = janelaMillis;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean transacaoAtiva = TransactionSynchronizationManager.isActualTransactionActive();
+        if (transacaoAtiva && TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (ReadYourWritesFilter.escritaRecente(janelaMillis)) {
+                log.debug("Leitura fixada no primário após escrita recente na sessão");
+                return Destino.PRIMARIO;
+            }
+            ReadYourWritesFilter.registrarLeituraReplica();
+            return Destino.REPLICA;
+        }
+        if (transacaoAtiva) {
+            ReadYourWritesFilter.registrarEscrita();
+        }
+        return Destino.PRIMARIO;
+    }
+}
@@ -4,17 +4,46 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
 import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.UUID;
 
+/**
+ * Request id no MDC e perfil da requisição ({@link RequestProfile}): statements JDBC, tempo de
+ * banco, de sessão e de serialização, enviados no header Server-Timing e registrados em log
+ * quando a requisição passa dos limites de tempo ou de statements (sinal de N+1).
+ *
+ * Roda antes do Spring Session para que a leitura da sessão entre no perfil.
+ */
 @Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Slf4j
 public class RequestIdFilter extends OncePerRequestFilter {
     public static final String HEADER = "X-Request-ID";
     public static final String MDC_KEY = "requestId";
+    static final String SERVER_TIMING = "Server-Timing";
+
+    private final boolean perfilHabilitado;
+    private final boolean serverTiming;
+    private final long limiteMillis;
+    private final int limiteStatements;
+
+    public RequestIdFilter(@Value("${app.perfil.habilitado:true}") boolean perfilHabilitado,
+                           @Value("${app.perfil.server-timing:true}") boolean serverTiming,
+                           @Value("${app.perfil.requisicao-lenta-ms:500}") long limiteMillis,
+                           @Value("${app.perfil.limite-statements:30}") int limiteStatements) {
+        this.perfilHabilitado = perfilHabilitado;
+        this.serverTiming = serverTiming;
+        this.limiteMillis = limiteMillis;
+        this.limiteStatements = limiteStatements;
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -33,11 +62,32 @@ public class RequestIdFilter extends OncePerRequestFilter {
         }
         // ensure it's on the response too
         response.setHeader(HEADER, reqId);
+        RequestProfile perfil = perfilHabilitado ? RequestProfile.iniciar() : null;
         try {
             filterChain.doFilter(request, response);
         } finally {
+            if (perfil != null) {
+                RequestProfile.finalizar();
+                concluirPerfil(perfil, reqId, request, response);
+            }
             MDC.remove(MDC_KEY);
             MDC.remove("INSTANCE_ID");
         }
     }
+
+    private void concluirPerfil(RequestProfile perfil, String reqId,
+                                HttpServletRequest request, HttpServletResponse response) {
+        // respostas JSON já levaram o header na serialização; aqui ficam as sem corpo JSON
+        if (serverTiming && !response.isCommitted()) {
+            response.setHeader(SERVER_TIMING, perfil.serverTiming());
+        }
+        long total = perfil.getTotalMillis();
+        if (total >= limiteMillis || perfil.getStatements() >= limiteStatements) {
+            log.warn("requisicao_lenta requestId={} metodo={} uri={} status={} total_ms={} db_ms={} statements={} "
+                            + "sessao_ms={} serializacao_ms={}",
+                    reqId, request.getMethod(), request.getRequestURI(), response.getStatus(), total,
+                    perfil.getDbMillis(), perfil.getStatements(), perfil.getSessaoMillis(),
+                    perfil.getSerializacaoMillis());
+        }
+    }
 }
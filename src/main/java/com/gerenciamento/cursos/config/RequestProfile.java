@@ -0,0 +1,102 @@
+package com.gerenciamento.cursos.config;
+
+import java.util.Locale;
+
+/**
+ * Contadores de uma requisição (statements JDBC, tempo de banco, de sessão e de serialização),
+ * preenchidos na thread da requisição e lidos pelo {@link RequestIdFilter}.
+ * Trabalho em outras threads (executor de hashing, jobs agendados) não entra na conta.
+ */
+public final class RequestProfile {
+
+    private static final ThreadLocal<RequestProfile> ATUAL = new ThreadLocal<>();
+
+    private final long inicio = System.nanoTime();
+    private int statements;
+    private long dbNanos;
+    private long sessaoNanos;
+    private long serializacaoNanos;
+    private long inicioStatement;
+    private boolean emSessao;
+
+    private RequestProfile() {
+    }
+
+    static RequestProfile iniciar() {
+        RequestProfile perfil = new RequestProfile();
+        ATUAL.set(perfil);
+        return perfil;
+    }
+
+    static void finalizar() {
+        ATUAL.remove();
+    }
+
+    /**
+     * Perfil da requisição na thread atual, ou null fora de uma requisição.
+     */
+    public static RequestProfile atual() {
+        return ATUAL.get();
+    }
+
+    void antesDoStatement() {
+        inicioStatement = System.nanoTime();
+    }
+
+    /**
+     * Statements emitidos pelo repositório de sessões contam como tempo de sessão, não de banco.
+     */
+    void depoisDoStatement() {
+        if (!emSessao) {
+            statements++;
+            dbNanos += System.nanoTime() - inicioStatement;
+        }
+    }
+
+    void entrarSessao() {
+        emSessao = true;
+    }
+
+    void sairSessao(long nanos) {
+        emSessao = false;
+        sessaoNanos += nanos;
+    }
+
+    void registrarSerializacao(long nanos) {
+        serializacaoNanos += nanos;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getTotalMillis() {
+        return millis(System.nanoTime() - inicio);
+    }
+
+    public long getDbMillis() {
+        return millis(dbNanos);
+    }
+
+    public long getSessaoMillis() {
+        return millis(sessaoNanos);
+    }
+
+    public long getSerializacaoMillis() {
+        return millis(serializacaoNanos);
+    }
+
+    /**
+     * Valor do header Server-Timing com o que foi medido até agora.
+     */
+    String serverTiming() {
+        return String.format(Locale.ROOT,
+                "db;dur=%.1f;desc=\"%d statements\", sessao;dur=%.1f, serializacao;dur=%.1f, total;dur=%.1f",
+                dbNanos / 1e6, statements, sessaoNanos / 1e6, serializacaoNanos / 1e6,
+                (System.nanoTime() - inicio) / 1e6);
+    }
+
+    private static long millis(long nanos) {
+        return nanos / 1_000_000;
+    }
+}
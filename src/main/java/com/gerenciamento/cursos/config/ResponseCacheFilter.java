@@ -0,0 +1,188 @@
+package com.gerenciamento.cursos.config;
+
+import com.gerenciamento.cursos.service.RespostaCacheService;
+import com.gerenciamento.cursos.service.RespostaCacheService.Entrada;
+import com.gerenciamento.cursos.service.RespostaCacheService.Regiao;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Cache do corpo serializado das listagens mais lidas ({@link #CAMINHOS}), por perfil do usuário.
+ * No acerto os bytes guardados vão direto para a resposta, sem Hibernate nem Jackson; com
+ * Accept-Encoding: gzip, a versão já comprimida. Na falta, a resposta do controller é capturada
+ * e guardada se for um 200 JSON. O header X-Cache-Resposta indica HIT, MISS ou BYPASS.
+ *
+ * Sessões que escreveram há pouco (read-your-writes, ver {@link ReadYourWritesFilter}) não usam o
+ * cache: a escrita pode ter passado por outra instância, que ainda não sincronizou. Uma resposta
+ * lida da réplica logo após a invalidação da região também não é guardada: a réplica pode ainda
+ * não ter a escrita, e o corpo antigo seria servido na geração nova até o TTL.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+    static final String HEADER = "X-Cache-Resposta";
+
+    /** GET nesses caminhos, sem parâmetros ou só com ?fields= (parte da chave). */
+    private static final Map<String, Regiao> CAMINHOS = Map.of(
+            "/api/cursos", Regiao.CURSOS,
+            "/api/cursos/disponiveis", Regiao.CURSOS,
+            "/api/alunos", Regiao.ALUNOS);
+
+    private final RespostaCacheService cache;
+    private final boolean gzip;
+    private final long janelaEscritaMs;
+    private final long atrasoReplicaMs;
+
+    public ResponseCacheFilter(RespostaCacheService cache,
+                               @Value("${app.cache-respostas.gzip:true}") boolean gzip,
+                               @Value("${app.cache-respostas.janela-escrita-ms:3000}") long janelaEscritaMs,
+                               @Value("${app.cache-respostas.atraso-replica-ms:5000}") long atrasoReplicaMs) {
+        this.cache = cache;
+        this.gzip = gzip;
+        this.janelaEscritaMs = janelaEscritaMs;
+        this.atrasoReplicaMs = atrasoReplicaMs;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !cache.habilitado() || !"GET".equals(request.getMethod()) || !CAMINHOS.containsKey(caminho(request))
+                || request.getQueryString() != null && !request.getParameterMap().keySet().equals(Set.of(SparseFieldsAdvice.PARAMETRO))
+                || pedeBinario(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Regiao regiao = CAMINHOS.get(caminho(request));
+        Set<String> campos = SparseFieldsAdvice.campos(request);
+        // campos em ordem: ?fields=nome,id e ?fields=id,nome usam a mesma entrada
+        String caminho = campos == null ? caminho(request) : caminho(request) + "?fields=" + String.join(",", campos);
+        if (gzip) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        String perfil = perfil(SecurityContextHolder.getContext().getAuthentication());
+        if (perfil == null || ReadYourWritesFilter.escritaRecente(janelaEscritaMs)) {
+            response.setHeader(HEADER, "BYPASS");
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Entrada entrada = cache.buscar(regiao, caminho, perfil);
+        if (entrada != null) {
+            escrever(request, response, entrada);
+            return;
+        }
+
+        // lida antes de consultar o banco: se mudar até o fim, o corpo montado não é guardado
+        long geracao = cache.geracao(regiao);
+        response.setHeader(HEADER, "MISS");
+        ContentCachingResponseWrapper captura = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, captura);
+        if (captura.getStatus() == HttpServletResponse.SC_OK && json(captura.getContentType())
+                && captura.getHeader(HttpHeaders.CONTENT_ENCODING) == null
+                && !(ReadYourWritesFilter.leuDaReplica() && cache.invalidadaRecentemente(regiao, atrasoReplicaMs))) {
+            cache.guardar(regiao, caminho, perfil, geracao, captura.getContentAsByteArray(), captura.getContentType());
+        }
+        captura.copyBodyToResponse();
+    }
+
+    private static void escrever(HttpServletRequest request, HttpServletResponse response, Entrada entrada) throws IOException {
+        boolean comprimido = entrada.gzip() != null && aceitaGzip(request);
+        byte[] corpo = comprimido ? entrada.gzip() : entrada.corpo();
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setHeader(HEADER, "HIT");
+        response.setContentType(entrada.contentType());
+        if (comprimido) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setContentLength(corpo.length);
+        response.getOutputStream().write(corpo);
+    }
+
+    private static String caminho(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    /**
+     * Perfis do usuário (ROLE_*) em ordem: usuários com os mesmos perfis compartilham a entrada.
+     */
+    private static String perfil(Authentication autenticacao) {
+        if (autenticacao == null || !autenticacao.isAuthenticated() || autenticacao instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return autenticacao.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .sorted()
+                .collect(Collectors.joining(","));
+    }
+
+    private static boolean json(String contentType) {
+        return contentType != null && MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(contentType));
+    }
+
+    /**
+     * Accept com CBOR ou Smile: o cache só guarda JSON, então a negociação fica com o controller.
+     */
+    private static boolean pedeBinario(HttpServletRequest request) {
+        String aceita = request.getHeader(HttpHeaders.ACCEPT);
+        if (aceita == null) {
+            return false;
+        }
+        try {
+            return MediaType.parseMediaTypes(aceita).stream().anyMatch(tipo -> tipo.getQualityValue() > 0
+                    && (tipo.equalsTypeAndSubtype(MediaType.APPLICATION_CBOR) || tipo.equalsTypeAndSubtype(JacksonConfig.SMILE)));
+        } catch (InvalidMediaTypeException ex) {
+            return true;
+        }
+    }
+
+    /**
+     * "gzip" em Accept-Encoding, sem q=0.
+     */
+    private static boolean aceitaGzip(HttpServletRequest request) {
+        String aceita = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (aceita == null) {
+            return false;
+        }
+        for (String item : aceita.split(",")) {
+            String[] partes = item.split(";");
+            if (!partes[0].trim().equalsIgnoreCase("gzip")) {
+                continue;
+            }
+            for (int i = 1; i < partes.length; i++) {
+                String parametro = partes[i].trim();
+                if (parametro.startsWith("q=")) {
+                    try {
+                        return Double.parseDouble(parametro.substring(2)) > 0;
+                    } catch (NumberFormatException ex) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,51 @@
+package com.gerenciamento.cursos.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.retry.RetryCallback;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.RetryListener;
+import org.springframework.retry.annotation.EnableRetry;
+
+/**
+ * Habilita {@link RetryOnConflict}. O interceptor de retry fica por fora do transacional,
+ * então cada tentativa recarrega as entidades numa transação nova.
+ */
+@Configuration
+@EnableRetry
+@Slf4j
+public class RetryConfig {
+
+    @Bean
+    public RetryListener conflitoVersaoListener(MeterRegistry meterRegistry) {
+        return new RetryListener() {
+            @Override
+            public <T, E extends Throwable> void onError(RetryContext context, RetryCallback<T, E> callback,
+                                                         Throwable throwable) {
+                // onError recebe também as exceções que não são retentadas (ex.: BusinessException)
+                if (!(throwable instanceof OptimisticLockingFailureException)) {
+                    return;
+                }
+                String metodo = String.valueOf(context.getAttribute(RetryContext.NAME));
+                log.warn("Conflito de versão em {} (tentativa {}): {}",
+                        metodo, context.getRetryCount(), throwable.getMessage());
+                meterRegistry.counter("concorrencia.conflitos", "metodo", nomeCurto(metodo)).increment();
+                FlightRecorderEvents.ConflitoVersao.registrar(nomeCurto(metodo), context.getRetryCount(), throwable);
+            }
+        };
+    }
+
+    /**
+     * "public ... service.MatriculaService.matricular(java.lang.Long,...)" -> "MatriculaService.matricular".
+     */
+    static String nomeCurto(String assinatura) {
+        int parenteses = assinatura.indexOf('(');
+        String semParametros = parenteses >= 0 ? assinatura.substring(0, parenteses) : assinatura;
+        int metodo = semParametros.lastIndexOf('.');
+        int classe = metodo > 0 ? semParametros.lastIndexOf('.', metodo - 1) : -1;
+        return semParametros.substring(classe + 1);
+    }
+}
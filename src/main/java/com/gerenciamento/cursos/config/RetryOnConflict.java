@@ -0,0 +1,28 @@
+package com.gerenciamento.cursos.config;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Reexecuta o método (em nova transação) quando outra requisição alterou a mesma entidade
+ * (conflito de @Version). Backoff exponencial com jitter, configurável em app.concorrencia.retry.*;
+ * esgotadas as tentativas, a exceção segue para o GlobalExceptionHandler (409).
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Retryable(retryFor = OptimisticLockingFailureException.class,
+        maxAttemptsExpression = "${app.concorrencia.retry.max-tentativas:5}",
+        backoff = @Backoff(delayExpression = "${app.concorrencia.retry.atraso-ms:50}",
+                maxDelayExpression = "${app.concorrencia.retry.atraso-maximo-ms:1000}",
+                multiplierExpression = "${app.concorrencia.retry.multiplicador:2}",
+                random = true))
+public @interface RetryOnConflict {
+}
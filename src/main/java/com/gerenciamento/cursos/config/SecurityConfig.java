@@ -1,13 +1,23 @@
 package com.gerenciamento.cursos.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.AuthorizationFilter;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Configuração de segurança do Spring Security.
@@ -18,20 +28,53 @@ import org.springframework.security.web.SecurityFilterChain;
 @EnableMethodSecurity
 public class SecurityConfig {
 
+    /**
+     * Executor dedicado ao hashing de senhas (BCrypt), limitado em threads e fila
+     * para que picos de login não ocupem as threads do Tomcat nem toda a CPU.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService passwordHashingExecutor(
+            @Value("${app.security.hashing.threads:0}") int threads,
+            @Value("${app.security.hashing.queue-capacity:64}") int queueCapacity) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), AsyncConfig.threadFactory("password-hashing-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * BCrypt com custo configurável. Hashes gravados com outro custo (maior ou menor que o atual)
+     * são recalculados no próximo login (ver CustomUserDetailsService#updatePassword).
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            ExecutorService passwordHashingExecutor,
+            @Value("${app.security.bcrypt.strength:10}") int strength,
+            @Value("${app.security.hashing.timeout-ms:5000}") long timeoutMillis) {
+        return new OffloadedPasswordEncoder(new CostAwareBCryptPasswordEncoder(strength), passwordHashingExecutor, timeoutMillis);
     }
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, ObjectMapper objectMapper,
+                                                   Environment environment, MeterRegistry meterRegistry) throws Exception {
+        if (environment.getProperty("app.limite-taxa.habilitado", Boolean.class, true)) {
+            // Limite por usuário e classe de endpoint, depois da autorização (anônimos e negados não contam)
+            http.addFilterAfter(RateLimitFilter.deConfiguracao(environment, objectMapper, meterRegistry),
+                    AuthorizationFilter.class);
+        }
         http
+            // Responde 503 rapidamente quando o hashing de senhas está saturado
+            .addFilterBefore(new LoadSheddingFilter(objectMapper), UsernamePasswordAuthenticationFilter.class)
             .csrf(csrf -> csrf.disable()) // Desabilita CSRF para APIs REST
             .authorizeHttpRequests(auth -> auth
                 // Permite acesso público à página de login e recursos estáticos
                 .requestMatchers("/login.html", "/css/**", "/js/login.js", "/api/auth/login", "/api/auth/me").permitAll()
                 // Console H2 acessível sem autenticação (apenas para desenvolvimento)
                 .requestMatchers("/h2-console/**").permitAll()
+                // Healthcheck e scraper do Prometheus (rede interna; no nginx, /actuator exige autenticação)
+                .requestMatchers("/actuator/health/**", "/actuator/prometheus").permitAll()
+                // Demais endpoints do actuator (métricas, consultas lentas com SQL e planos): apenas ADMIN
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
                 
                 // Dashboard: GET permitido para todos os perfis (somente leitura)
                 .requestMatchers(org.springframework.http.HttpMethod.GET, "/api/alunos", "/api/usuarios/professores", "/api/cursos", "/api/cursos/disponiveis").authenticated()
@@ -45,8 +88,19 @@ public class SecurityConfig {
                 // Cursos: ADMIN e PROFESSOR podem criar/editar/excluir
                 .requestMatchers("/api/cursos/**").hasAnyRole("ADMIN", "PROFESSOR")
                 
+                // Stream de eventos (outbox): apenas ADMIN
+                .requestMatchers("/api/eventos/**").hasRole("ADMIN")
+
+                // Arquivamento de matrículas: apenas ADMIN
+                .requestMatchers("/api/matriculas/arquivamento").hasRole("ADMIN")
+
                 // Matrículas: todos podem ver, mas controle específico no service
                 .requestMatchers("/api/matriculas/**").hasAnyRole("ADMIN", "PROFESSOR", "ALUNO")
+
+                // Leitura reativa (somente GET): mesmas regras das rotas equivalentes acima
+                .requestMatchers(org.springframework.http.HttpMethod.GET, "/api/reativo/alunos", "/api/reativo/cursos", "/api/reativo/cursos/disponiveis").authenticated()
+                .requestMatchers("/api/reativo/alunos/**", "/api/reativo/cursos/**").hasAnyRole("ADMIN", "PROFESSOR")
+                .requestMatchers("/api/reativo/matriculas/**").hasAnyRole("ADMIN", "PROFESSOR", "ALUNO")
                 
                 // Página principal requer autenticação
                 .requestMatchers("/", "/index.html", "/js/app.js", "/css/**").authenticated()
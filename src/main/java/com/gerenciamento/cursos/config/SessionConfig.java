@@ -1,10 +1,54 @@
 package com.gerenciamento.cursos.config;
 
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.session.config.SessionRepositoryCustomizer;
+import org.springframework.session.jdbc.Db2JdbcIndexedSessionRepositoryCustomizer;
+import org.springframework.session.jdbc.JdbcIndexedSessionRepository;
+import org.springframework.session.jdbc.MySqlJdbcIndexedSessionRepositoryCustomizer;
+import org.springframework.session.jdbc.OracleJdbcIndexedSessionRepositoryCustomizer;
+import org.springframework.session.jdbc.PostgreSqlJdbcIndexedSessionRepositoryCustomizer;
+import org.springframework.session.jdbc.SqlServerJdbcIndexedSessionRepositoryCustomizer;
 import org.springframework.session.jdbc.config.annotation.web.http.EnableJdbcHttpSession;
 
 @Configuration
 @EnableJdbcHttpSession
+@Slf4j
 public class SessionConfig {
-    // Configuração padrão: Spring Session JDBC
+
+    /**
+     * O Spring Session não traz customizer para o H2 (usado em desenvolvimento e nos testes).
+     */
+    private static final String UPSERT_ATRIBUTO_H2 = """
+            MERGE INTO %TABLE_NAME%_ATTRIBUTES (SESSION_PRIMARY_ID, ATTRIBUTE_NAME, ATTRIBUTE_BYTES)
+            KEY (SESSION_PRIMARY_ID, ATTRIBUTE_NAME)
+            VALUES (?, ?, ?)
+            """;
+
+    /**
+     * Atributos gravados com upsert: requisições simultâneas da mesma sessão que criam o mesmo
+     * atributo (ex.: leitura.ultimaEscrita) fariam o segundo INSERT violar a chave primária, e o
+     * erro chegaria ao cliente depois de a operação já ter sido confirmada. Usa o customizer do
+     * Spring Session do banco detectado pela URL; em bancos sem upsert conhecido fica o INSERT padrão.
+     */
+    @Bean
+    public SessionRepositoryCustomizer<JdbcIndexedSessionRepository> upsertAtributosSessao(DataSourceProperties properties) {
+        DatabaseDriver banco = DatabaseDriver.fromJdbcUrl(properties.determineUrl());
+        return switch (banco) {
+            case POSTGRESQL -> new PostgreSqlJdbcIndexedSessionRepositoryCustomizer();
+            case MYSQL, MARIADB -> new MySqlJdbcIndexedSessionRepositoryCustomizer();
+            case SQLSERVER -> new SqlServerJdbcIndexedSessionRepositoryCustomizer();
+            case ORACLE -> new OracleJdbcIndexedSessionRepositoryCustomizer();
+            case DB2 -> new Db2JdbcIndexedSessionRepositoryCustomizer();
+            case H2 -> repositorio -> repositorio.setCreateSessionAttributeQuery(UPSERT_ATRIBUTO_H2);
+            default -> {
+                log.warn("Sem upsert de atributos de sessão para {}: requisições simultâneas da mesma sessão "
+                        + "podem falhar ao criar o mesmo atributo", banco);
+                yield repositorio -> { };
+            }
+        };
+    }
 }
@@ -0,0 +1,45 @@
+package com.gerenciamento.cursos.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * GET /actuator/slowqueries (ou /actuator/slowqueries/{limite}; padrão 20): piores consultas por
+ * tempo total, com o último plano capturado. DELETE zera as estatísticas (ex.: depois de criar um índice).
+ * O limite é um seletor, não um parâmetro opcional: no Boot 3.2 só o @Nullable torna um parâmetro
+ * opcional, e as meta-anotações JSR-305 dele geram avisos no javac sem o jsr305 no classpath.
+ */
+@Component
+@ConditionalOnBean(SlowQuerySampler.class)
+@Endpoint(id = "slowqueries")
+@RequiredArgsConstructor
+public class SlowQueryEndpoint {
+
+    private final SlowQuerySampler sampler;
+
+    @ReadOperation
+    public Map<String, Object> piores() {
+        return piores(20);
+    }
+
+    @ReadOperation
+    public Map<String, Object> piores(@Selector int limite) {
+        Map<String, Object> resposta = new LinkedHashMap<>();
+        resposta.put("fingerprintsDescartados", sampler.getDescartadas());
+        resposta.put("consultas", sampler.piores(limite));
+        return resposta;
+    }
+
+    @DeleteOperation
+    public void limpar() {
+        sampler.limpar();
+    }
+}
@@ -0,0 +1,259 @@
+package com.gerenciamento.cursos.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Amostrador de consultas lentas (opt-in, app.consultas-lentas.habilitado=true).
+ *
+ * Statements acima de app.consultas-lentas.limite-ms são agregados por fingerprint (SQL com
+ * literais e listas IN normalizados). Para uma fração deles, SELECTs sem FOR UPDATE, o plano é
+ * capturado com EXPLAIN (ANALYZE, BUFFERS) em uma conexão própria, fora do pool da aplicação,
+ * com os mesmos parâmetros e numa transação somente leitura.
+ *
+ * Custo limitado: uma thread e fila curta (excedentes são descartados), no máximo um plano por
+ * fingerprint a cada app.consultas-lentas.intervalo-plano-s, statement_timeout no EXPLAIN e
+ * número máximo de fingerprints em memória. Consultado em GET /actuator/slowqueries.
+ */
+@Component
+@ConditionalOnProperty(name = "app.consultas-lentas.habilitado", havingValue = "true")
+@Slf4j
+public class SlowQuerySampler implements QueryExecutionListener, DisposableBean {
+
+    private static final Pattern LITERAL_TEXTO = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern LITERAL_NUMERO = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern LISTA_IN = Pattern.compile("(?i)\\bin\\s*\\((?:\\s*\\?\\s*,)*\\s*\\?\\s*\\)");
+    private static final Pattern ESPACOS = Pattern.compile("\\s+");
+
+    private final long limiteMs;
+    private final double taxaAmostragem;
+    private final long intervaloPlanoMs;
+    private final int maximoFingerprints;
+    private final long timeoutPlanoMs;
+    private final HikariDataSource conexaoLateral;
+    private final boolean postgres;
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(8), r -> {
+                Thread thread = new Thread(r, "amostrador-consultas");
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.DiscardPolicy());
+    private final Map<String, Consulta> consultas = new ConcurrentHashMap<>();
+    private final AtomicLong descartadas = new AtomicLong();
+
+    public SlowQuerySampler(DataSourceProperties properties,
+                            @Value("${app.consultas-lentas.limite-ms:200}") long limiteMs,
+                            @Value("${app.consultas-lentas.taxa-amostragem:0.1}") double taxaAmostragem,
+                            @Value("${app.consultas-lentas.intervalo-plano-s:600}") long intervaloPlanoSegundos,
+                            @Value("${app.consultas-lentas.maximo-fingerprints:200}") int maximoFingerprints,
+                            @Value("${app.consultas-lentas.timeout-plano-ms:5000}") long timeoutPlanoMs) {
+        this.limiteMs = limiteMs;
+        this.taxaAmostragem = taxaAmostragem;
+        this.intervaloPlanoMs = intervaloPlanoSegundos * 1000;
+        this.maximoFingerprints = maximoFingerprints;
+        this.timeoutPlanoMs = timeoutPlanoMs;
+        this.conexaoLateral = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        this.conexaoLateral.setPoolName("amostrador");
+        this.conexaoLateral.setMaximumPoolSize(1);
+        this.conexaoLateral.setMinimumIdle(0);
+        this.postgres = properties.determineUrl() != null && properties.determineUrl().startsWith("jdbc:postgresql:");
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        // nada: o tempo vem pronto em afterQuery
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long tempoMs = execInfo.getElapsedTime();
+        if (tempoMs < limiteMs || queryInfoList.isEmpty()) {
+            return;
+        }
+        QueryInfo query = queryInfoList.get(0);
+        String fingerprint = fingerprint(query.getQuery());
+        Consulta consulta = consultas.get(fingerprint);
+        if (consulta == null) {
+            if (consultas.size() >= maximoFingerprints) {
+                descartadas.incrementAndGet();
+                return;
+            }
+            consulta = consultas.computeIfAbsent(fingerprint, Consulta::new);
+        }
+        consulta.registrar(tempoMs);
+        if (deveCapturarPlano(consulta, query.getQuery())) {
+            List<ParameterSetOperation> parametros = query.getParametersList().isEmpty()
+                    ? List.of() : List.copyOf(query.getParametersList().get(0));
+            Consulta alvo = consulta;
+            executor.execute(() -> capturarPlano(alvo, query.getQuery(), parametros));
+        }
+    }
+
+    /**
+     * Consultas mais custosas (tempo total acima do limite), das piores para as melhores. Ordena
+     * por uma leitura única do tempo de cada consulta, que continua mudando durante a ordenação.
+     */
+    public List<Consulta> piores(int limite) {
+        return consultas.values().stream()
+                .map(consulta -> Map.entry(consulta, consulta.getTempoTotalMs()))
+                .sorted(Map.Entry.<Consulta, Long>comparingByValue().reversed())
+                .limit(limite)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+    }
+
+    public long getDescartadas() {
+        return descartadas.get();
+    }
+
+    public void limpar() {
+        consultas.clear();
+        descartadas.set(0);
+    }
+
+    static String fingerprint(String sql) {
+        String normalizado = LITERAL_TEXTO.matcher(sql).replaceAll("?");
+        normalizado = LITERAL_NUMERO.matcher(normalizado).replaceAll("?");
+        normalizado = LISTA_IN.matcher(normalizado).replaceAll("in (...)");
+        return ESPACOS.matcher(normalizado).replaceAll(" ").trim();
+    }
+
+    private boolean deveCapturarPlano(Consulta consulta, String sql) {
+        String inicio = sql.stripLeading().toLowerCase(Locale.ROOT);
+        boolean somenteLeitura = (inicio.startsWith("select") || inicio.startsWith("with"))
+                && !inicio.contains(" for update") && !inicio.contains(" for share");
+        if (!somenteLeitura || ThreadLocalRandom.current().nextDouble() >= taxaAmostragem) {
+            return false;
+        }
+        return consulta.reservarPlano(intervaloPlanoMs);
+    }
+
+    private void capturarPlano(Consulta consulta, String sql, List<ParameterSetOperation> parametros) {
+        String explain = (postgres ? "EXPLAIN (ANALYZE, BUFFERS) " : "EXPLAIN ANALYZE ") + sql;
+        try (Connection connection = conexaoLateral.getConnection()) {
+            connection.setAutoCommit(false);
+            connection.setReadOnly(true);
+            try {
+                if (postgres) {
+                    try (Statement statement = connection.createStatement()) {
+                        statement.execute("SET LOCAL statement_timeout = " + timeoutPlanoMs);
+                    }
+                }
+                try (PreparedStatement statement = connection.prepareStatement(explain)) {
+                    for (ParameterSetOperation parametro : parametros) {
+                        parametro.getMethod().invoke(statement, parametro.getArgs());
+                    }
+                    StringBuilder plano = new StringBuilder();
+                    try (ResultSet rs = statement.executeQuery()) {
+                        while (rs.next()) {
+                            plano.append(rs.getString(1)).append('\n');
+                        }
+                    }
+                    consulta.setPlano(plano.toString());
+                }
+            } finally {
+                connection.rollback();
+            }
+        } catch (SQLException | ReflectiveOperationException ex) {
+            log.debug("Não foi possível capturar o plano de {}: {}", consulta.getFingerprint(), ex.getMessage());
+            consulta.setPlano("falha ao capturar o plano: " + ex.getMessage());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+        conexaoLateral.close();
+    }
+
+    /**
+     * Estatísticas de um fingerprint. Os contadores só são lidos e escritos sob o monitor da
+     * própria Consulta (registrar vem das threads das requisições, os getters do endpoint).
+     */
+    public static class Consulta {
+        @Getter
+        private final String fingerprint;
+        private long execucoes;
+        private long tempoTotalMs;
+        private long tempoMaximoMs;
+        private LocalDateTime ultimaExecucao;
+        @Getter
+        private volatile String plano;
+        @Getter
+        private volatile LocalDateTime planoCapturadoEm;
+        private long ultimoPlanoMillis;
+
+        Consulta(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+        public synchronized long getExecucoes() {
+            return execucoes;
+        }
+
+        public synchronized long getTempoTotalMs() {
+            return tempoTotalMs;
+        }
+
+        public synchronized long getTempoMaximoMs() {
+            return tempoMaximoMs;
+        }
+
+        public synchronized LocalDateTime getUltimaExecucao() {
+            return ultimaExecucao;
+        }
+
+        synchronized void registrar(long tempoMs) {
+            execucoes++;
+            tempoTotalMs += tempoMs;
+            tempoMaximoMs = Math.max(tempoMaximoMs, tempoMs);
+            ultimaExecucao = LocalDateTime.now();
+        }
+
+        synchronized boolean reservarPlano(long intervaloMs) {
+            long agora = System.currentTimeMillis();
+            if (ultimoPlanoMillis != 0 && agora - ultimoPlanoMillis < intervaloMs) {
+                return false;
+            }
+            ultimoPlanoMillis = agora;
+            return true;
+        }
+
+        void setPlano(String plano) {
+            this.plano = plano;
+            this.planoCapturadoEm = LocalDateTime.now();
+        }
+
+        public synchronized long getTempoMedioMs() {
+            return execucoes == 0 ? 0 : tempoTotalMs / execucoes;
+        }
+    }
+}
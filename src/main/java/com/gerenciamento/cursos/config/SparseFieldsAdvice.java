@@ -0,0 +1,116 @@
+package com.gerenciamento.cursos.config;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.gerenciamento.cursos.exception.BusinessException;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Campos esparsos: em qualquer GET, {@code ?fields=id,nome} limita o JSON a esses campos.
+ * Vale para os tipos marcados com {@code @JsonFilter(FILTRO)}, o elemento da lista ou o próprio
+ * corpo; campo desconhecido responde 400 com os disponíveis. As listagens de cursos e alunos
+ * também restringem a consulta aos campos pedidos (ver ProjecaoRepository).
+ */
+@RestControllerAdvice
+public class SparseFieldsAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    public static final String FILTRO = "campos";
+    public static final String PARAMETRO = "fields";
+
+    private final ObjectMapper objectMapper;
+    private final Map<Class<?>, Set<String>> propriedades = new ConcurrentHashMap<>();
+
+    public SparseFieldsAdvice(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void beforeBodyWriteInternal(MappingJacksonValue bodyContainer, MediaType contentType,
+                                           MethodParameter returnType, ServerHttpRequest request,
+                                           ServerHttpResponse response) {
+        if (!HttpMethod.GET.equals(request.getMethod())
+                || !(request instanceof ServletServerHttpRequest servletRequest)) {
+            return;
+        }
+        Set<String> campos = campos(servletRequest.getServletRequest());
+        Class<?> tipo = campos == null ? null : tipoElemento(returnType);
+        if (tipo == null) {
+            return;
+        }
+        JsonFilter filtro = AnnotationUtils.findAnnotation(tipo, JsonFilter.class);
+        if (filtro == null || !FILTRO.equals(filtro.value())) {
+            return;
+        }
+
+        Set<String> disponiveis = propriedades.computeIfAbsent(tipo, this::lerPropriedades);
+        Set<String> desconhecidos = new TreeSet<>(campos);
+        desconhecidos.removeAll(disponiveis);
+        if (!desconhecidos.isEmpty()) {
+            throw new BusinessException("Campos desconhecidos em " + PARAMETRO + ": " + String.join(", ", desconhecidos)
+                    + ". Disponíveis: " + String.join(", ", disponiveis));
+        }
+        bodyContainer.setFilters(new SimpleFilterProvider()
+                .addFilter(FILTRO, SimpleBeanPropertyFilter.filterOutAllExcept(campos)));
+    }
+
+    /**
+     * Campos de ?fields= sem espaços e vazios; null se o parâmetro não veio ou está vazio.
+     */
+    public static Set<String> campos(HttpServletRequest request) {
+        String valor = request.getParameter(PARAMETRO);
+        if (valor == null) {
+            return null;
+        }
+        Set<String> campos = Arrays.stream(valor.split(","))
+                .map(String::trim)
+                .filter(campo -> !campo.isEmpty())
+                .collect(Collectors.toCollection(TreeSet::new));
+        return campos.isEmpty() ? null : campos;
+    }
+
+    /**
+     * Tipo serializado pelo handler: o corpo do ResponseEntity e, se for uma coleção, o elemento.
+     */
+    private static Class<?> tipoElemento(MethodParameter returnType) {
+        ResolvableType tipo = ResolvableType.forMethodParameter(returnType);
+        if (HttpEntity.class.isAssignableFrom(tipo.toClass())) {
+            tipo = tipo.as(HttpEntity.class).getGeneric(0);
+        }
+        if (Collection.class.isAssignableFrom(tipo.toClass())) {
+            tipo = tipo.asCollection().getGeneric(0);
+        }
+        return tipo.resolve();
+    }
+
+    private Set<String> lerPropriedades(Class<?> tipo) {
+        return objectMapper.getSerializationConfig()
+                .introspect(objectMapper.constructType(tipo))
+                .findProperties().stream()
+                .filter(BeanPropertyDefinition::couldSerialize)
+                .map(BeanPropertyDefinition::getName)
+                .collect(Collectors.toCollection(TreeSet::new));
+    }
+}
@@ -0,0 +1,728 @@
+package com.gerenciamento.cursos.config;
+
+import com.gerenciamento.cursos.model.Matricula.StatusMatricula;
+import com.gerenciamento.cursos.model.Usuario.TipoUsuario;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Gerador de dados sintéticos em volume para testes de desempenho, no lugar do {@link DataSeeder}.
+ * Ativado pelo profile "gerar-dados": acrescenta professores, alunos (parte deles com login),
+ * cursos e matrículas ao banco e encerra a aplicação. Nomes em português, popularidade dos
+ * cursos com distribuição de Zipf e mistura de status/progresso das matrículas; o modelo de
+ * leitura (matricula_view) é preenchido junto, sem eventos no outbox.
+ *
+ * No PostgreSQL grava com COPY; nos demais bancos, com INSERTs em lote. Os IDs começam acima
+ * do último bloco já alocado das sequences, que são reposicionadas no fim: rode com as
+ * instâncias da aplicação paradas.
+ *
+ * Uso: java -jar app.jar --spring.profiles.active=gerar-dados --app.gerador.matriculas=10000000
+ */
+@Component
+@Profile("gerar-dados")
+@Order(0) // antes do IndexUsageVerifier, se os dois profiles estiverem ativos
+@Slf4j
+public class SyntheticDataGenerator implements CommandLineRunner {
+
+    // Mesmo allocationSize dos @SequenceGenerator das entidades
+    private static final int TAMANHO_POOL_IDS = 50;
+
+    private static final String[] NOMES_FEMININOS = {
+        "Ana", "Maria", "Juliana", "Fernanda", "Beatriz", "Camila", "Larissa", "Gabriela", "Mariana", "Letícia",
+        "Amanda", "Bruna", "Carolina", "Isabela", "Júlia", "Natália", "Patrícia", "Aline", "Vitória", "Luana"
+    };
+    private static final String[] NOMES_MASCULINOS = {
+        "João", "Pedro", "Lucas", "Gabriel", "Rafael", "Mateus", "Gustavo", "Felipe", "Bruno", "Thiago",
+        "Rodrigo", "Leonardo", "Eduardo", "Daniel", "Vinícius", "André", "Marcelo", "Henrique", "Caio", "Otávio"
+    };
+    private static final String[] SOBRENOMES = {
+        "Silva", "Santos", "Oliveira", "Souza", "Rodrigues", "Ferreira", "Alves", "Pereira", "Lima", "Gomes",
+        "Costa", "Ribeiro", "Martins", "Carvalho", "Almeida", "Lopes", "Soares", "Fernandes", "Vieira", "Barbosa",
+        "Rocha", "Dias", "Nascimento", "Andrade", "Moreira", "Nunes", "Marques", "Machado", "Mendes", "Freitas"
+    };
+    private static final String[] DDDS = {"11", "21", "31", "41", "51", "61", "71", "81", "85", "91"};
+    private static final String[] TEMAS = {
+        "Arquitetura de Software", "Spring Boot", "Banco de Dados", "Metodologias Ágeis", "DevOps",
+        "Cloud Computing", "Segurança da Informação", "Estruturas de Dados", "Redes de Computadores",
+        "Engenharia de Requisitos", "Testes Automatizados", "Microsserviços", "Ciência de Dados",
+        "Aprendizado de Máquina", "Desenvolvimento Mobile", "Front-end com React", "Kotlin", "Python",
+        "Java", "Gestão de Projetos", "UX Design", "Sistemas Distribuídos", "Kubernetes", "SQL"
+    };
+    private static final String[] NIVEIS = {"Introdução a", "Fundamentos de", "Prática em", "Tópicos Avançados em"};
+    private static final int[] CARGAS_HORARIAS = {20, 30, 40, 60, 80, 120};
+
+    private final ApplicationContext applicationContext;
+    private final DataSource dataSource;
+    private final PasswordEncoder passwordEncoder;
+    private final int professores;
+    private final int alunos;
+    private final int usuariosAlunos;
+    private final int cursos;
+    private final long matriculas;
+    private final double expoenteZipf;
+    private final long semente;
+    private final int tamanhoLote;
+    private final boolean encerrar;
+
+    private final LocalDateTime agora = LocalDateTime.now().withNano(0);
+
+    public SyntheticDataGenerator(ApplicationContext applicationContext,
+                                  DataSource dataSource,
+                                  PasswordEncoder passwordEncoder,
+                                  @Value("${app.gerador.professores:50}") int professores,
+                                  @Value("${app.gerador.alunos:100000}") int alunos,
+                                  @Value("${app.gerador.usuarios-alunos:1000}") int usuariosAlunos,
+                                  @Value("${app.gerador.cursos:1000}") int cursos,
+                                  @Value("${app.gerador.matriculas:1000000}") long matriculas,
+                                  @Value("${app.gerador.expoente-zipf:1.0}") double expoenteZipf,
+                                  @Value("${app.gerador.semente:42}") long semente,
+                                  @Value("${app.gerador.tamanho-lote:5000}") int tamanhoLote,
+                                  @Value("${app.gerador.encerrar:true}") boolean encerrar) {
+        this.applicationContext = applicationContext;
+        this.dataSource = dataSource;
+        this.passwordEncoder = passwordEncoder instanceof OffloadedPasswordEncoder offloaded
+                ? offloaded.getDelegate()
+                : passwordEncoder;
+        this.professores = professores;
+        this.alunos = alunos;
+        this.usuariosAlunos = Math.min(usuariosAlunos, alunos);
+        this.cursos = cursos;
+        this.matriculas = matriculas;
+        this.expoenteZipf = expoenteZipf;
+        this.semente = semente;
+        this.tamanhoLote = tamanhoLote;
+        this.encerrar = encerrar;
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        if (professores == 0 && cursos > 0 && !existeProfessor()) {
+            throw new IllegalArgumentException("app.gerador.cursos exige professores cadastrados ou app.gerador.professores > 0");
+        }
+        long inicio = System.nanoTime();
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            boolean copy = connection.isWrapperFor(PGConnection.class);
+            log.info("Gerando dados sintéticos ({}): {} professores, {} alunos ({} com login), {} cursos, {} matrículas",
+                    copy ? "COPY" : "INSERT em lote", professores, alunos, usuariosAlunos, cursos, matriculas);
+
+            Gerador gerador = new Gerador(connection, copy);
+            gerador.usuarios();
+            gerador.alunos();
+            gerador.cursos();
+            gerador.matriculas();
+            gerador.finalizar();
+        }
+        log.info("Dados sintéticos gerados em {} s", (System.nanoTime() - inicio) / 1_000_000_000);
+
+        if (encerrar) {
+            System.exit(SpringApplication.exit(applicationContext, () -> 0));
+        }
+    }
+
+    private boolean existeProfessor() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM usuarios WHERE tipo = 'PROFESSOR' AND ativo")) {
+            return rs.next() && rs.getLong(1) > 0;
+        }
+    }
+
+    /**
+     * Estado de uma execução: faixas de IDs, cursos (para o modelo de leitura e o ajuste de vagas)
+     * e a distribuição de popularidade. Alunos e matrículas são derivados do índice do aluno com
+     * geradores próprios, para que a segunda passada (matricula_view) reproduza a primeira.
+     */
+    private final class Gerador {
+
+        private final Connection connection;
+        private final boolean copy;
+        private final long primeiroUsuario;
+        private final long primeiroAluno;
+        private final long primeiroCurso;
+        private final long primeiraMatricula;
+        private long[] professorIds;
+        private String[] professorNomes;
+        private String[] cursoNomes;
+        private int[] cursoProfessor;
+        private int[] cursoVagas;
+        private int[] ocupadas;
+        private double[] popularidadeAcumulada;
+        private long totalMatriculas;
+
+        Gerador(Connection connection, boolean copy) throws SQLException {
+            this.connection = connection;
+            this.copy = copy;
+            this.primeiroUsuario = proximoBloco("usuarios_seq");
+            this.primeiroAluno = proximoBloco("alunos_seq");
+            this.primeiroCurso = proximoBloco("cursos_seq");
+            this.primeiraMatricula = proximoBloco("matriculas_seq");
+        }
+
+        /**
+         * Admin (se ainda não existir), professores e os logins dos primeiros alunos. Cada perfil
+         * usa uma única senha, então há um hash BCrypt por perfil em vez de um por usuário.
+         */
+        void usuarios() throws SQLException, IOException {
+            String hashProfessor = passwordEncoder.encode("prof123");
+            String hashAluno = passwordEncoder.encode("aluno123");
+            professorIds = new long[professores];
+            professorNomes = new String[professores];
+            long id = primeiroUsuario;
+            // consulta antes do COPY: a conexão fica ocupada até o fim do fluxo
+            boolean criarAdmin = !existeUsuario("admin@escola.com");
+            try (Gravacao gravacao = gravacao("usuarios",
+                    "id, nome, email, senha, tipo, ativo, data_cadastro, data_atualizacao")) {
+                if (criarAdmin) {
+                    gravacao.linha(id++, "Administrador", "admin@escola.com", passwordEncoder.encode("admin123"),
+                            TipoUsuario.ADMIN.name(), true, agora, agora);
+                }
+                for (int i = 0; i < professores; i++) {
+                    SplittableRandom random = aleatorio(1, i);
+                    boolean feminino = random.nextBoolean();
+                    String nome = nomeCompleto(random, feminino);
+                    professorIds[i] = id;
+                    professorNomes[i] = (feminino ? "Profa. " : "Prof. ") + nome;
+                    LocalDateTime cadastro = agora.minusDays(random.nextInt(365, 3 * 365));
+                    gravacao.linha(id, professorNomes[i], email(nome, id, "escola.com"), hashProfessor,
+                            TipoUsuario.PROFESSOR.name(), true, cadastro, cadastro);
+                    id++;
+                }
+                for (int i = 0; i < usuariosAlunos; i++) {
+                    AlunoGerado aluno = aluno(i);
+                    gravacao.linha(id++, aluno.nome, aluno.email, hashAluno, TipoUsuario.ALUNO.name(), true,
+                            aluno.cadastro, aluno.cadastro);
+                }
+            }
+            reposicionar("usuarios_seq", id - 1);
+            if (professores == 0 && cursos > 0) {
+                carregarProfessoresExistentes();
+            }
+        }
+
+        void alunos() throws SQLException, IOException {
+            List<String> recriar = removerIndices("alunos");
+            try (Gravacao gravacao = gravacao("alunos",
+                    "id, nome, email, cpf, telefone, ativo, data_cadastro, data_atualizacao")) {
+                for (int i = 0; i < alunos; i++) {
+                    AlunoGerado aluno = aluno(i);
+                    gravacao.linha(primeiroAluno + i, aluno.nome, aluno.email, aluno.cpf, aluno.telefone,
+                            aluno.ativo, aluno.cadastro, aluno.cadastro);
+                }
+            }
+            recriarIndices("alunos", recriar);
+            reposicionar("alunos_seq", primeiroAluno + alunos - 1);
+        }
+
+        /**
+         * Vagas provisórias: ao fim das matrículas, cursos com mais matrículas que as vagas
+         * sorteadas ganham vagas para comportá-las (ver finalizar()).
+         */
+        void cursos() throws SQLException, IOException {
+            cursoNomes = new String[cursos];
+            cursoProfessor = new int[cursos];
+            cursoVagas = new int[cursos];
+            ocupadas = new int[cursos];
+            popularidadeAcumulada = new double[cursos];
+            double soma = 0;
+            try (Gravacao gravacao = gravacao("cursos",
+                    "id, nome, descricao, carga_horaria, vagas, vagas_disponiveis, ativo, data_criacao, data_atualizacao, professor_id")) {
+                for (int i = 0; i < cursos; i++) {
+                    SplittableRandom random = aleatorio(3, i);
+                    String tema = TEMAS[random.nextInt(TEMAS.length)];
+                    cursoNomes[i] = NIVEIS[random.nextInt(NIVEIS.length)] + " " + tema + " - Turma " + (i + 1);
+                    cursoProfessor[i] = random.nextInt(professorIds.length);
+                    cursoVagas[i] = 20 + 5 * random.nextInt(37);
+                    LocalDateTime criacao = agora.minusDays(random.nextInt(30, 3 * 365));
+                    gravacao.linha(primeiroCurso + i, cursoNomes[i], "Curso de " + tema.toLowerCase(Locale.ROOT)
+                                    + " com aulas práticas, exercícios e projeto final",
+                            CARGAS_HORARIAS[random.nextInt(CARGAS_HORARIAS.length)], cursoVagas[i], cursoVagas[i],
+                            random.nextInt(100) < 95, criacao, criacao, professorIds[cursoProfessor[i]]);
+                    soma += 1 / Math.pow(i + 1, expoenteZipf);
+                    popularidadeAcumulada[i] = soma;
+                }
+            }
+            reposicionar("cursos_seq", primeiroCurso + cursos - 1);
+        }
+
+        void matriculas() throws SQLException, IOException {
+            List<String> recriar = removerIndices("matriculas");
+            try (Gravacao gravacao = gravacao("matriculas",
+                    "id, aluno_id, curso_id, status, progresso, data_matricula, data_conclusao, data_atualizacao")) {
+                totalMatriculas = planejarMatriculas((id, aluno, curso, m) -> {
+                    if (m.ocupaVaga()) {
+                        ocupadas[curso]++;
+                    }
+                    gravacao.linha(id, primeiroAluno + aluno.indice, primeiroCurso + curso, m.status.name(),
+                            m.progresso, m.dataMatricula, m.dataConclusao, m.dataAtualizacao());
+                });
+            }
+            recriarIndices("matriculas", recriar);
+            reposicionar("matriculas_seq", primeiraMatricula + totalMatriculas - 1);
+
+            recriar = removerIndices("matricula_view");
+            try (Gravacao gravacao = gravacao("matricula_view", "id, aluno_id, aluno_nome, aluno_email, curso_id, "
+                    + "curso_nome, professor_id, professor_nome, status, progresso, data_matricula, data_conclusao, projetado_em")) {
+                planejarMatriculas((id, aluno, curso, m) -> gravacao.linha(id, primeiroAluno + aluno.indice,
+                        aluno.nome, aluno.email, primeiroCurso + curso, cursoNomes[curso],
+                        professorIds[cursoProfessor[curso]], professorNomes[cursoProfessor[curso]],
+                        m.status.name(), m.progresso, m.dataMatricula, m.dataConclusao, agora));
+            }
+            recriarIndices("matricula_view", recriar);
+            connection.commit();
+        }
+
+        /**
+         * Carga em massa (COPY): índices secundários, UNIQUE e FKs da tabela saem antes das linhas
+         * e voltam depois, construídos numa passada só em vez de atualizados linha a linha. Tudo na
+         * mesma transação do COPY; se a carga falhar, o rollback devolve as definições.
+         */
+        private List<String> removerIndices(String tabela) throws SQLException {
+            List<String> recriar = new ArrayList<>();
+            if (!copy) {
+                return recriar;
+            }
+            List<String> remover = new ArrayList<>();
+            try (PreparedStatement ps = connection.prepareStatement(
+                    "SELECT conname, pg_get_constraintdef(oid) FROM pg_constraint "
+                            + "WHERE conrelid = ?::regclass AND contype IN ('f', 'u') ORDER BY contype")) {
+                ps.setString(1, tabela);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        remover.add("ALTER TABLE " + tabela + " DROP CONSTRAINT " + rs.getString(1));
+                        // UNIQUE antes das FKs na recriação
+                        recriar.add(0, "ALTER TABLE " + tabela + " ADD CONSTRAINT " + rs.getString(1) + " " + rs.getString(2));
+                    }
+                }
+            }
+            try (PreparedStatement ps = connection.prepareStatement(
+                    "SELECT ci.relname, pg_get_indexdef(x.indexrelid) FROM pg_index x "
+                            + "JOIN pg_class ci ON ci.oid = x.indexrelid "
+                            + "WHERE x.indrelid = ?::regclass AND NOT x.indisprimary "
+                            + "AND NOT EXISTS (SELECT 1 FROM pg_constraint c WHERE c.conindid = x.indexrelid)")) {
+                ps.setString(1, tabela);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        remover.add("DROP INDEX " + rs.getString(1));
+                        recriar.add(0, rs.getString(2));
+                    }
+                }
+            }
+            try (Statement statement = connection.createStatement()) {
+                for (String ddl : remover) {
+                    statement.execute(ddl);
+                }
+            }
+            return recriar;
+        }
+
+        private void recriarIndices(String tabela, List<String> recriar) throws SQLException {
+            if (recriar.isEmpty()) {
+                return;
+            }
+            long inicio = System.nanoTime();
+            try (Statement statement = connection.createStatement()) {
+                for (String ddl : recriar) {
+                    statement.execute(ddl);
+                }
+            }
+            log.info("{}: {} índices/constraints recriados em {} s", tabela, recriar.size(),
+                    String.format(Locale.ROOT, "%.1f", (System.nanoTime() - inicio) / 1e9));
+        }
+
+        /**
+         * Ajusta as vagas pelas matrículas ATIVA/CONCLUIDA/TRANCADA geradas e atualiza as
+         * estatísticas do planejador.
+         */
+        void finalizar() throws SQLException {
+            long lotados = 0;
+            try (PreparedStatement ps = connection.prepareStatement(
+                    "UPDATE cursos SET vagas = ?, vagas_disponiveis = ? WHERE id = ?")) {
+                for (int i = 0; i < cursos; i++) {
+                    // os 5% mais populares ficam lotados; os demais ganham até 30% de folga
+                    double folga = i < cursos / 20 ? 1.0 : 1.0 + aleatorio(5, i).nextDouble() * 0.3;
+                    int vagas = Math.max(cursoVagas[i], (int) Math.ceil(ocupadas[i] * folga));
+                    lotados += vagas == ocupadas[i] ? 1 : 0;
+                    ps.setInt(1, vagas);
+                    ps.setInt(2, vagas - ocupadas[i]);
+                    ps.setLong(3, primeiroCurso + i);
+                    ps.addBatch();
+                    if ((i + 1) % tamanhoLote == 0) {
+                        ps.executeBatch();
+                    }
+                }
+                ps.executeBatch();
+            }
+            connection.commit();
+            log.info("Vagas ajustadas: {} de {} cursos lotados", lotados, cursos);
+            if (copy) {
+                connection.setAutoCommit(true);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("ANALYZE usuarios, alunos, cursos, matriculas, matricula_view");
+                }
+            }
+        }
+
+        /**
+         * Percorre os alunos sorteando quantas matrículas cada um tem (geométrica, com média que
+         * se ajusta ao que falta para o total pedido) e em quais cursos (Zipf, sem repetir curso).
+         * Determinístico para a semente: as duas passadas geram as mesmas matrículas e IDs.
+         */
+        private long planejarMatriculas(DestinoMatricula destino) throws SQLException, IOException {
+            if (alunos == 0 || cursos == 0) {
+                return 0;
+            }
+            long restantes = matriculas;
+            long id = primeiraMatricula;
+            int[] escolhidos = new int[cursos];
+            for (int a = 0; a < alunos && restantes > 0; a++) {
+                SplittableRandom random = aleatorio(4, a);
+                double media = (double) restantes / (alunos - a);
+                int quantidade = (int) Math.min(Math.min(restantes, cursos / 2 + 1), geometrica(random, media));
+                if (a == alunos - 1) {
+                    quantidade = (int) Math.min(restantes, cursos);
+                }
+                if (quantidade == 0) {
+                    continue;
+                }
+                AlunoGerado aluno = aluno(a);
+                int escolhas = 0;
+                for (int tentativa = 0; escolhas < quantidade; tentativa++) {
+                    // sorteio por popularidade; após muitas colisões, curso uniforme
+                    int curso = tentativa < 20 * quantidade ? cursoPopular(random) : random.nextInt(cursos);
+                    if (contem(escolhidos, escolhas, curso)) {
+                        continue;
+                    }
+                    escolhidos[escolhas++] = curso;
+                    destino.aceitar(id++, aluno, curso, matricula(random, aluno.cadastro));
+                }
+                restantes -= quantidade;
+            }
+            return id - primeiraMatricula;
+        }
+
+        private int cursoPopular(SplittableRandom random) {
+            double alvo = random.nextDouble() * popularidadeAcumulada[cursos - 1];
+            int indice = Arrays.binarySearch(popularidadeAcumulada, alvo);
+            return Math.min(cursos - 1, indice >= 0 ? indice : -indice - 1);
+        }
+
+        /**
+         * Mistura de status: 55% ativas, 30% concluídas, 12% canceladas e 3% trancadas, com
+         * progresso coerente e datas a partir do cadastro do aluno.
+         */
+        private MatriculaGerada matricula(SplittableRandom random, LocalDateTime cadastroAluno) {
+            MatriculaGerada m = new MatriculaGerada();
+            long diasDesdeCadastro = Math.max(1, Duration.between(cadastroAluno, agora).toDays());
+            LocalDateTime data = cadastroAluno.plusDays(random.nextLong(diasDesdeCadastro)).plusMinutes(random.nextInt(1440));
+            m.dataMatricula = data.isAfter(agora) ? agora : data;
+            int sorteio = random.nextInt(100);
+            if (sorteio < 55) {
+                m.status = StatusMatricula.ATIVA;
+                m.progresso = Math.round(Math.pow(random.nextDouble(), 0.8) * 990) / 10.0;
+            } else if (sorteio < 85) {
+                m.status = StatusMatricula.CONCLUIDA;
+                m.progresso = 100.0;
+                LocalDateTime conclusao = m.dataMatricula.plusDays(random.nextInt(20, 180));
+                m.dataConclusao = conclusao.isAfter(agora) ? agora : conclusao;
+            } else if (sorteio < 97) {
+                m.status = StatusMatricula.CANCELADA;
+                m.progresso = Math.round(random.nextDouble() * 600) / 10.0;
+            } else {
+                m.status = StatusMatricula.TRANCADA;
+                m.progresso = Math.round(random.nextDouble() * 800) / 10.0;
+            }
+            return m;
+        }
+
+        private AlunoGerado aluno(int indice) {
+            SplittableRandom random = aleatorio(2, indice);
+            AlunoGerado aluno = new AlunoGerado();
+            aluno.indice = indice;
+            aluno.nome = nomeCompleto(random, random.nextBoolean());
+            aluno.email = email(aluno.nome, primeiroAluno + indice, "aluno.com");
+            aluno.cpf = cpf(primeiroAluno + indice);
+            aluno.telefone = "(" + DDDS[random.nextInt(DDDS.length)] + ") 9"
+                    + String.format("%04d-%04d", random.nextInt(10000), random.nextInt(10000));
+            aluno.ativo = random.nextInt(100) < 97;
+            aluno.cadastro = agora.minusDays(random.nextInt(1, 3 * 365)).minusMinutes(random.nextInt(1440));
+            return aluno;
+        }
+
+        private Gravacao gravacao(String tabela, String colunas) throws SQLException {
+            return copy ? new GravacaoCopy(connection, tabela, colunas) : new GravacaoLote(connection, tabela, colunas);
+        }
+
+        /**
+         * Primeiro ID livre: acima do bloco devolvido agora pela sequence, que cobre todos os
+         * blocos já entregues às instâncias (otimizador pooled do Hibernate).
+         */
+        private long proximoBloco(String sequence) throws SQLException {
+            try (Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery("SELECT nextval('" + sequence + "')")) {
+                rs.next();
+                return rs.getLong(1) + 1;
+            }
+        }
+
+        /**
+         * O próximo nextval devolve ultimoId + 50, ou seja, o bloco seguinte começa em ultimoId + 1.
+         */
+        private void reposicionar(String sequence, long ultimoId) throws SQLException {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + (ultimoId + TAMANHO_POOL_IDS));
+            }
+            connection.commit();
+        }
+
+        private boolean existeUsuario(String email) throws SQLException {
+            try (PreparedStatement ps = connection.prepareStatement("SELECT 1 FROM usuarios WHERE email = ?")) {
+                ps.setString(1, email);
+                try (ResultSet rs = ps.executeQuery()) {
+                    return rs.next();
+                }
+            }
+        }
+
+        private void carregarProfessoresExistentes() throws SQLException {
+            try (Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery(
+                         "SELECT id, nome FROM usuarios WHERE tipo = 'PROFESSOR' AND ativo ORDER BY id")) {
+                List<Long> ids = new ArrayList<>();
+                List<String> nomes = new ArrayList<>();
+                while (rs.next()) {
+                    ids.add(rs.getLong(1));
+                    nomes.add(rs.getString(2));
+                }
+                professorIds = ids.stream().mapToLong(Long::longValue).toArray();
+                professorNomes = nomes.toArray(String[]::new);
+            }
+        }
+    }
+
+    private SplittableRandom aleatorio(int tipo, long indice) {
+        return new SplittableRandom(semente * 1_000_003L + tipo * 0x9E3779B97F4A7C15L + indice);
+    }
+
+    private static String nomeCompleto(SplittableRandom random, boolean feminino) {
+        String[] nomes = feminino ? NOMES_FEMININOS : NOMES_MASCULINOS;
+        return nomes[random.nextInt(nomes.length)] + " " + SOBRENOMES[random.nextInt(SOBRENOMES.length)]
+                + " " + SOBRENOMES[random.nextInt(SOBRENOMES.length)];
+    }
+
+    /**
+     * nome.sobrenome.id@dominio, sem acentos; o ID garante a unicidade.
+     */
+    private static String email(String nome, long id, String dominio) {
+        String[] partes = Normalizer.normalize(nome, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase(Locale.ROOT)
+                .split(" ");
+        return partes[0] + "." + partes[partes.length - 1] + "." + id + "@" + dominio;
+    }
+
+    /**
+     * CPF com dígitos verificadores válidos; a base de 9 dígitos vem do ID, então não se repete.
+     */
+    static String cpf(long id) {
+        String base = String.format("%09d", 100_000_000L + id % 900_000_000L);
+        int[] digitos = new int[11];
+        for (int i = 0; i < 9; i++) {
+            digitos[i] = base.charAt(i) - '0';
+        }
+        for (int posicao = 9; posicao < 11; posicao++) {
+            int soma = 0;
+            for (int i = 0; i < posicao; i++) {
+                soma += digitos[i] * (posicao + 1 - i);
+            }
+            int resto = soma * 10 % 11;
+            digitos[posicao] = resto == 10 ? 0 : resto;
+        }
+        return base + digitos[9] + digitos[10];
+    }
+
+    private static long geometrica(SplittableRandom random, double media) {
+        if (media <= 1) {
+            return random.nextDouble() < media ? 1 : 0;
+        }
+        double p = 1 / media;
+        return 1 + (long) (Math.log(1 - random.nextDouble()) / Math.log(1 - p));
+    }
+
+    private static boolean contem(int[] valores, int quantidade, int valor) {
+        for (int i = 0; i < quantidade; i++) {
+            if (valores[i] == valor) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class AlunoGerado {
+        int indice;
+        String nome;
+        String email;
+        String cpf;
+        String telefone;
+        boolean ativo;
+        LocalDateTime cadastro;
+    }
+
+    private static final class MatriculaGerada {
+        StatusMatricula status;
+        double progresso;
+        LocalDateTime dataMatricula;
+        LocalDateTime dataConclusao;
+
+        /**
+         * Como no MatriculaService: só o cancelamento devolve a vaga.
+         */
+        boolean ocupaVaga() {
+            return status != StatusMatricula.CANCELADA;
+        }
+
+        LocalDateTime dataAtualizacao() {
+            return dataConclusao != null ? dataConclusao : dataMatricula;
+        }
+    }
+
+    @FunctionalInterface
+    private interface DestinoMatricula {
+        void aceitar(long id, AlunoGerado aluno, int curso, MatriculaGerada matricula) throws SQLException, IOException;
+    }
+
+    /**
+     * Destino das linhas de uma tabela; close() envia o restante.
+     */
+    private interface Gravacao extends AutoCloseable {
+
+        void linha(Object... valores) throws SQLException, IOException;
+
+        @Override
+        void close() throws SQLException, IOException;
+    }
+
+    /**
+     * COPY ... FROM STDIN em CSV, num único fluxo por tabela.
+     */
+    private static final class GravacaoCopy implements Gravacao {
+
+        private final Connection connection;
+        private final String tabela;
+        private final Writer writer;
+        private long linhas;
+        private final long inicio = System.nanoTime();
+
+        GravacaoCopy(Connection connection, String tabela, String colunas) throws SQLException {
+            this.connection = connection;
+            this.tabela = tabela;
+            PGConnection pg = connection.unwrap(PGConnection.class);
+            this.writer = new BufferedWriter(new OutputStreamWriter(new PGCopyOutputStream(pg,
+                    "COPY " + tabela + " (" + colunas + ") FROM STDIN WITH (FORMAT csv)", 1 << 16),
+                    StandardCharsets.UTF_8), 1 << 16);
+        }
+
+        @Override
+        public void linha(Object... valores) throws IOException {
+            for (int i = 0; i < valores.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                Object valor = valores[i];
+                if (valor instanceof String texto) {
+                    writer.write('"');
+                    writer.write(texto.replace("\"", "\"\""));
+                    writer.write('"');
+                } else if (valor != null) {
+                    writer.write(valor.toString());
+                }
+            }
+            writer.write('\n');
+            linhas++;
+        }
+
+        /**
+         * Sem commit: quem gravou decide, depois de recriar os índices.
+         */
+        @Override
+        public void close() throws IOException {
+            writer.close();
+            registrar(tabela, linhas, inicio);
+        }
+    }
+
+    /**
+     * INSERTs em lote com commit a cada lote (H2 e demais bancos).
+     */
+    private final class GravacaoLote implements Gravacao {
+
+        private final Connection connection;
+        private final String tabela;
+        private final PreparedStatement ps;
+        private long linhas;
+        private final long inicio = System.nanoTime();
+
+        GravacaoLote(Connection connection, String tabela, String colunas) throws SQLException {
+            this.connection = connection;
+            this.tabela = tabela;
+            String parametros = String.join(", ", Collections.nCopies(colunas.split(",").length, "?"));
+            this.ps = connection.prepareStatement("INSERT INTO " + tabela + " (" + colunas + ") VALUES (" + parametros + ")");
+        }
+
+        @Override
+        public void linha(Object... valores) throws SQLException {
+            for (int i = 0; i < valores.length; i++) {
+                ps.setObject(i + 1, valores[i]);
+            }
+            ps.addBatch();
+            if (++linhas % tamanhoLote == 0) {
+                ps.executeBatch();
+                connection.commit();
+            }
+        }
+
+        @Override
+        public void close() throws SQLException {
+            ps.executeBatch();
+            ps.close();
+            connection.commit();
+            registrar(tabela, linhas, inicio);
+        }
+    }
+
+    private static void registrar(String tabela, long linhas, long inicio) {
+        double segundos = Math.max(1, System.nanoTime() - inicio) / 1e9;
+        log.info("{}: {} linhas em {} s ({} linhas/s)", tabela, linhas, String.format(Locale.ROOT, "%.1f", segundos),
+                Math.round(linhas / segundos));
+    }
+}
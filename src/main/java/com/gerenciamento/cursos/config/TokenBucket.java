@@ -0,0 +1,50 @@
+package com.gerenciamento.cursos.config;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Balde de fichas sem lock, no formato GCRA: em vez de contar fichas e o instante da última
+ * reposição, guarda num único AtomicLong o instante (System.nanoTime) em que o balde estará
+ * cheio de novo. Cada ficha consumida empurra esse instante em {@code periodo / capacidade};
+ * a requisição é recusada se ele passaria a ficar mais de um balde inteiro à frente do relógio.
+ * O resultado é o mesmo de um balde com {@code capacidade} fichas repostas continuamente.
+ */
+final class TokenBucket {
+
+    private final long intervaloNanos;
+    private final long toleranciaNanos;
+    private final AtomicLong cheioEm;
+
+    TokenBucket(int capacidade, Duration periodo, long agora) {
+        this.intervaloNanos = Math.max(1, periodo.toNanos() / capacidade);
+        this.toleranciaNanos = intervaloNanos * capacidade;
+        this.cheioEm = new AtomicLong(agora);
+    }
+
+    /**
+     * Consome uma ficha. Retorna 0 se conseguiu ou, se o balde está vazio, quantos nanossegundos
+     * faltam para a próxima ficha.
+     */
+    long consumir(long agora) {
+        while (true) {
+            long atual = cheioEm.get();
+            // diferença, e não Math.max: nanoTime pode dar a volta
+            long proximo = (atual - agora > 0 ? atual : agora) + intervaloNanos;
+            long excesso = proximo - agora - toleranciaNanos;
+            if (excesso > 0) {
+                return excesso;
+            }
+            if (cheioEm.compareAndSet(atual, proximo)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Balde cheio equivale a um balde recém-criado: pode ser descartado sem mudar o limite.
+     */
+    boolean cheio(long agora) {
+        return cheioEm.get() - agora <= 0;
+    }
+}
@@ -0,0 +1,191 @@
+package com.gerenciamento.cursos.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Detecção de pinning das threads virtuais (ligada junto com spring.threads.virtual.enabled).
+ *
+ * Assina o evento jdk.VirtualThreadPinned do JFR: a thread virtual bloqueou dentro de um bloco
+ * synchronized (ou de código nativo) por mais de app.pinning.limiar-ms e, nesse tempo, segurou a
+ * thread carrier, que deixou de atender as demais. As ocorrências são agregadas pelo primeiro
+ * frame fora do JDK (ex.: o driver JDBC ou o pool de conexões), com contagem, tempos e uma pilha
+ * de exemplo. Saídas: timer threads.virtuais.pinning (tag local), WARN na primeira ocorrência de
+ * cada local e GET /actuator/pinning.
+ */
+@Component
+@ConditionalOnExpression("${spring.threads.virtual.enabled:false} and ${app.pinning.habilitado:true}")
+@Slf4j
+public class VirtualThreadPinningMonitor implements InitializingBean, DisposableBean {
+
+    static final String EVENTO = "jdk.VirtualThreadPinned";
+    static final String OUTROS = "outros";
+
+    private final MeterRegistry meterRegistry;
+    @Getter
+    private final Duration limiar;
+    private final int maximoLocais;
+    private final int profundidadePilha;
+    private final Map<String, Local> locais = new ConcurrentHashMap<>();
+    private final AtomicLong descartados = new AtomicLong();
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                       @Value("${app.pinning.limiar-ms:20}") long limiarMs,
+                                       @Value("${app.pinning.maximo-locais:50}") int maximoLocais,
+                                       @Value("${app.pinning.profundidade-pilha:15}") int profundidadePilha) {
+        this.meterRegistry = meterRegistry;
+        this.limiar = Duration.ofMillis(limiarMs);
+        this.maximoLocais = maximoLocais;
+        this.profundidadePilha = profundidadePilha;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        stream = new RecordingStream();
+        stream.enable(EVENTO).withThreshold(limiar).withStackTrace();
+        stream.onEvent(EVENTO, this::registrar);
+        stream.startAsync();
+        log.info("Monitor de pinning das threads virtuais ativo (limiar {} ms)", limiar.toMillis());
+    }
+
+    @Override
+    public void destroy() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    void registrar(RecordedEvent evento) {
+        RecordedStackTrace pilha = evento.getStackTrace();
+        List<RecordedFrame> frames = pilha != null ? pilha.getFrames() : List.of();
+        String chave = local(frames);
+        Local local = locais.get(chave);
+        if (local == null) {
+            if (locais.size() >= maximoLocais) {
+                descartados.incrementAndGet();
+                chave = OUTROS;
+            }
+            local = locais.computeIfAbsent(chave, Local::new);
+        }
+        Duration duracao = evento.getDuration();
+        boolean primeira = local.registrar(duracao, frames, profundidadePilha);
+        Timer.builder("threads.virtuais.pinning")
+                .description("Tempo em que threads virtuais ficaram presas à carrier")
+                .tag("local", chave)
+                .register(meterRegistry)
+                .record(duracao);
+        if (primeira) {
+            log.warn("Thread virtual presa à carrier por {} ms em {}:\n  {}",
+                    duracao.toMillis(), chave, String.join("\n  ", local.getPilha()));
+        }
+    }
+
+    /**
+     * Primeiro frame fora do JDK, como Classe.metodo; a parte de cima da pilha é sempre o park
+     * da própria thread virtual.
+     */
+    static String local(List<RecordedFrame> frames) {
+        for (RecordedFrame frame : frames) {
+            String classe = frame.getMethod().getType().getName();
+            if (!classe.startsWith("java.") && !classe.startsWith("jdk.") && !classe.startsWith("sun.")) {
+                return classe.substring(classe.lastIndexOf('.') + 1) + "." + frame.getMethod().getName();
+            }
+        }
+        return "desconhecido";
+    }
+
+    /**
+     * Ordena por uma leitura única do tempo total de cada local: os eventos continuam chegando
+     * durante a ordenação, e um comparador que muda de resposta quebra o sort.
+     */
+    public List<Local> piores(int limite) {
+        return locais.values().stream()
+                .map(local -> Map.entry(local, local.getTempoTotalMs()))
+                .sorted(Map.Entry.<Local, Long>comparingByValue().reversed())
+                .limit(limite)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    public long getDescartados() {
+        return descartados.get();
+    }
+
+    public void limpar() {
+        locais.clear();
+        descartados.set(0);
+    }
+
+    /**
+     * Atualizado pela thread do RecordingStream e lido pelo endpoint: os contadores só são
+     * lidos e escritos sob o monitor do próprio Local.
+     */
+    public static class Local {
+        @Getter
+        private final String local;
+        private long ocorrencias;
+        private long tempoTotalMs;
+        private long tempoMaximoMs;
+        private LocalDateTime ultimaOcorrencia;
+        @Getter
+        private volatile List<String> pilha = List.of();
+
+        Local(String local) {
+            this.local = local;
+        }
+
+        public synchronized long getOcorrencias() {
+            return ocorrencias;
+        }
+
+        public synchronized long getTempoTotalMs() {
+            return tempoTotalMs;
+        }
+
+        public synchronized long getTempoMaximoMs() {
+            return tempoMaximoMs;
+        }
+
+        public synchronized LocalDateTime getUltimaOcorrencia() {
+            return ultimaOcorrencia;
+        }
+
+        /**
+         * Retorna true na primeira ocorrência, que fica com a pilha de exemplo.
+         */
+        synchronized boolean registrar(Duration duracao, List<RecordedFrame> frames, int profundidade) {
+            ocorrencias++;
+            tempoTotalMs += duracao.toMillis();
+            tempoMaximoMs = Math.max(tempoMaximoMs, duracao.toMillis());
+            ultimaOcorrencia = LocalDateTime.now();
+            if (ocorrencias > 1) {
+                return false;
+            }
+            pilha = frames.stream()
+                    .limit(profundidade)
+                    .map(f -> f.getMethod().getType().getName() + "." + f.getMethod().getName()
+                            + (f.getLineNumber() > 0 ? ":" + f.getLineNumber() : ""))
+                    .toList();
+            return true;
+        }
+    }
+}
@@ -1,14 +1,20 @@
 package com.gerenciamento.cursos.controller;
 
+import com.gerenciamento.cursos.config.SparseFieldsAdvice;
 import com.gerenciamento.cursos.dto.AlunoDTO;
+import com.gerenciamento.cursos.dto.ImportacaoAlunosDTO;
+import com.gerenciamento.cursos.service.AlunoImportacaoService;
 import com.gerenciamento.cursos.service.AlunoService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
+import java.util.Set;
 
 /**
  * Controller REST para gerenciamento de Alunos.
@@ -19,14 +25,16 @@ import java.util.List;
 public class AlunoController {
 
     private final AlunoService alunoService;
+    private final AlunoImportacaoService alunoImportacaoService;
 
     /**
      * Lista todos os alunos ativos.
-     * GET /api/alunos
+     * GET /api/alunos[?fields=id,nome,...]
      */
     @GetMapping
-    public ResponseEntity<List<AlunoDTO>> listarTodos() {
-        List<AlunoDTO> alunos = alunoService.listarTodos();
+    public ResponseEntity<List<AlunoDTO>> listarTodos(
+            @RequestParam(name = SparseFieldsAdvice.PARAMETRO, required = false) Set<String> campos) {
+        List<AlunoDTO> alunos = alunoService.listarTodos(campos);
         return ResponseEntity.ok(alunos);
     }
 
@@ -73,11 +81,33 @@ public class AlunoController {
 
     /**
      * Busca alunos por nome.
-     * GET /api/alunos/buscar?nome=XXX
+     * GET /api/alunos/buscar?nome=XXX[&fields=...]
      */
     @GetMapping("/buscar")
-    public ResponseEntity<List<AlunoDTO>> buscarPorNome(@RequestParam String nome) {
-        List<AlunoDTO> alunos = alunoService.buscarPorNome(nome);
+    public ResponseEntity<List<AlunoDTO>> buscarPorNome(@RequestParam String nome,
+            @RequestParam(name = SparseFieldsAdvice.PARAMETRO, required = false) Set<String> campos) {
+        List<AlunoDTO> alunos = alunoService.buscarPorNome(nome, campos);
         return ResponseEntity.ok(alunos);
     }
+
+    /**
+     * Importa alunos em lote a partir de um arquivo CSV (processamento assíncrono).
+     * POST /api/alunos/importacao (multipart, campo "arquivo")
+     * Cabeçalho: nome,email,cpf,telefone,senha
+     */
+    @PostMapping(value = "/importacao", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportacaoAlunosDTO> importar(@RequestParam("arquivo") MultipartFile arquivo) {
+        ImportacaoAlunosDTO importacao = alunoImportacaoService.iniciar(arquivo);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(importacao);
+    }
+
+    /**
+     * Consulta o andamento e os erros por linha de uma importação.
+     * GET /api/alunos/importacao/{id}
+     */
+    @GetMapping("/importacao/{id}")
+    public ResponseEntity<ImportacaoAlunosDTO> statusImportacao(@PathVariable String id) {
+        ImportacaoAlunosDTO importacao = alunoImportacaoService.buscarStatus(id);
+        return ResponseEntity.ok(importacao);
+    }
 }
@@ -1,5 +1,6 @@
 package com.gerenciamento.cursos.controller;
 
+import com.gerenciamento.cursos.config.SparseFieldsAdvice;
 import com.gerenciamento.cursos.dto.CursoDTO;
 import com.gerenciamento.cursos.service.CursoService;
 import jakarta.validation.Valid;
@@ -9,6 +10,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Set;
 
 /**
  * Controller REST para gerenciamento de Cursos.
@@ -23,11 +25,12 @@ public class CursoController {
 
     /**
      * Lista todos os cursos ativos.
-     * GET /api/cursos
+     * GET /api/cursos[?fields=id,nome,...]
      */
     @GetMapping
-    public ResponseEntity<List<CursoDTO>> listarTodos() {
-        List<CursoDTO> cursos = cursoService.listarTodos();
+    public ResponseEntity<List<CursoDTO>> listarTodos(
+            @RequestParam(name = SparseFieldsAdvice.PARAMETRO, required = false) Set<String> campos) {
+        List<CursoDTO> cursos = cursoService.listarTodos(campos);
         return ResponseEntity.ok(cursos);
     }
 
@@ -74,21 +77,23 @@ public class CursoController {
 
     /**
      * Lista cursos com vagas disponíveis.
-     * GET /api/cursos/disponiveis
+     * GET /api/cursos/disponiveis[?fields=...]
      */
     @GetMapping("/disponiveis")
-    public ResponseEntity<List<CursoDTO>> listarCursosComVagas() {
-        List<CursoDTO> cursos = cursoService.listarCursosComVagas();
+    public ResponseEntity<List<CursoDTO>> listarCursosComVagas(
+            @RequestParam(name = SparseFieldsAdvice.PARAMETRO, required = false) Set<String> campos) {
+        List<CursoDTO> cursos = cursoService.listarCursosComVagas(campos);
         return ResponseEntity.ok(cursos);
     }
 
     /**
      * Busca cursos por nome.
-     * GET /api/cursos/buscar?nome=XXX
+     * GET /api/cursos/buscar?nome=XXX[&fields=...]
      */
     @GetMapping("/buscar")
-    public ResponseEntity<List<CursoDTO>> buscarPorNome(@RequestParam String nome) {
-        List<CursoDTO> cursos = cursoService.buscarPorNome(nome);
+    public ResponseEntity<List<CursoDTO>> buscarPorNome(@RequestParam String nome,
+            @RequestParam(name = SparseFieldsAdvice.PARAMETRO, required = false) Set<String> campos) {
+        List<CursoDTO> cursos = cursoService.buscarPorNome(nome, campos);
         return ResponseEntity.ok(cursos);
     }
 }
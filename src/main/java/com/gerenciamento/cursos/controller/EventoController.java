@@ -0,0 +1,33 @@
+package com.gerenciamento.cursos.controller;
+
+import com.gerenciamento.cursos.dto.EventoDTO;
+import com.gerenciamento.cursos.service.OutboxService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Controller REST do stream de eventos de domínio (outbox).
+ */
+@RestController
+@RequestMapping("/api/eventos")
+@RequiredArgsConstructor
+public class EventoController {
+
+    private final OutboxService outboxService;
+
+    /**
+     * Lista eventos publicados após uma posição, para consumidores retomarem do último offset.
+     * GET /api/eventos?desde=0&limite=100
+     */
+    @GetMapping
+    public ResponseEntity<List<EventoDTO>> listarDesde(@RequestParam(defaultValue = "0") long desde,
+                                                       @RequestParam(defaultValue = "100") int limite) {
+        return ResponseEntity.ok(outboxService.buscarDesde(desde, limite));
+    }
+}
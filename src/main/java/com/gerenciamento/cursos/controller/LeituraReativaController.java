@@ -0,0 +1,136 @@
+package com.gerenciamento.cursos.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gerenciamento.cursos.config.JacksonConfig;
+import com.gerenciamento.cursos.dto.AlunoDTO;
+import com.gerenciamento.cursos.dto.CursoDTO;
+import com.gerenciamento.cursos.dto.MatriculaDTO;
+import com.gerenciamento.cursos.exception.BusinessException;
+import com.gerenciamento.cursos.exception.GlobalExceptionHandler.ErrorResponse;
+import com.gerenciamento.cursos.exception.ResourceNotFoundException;
+import com.gerenciamento.cursos.repository.LeituraReativaRepository;
+import com.gerenciamento.cursos.service.MatriculaProjecaoService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.function.Function;
+
+/**
+ * API de leitura reativa: as mesmas consultas GET de cursos, alunos e matrículas sob
+ * /api/reativo, servidas pelo WebFlux no Tomcat (ver ReactiveReadConfig) com R2DBC.
+ * As listas são escritas conforme o cliente consome: JSON array por padrão ou uma linha por
+ * registro com Accept: application/x-ndjson. Com Accept: application/cbor ou
+ * application/x-jackson-smile, a lista sai inteira no formato binário. Escritas continuam na API JPA.
+ */
+@Component
+@ConditionalOnProperty(name = "app.reativo.habilitado", havingValue = "true")
+@RequiredArgsConstructor
+public class LeituraReativaController {
+
+    public static final String PREFIXO = "/api/reativo";
+    /** Ids só com dígitos: outros valores não casam com a rota (404), em vez de falhar no handler. */
+    private static final String ID = "\\d{1,18}";
+
+    private final LeituraReativaRepository repositorio;
+    private final MatriculaProjecaoService matriculaProjecaoService;
+    private final MappingJackson2CborHttpMessageConverter cbor;
+    private final MappingJackson2SmileHttpMessageConverter smile;
+
+    public RouterFunction<ServerResponse> rotas() {
+        // caminhos relativos a PREFIXO: o adaptador do servlet trata o mapeamento como context path
+        return RouterFunctions.route()
+                .GET("/cursos", r -> lista(r, repositorio.listarCursos(), CursoDTO.class))
+                .GET("/cursos/disponiveis", r -> lista(r, repositorio.listarCursosComVagas(), CursoDTO.class))
+                .GET("/cursos/buscar", r -> nome(r).flatMap(nome -> lista(r, repositorio.buscarCursosPorNome(nome), CursoDTO.class)))
+                .GET("/cursos/{id:" + ID + "}", r -> item(r, "Curso", id(r, "id"), repositorio::buscarCurso))
+                .GET("/alunos", r -> lista(r, repositorio.listarAlunos(), AlunoDTO.class))
+                .GET("/alunos/buscar", r -> nome(r).flatMap(nome -> lista(r, repositorio.buscarAlunosPorNome(nome), AlunoDTO.class)))
+                .GET("/alunos/{id:" + ID + "}", r -> item(r, "Aluno", id(r, "id"), repositorio::buscarAluno))
+                // disponivel() lê a requisição atual (read-your-writes): avaliado aqui, na thread do Tomcat
+                .GET("/matriculas", r -> lista(r,
+                        repositorio.listarMatriculas(matriculaProjecaoService.disponivel()), MatriculaDTO.class))
+                .GET("/matriculas/aluno/{alunoId:" + ID + "}", r -> lista(r, repositorio.listarMatriculasPorAluno(
+                        id(r, "alunoId"), matriculaProjecaoService.disponivel()), MatriculaDTO.class))
+                .GET("/matriculas/curso/{cursoId:" + ID + "}", r -> lista(r, repositorio.listarMatriculasPorCurso(
+                        id(r, "cursoId"), matriculaProjecaoService.disponivel()), MatriculaDTO.class))
+                .onError(ResourceNotFoundException.class, (ex, r) -> erro(HttpStatus.NOT_FOUND, ex.getMessage()))
+                .onError(BusinessException.class, (ex, r) -> erro(HttpStatus.BAD_REQUEST, ex.getMessage()))
+                .build();
+    }
+
+    private <T> Mono<ServerResponse> lista(ServerRequest requisicao, Flux<T> itens, Class<T> tipo) {
+        MediaType binario = binario(requisicao);
+        if (binario != null) {
+            // os encoders CBOR e Smile do WebFlux não escrevem Flux: a lista é montada e serializada antes
+            return itens.collectList().flatMap(lista -> binario(binario, lista));
+        }
+        boolean ndjson = requisicao.headers().accept().contains(MediaType.APPLICATION_NDJSON);
+        return ServerResponse.ok()
+                .contentType(ndjson ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON)
+                .body(itens, tipo);
+    }
+
+    private <T> Mono<ServerResponse> item(ServerRequest requisicao, String entidade, Long id,
+                                          Function<Long, Mono<T>> busca) {
+        MediaType binario = binario(requisicao);
+        return busca.apply(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException(entidade, id)))
+                .flatMap(valor -> binario != null
+                        ? binario(binario, valor)
+                        : ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(valor));
+    }
+
+    /**
+     * Serializa com o mapper do conversor da API servlet (ver JacksonConfig).
+     */
+    private Mono<ServerResponse> binario(MediaType formato, Object valor) {
+        ObjectMapper mapper = MediaType.APPLICATION_CBOR.equals(formato) ? cbor.getObjectMapper() : smile.getObjectMapper();
+        return Mono.fromCallable(() -> mapper.writeValueAsBytes(valor))
+                .flatMap(corpo -> ServerResponse.ok().contentType(formato).bodyValue(corpo));
+    }
+
+    /**
+     * CBOR ou Smile, se pedido no Accept; null para JSON.
+     */
+    private static MediaType binario(ServerRequest requisicao) {
+        for (MediaType aceito : requisicao.headers().accept()) {
+            if (aceito.getQualityValue() > 0 && aceito.equalsTypeAndSubtype(MediaType.APPLICATION_CBOR)) {
+                return MediaType.APPLICATION_CBOR;
+            }
+            if (aceito.getQualityValue() > 0 && aceito.equalsTypeAndSubtype(JacksonConfig.SMILE)) {
+                return JacksonConfig.SMILE;
+            }
+        }
+        return null;
+    }
+
+    private static Mono<ServerResponse> erro(HttpStatus status, String mensagem) {
+        return ServerResponse.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new ErrorResponse(status.value(), mensagem, LocalDateTime.now()));
+    }
+
+    private static Long id(ServerRequest requisicao, String variavel) {
+        return Long.valueOf(requisicao.pathVariable(variavel));
+    }
+
+    /**
+     * Erros precisam sair no Mono da resposta: os de onError não pegam exceções lançadas no handler.
+     */
+    private static Mono<String> nome(ServerRequest requisicao) {
+        return Mono.justOrEmpty(requisicao.queryParam("nome"))
+                .switchIfEmpty(Mono.error(() -> new BusinessException("Parâmetro obrigatório: nome")));
+    }
+}
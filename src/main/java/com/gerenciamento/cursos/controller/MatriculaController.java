@@ -1,6 +1,7 @@
 package com.gerenciamento.cursos.controller;
 
 import com.gerenciamento.cursos.dto.MatriculaDTO;
+import com.gerenciamento.cursos.service.MatriculaArquivamentoService;
 import com.gerenciamento.cursos.service.MatriculaService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -19,6 +20,7 @@ import java.util.Map;
 public class MatriculaController {
 
     private final MatriculaService matriculaService;
+    private final MatriculaArquivamentoService matriculaArquivamentoService;
 
     /**
      * Lista todas as matrículas.
@@ -95,4 +97,14 @@ public class MatriculaController {
         List<MatriculaDTO> matriculas = matriculaService.listarMatriculasPorCurso(cursoId);
         return ResponseEntity.ok(matriculas);
     }
+
+    /**
+     * Move para o arquivo as matrículas concluídas antigas (também roda agendado).
+     * POST /api/matriculas/arquivamento (ADMIN)
+     */
+    @PostMapping("/arquivamento")
+    public ResponseEntity<Map<String, Integer>> arquivar() {
+        int arquivadas = matriculaArquivamentoService.arquivar();
+        return ResponseEntity.ok(Map.of("arquivadas", arquivadas));
+    }
 }
@@ -1,11 +1,17 @@
 package com.gerenciamento.cursos.dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.gerenciamento.cursos.config.SparseFieldsAdvice;
 import com.gerenciamento.cursos.model.Aluno;
+import com.gerenciamento.cursos.repository.ProjecaoRepository.Projecao;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.Map;
+
+import static java.util.Map.entry;
 
 /**
  * Data Transfer Object para Aluno.
@@ -13,8 +19,23 @@ import java.time.LocalDateTime;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonFilter(SparseFieldsAdvice.FILTRO)
 public class AlunoDTO {
 
+    /**
+     * Colunas de cada campo para as listagens com ?fields=; as mesmas regras do fromEntity.
+     */
+    public static final Projecao<AlunoDTO> PROJECAO = new Projecao<>(AlunoDTO::new, "Aluno a", Map.ofEntries(
+            entry("id", "a.id"),
+            entry("nome", "a.nome"),
+            entry("email", "a.email"),
+            entry("cpf", "a.cpf"),
+            entry("telefone", "a.telefone"),
+            entry("ativo", "a.ativo"),
+            entry("dataCadastro", "a.dataCadastro"),
+            entry("totalCursos", "size(a.matriculas)"),
+            entry("progressoMedio", "coalesce((SELECT avg(m.progresso) FROM Matricula m WHERE m.aluno = a), 0.0)")));
+
     private Long id;
     private String nome;
     private String email;
@@ -1,11 +1,17 @@
 package com.gerenciamento.cursos.dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.gerenciamento.cursos.config.SparseFieldsAdvice;
 import com.gerenciamento.cursos.model.Curso;
+import com.gerenciamento.cursos.repository.ProjecaoRepository.Projecao;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.Map;
+
+import static java.util.Map.entry;
 
 /**
  * Data Transfer Object para Curso.
@@ -14,8 +20,25 @@ import java.time.LocalDateTime;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonFilter(SparseFieldsAdvice.FILTRO)
 public class CursoDTO {
 
+    /**
+     * Colunas de cada campo para as listagens com ?fields=; as mesmas regras do fromEntity.
+     */
+    public static final Projecao<CursoDTO> PROJECAO = new Projecao<>(CursoDTO::new, "Curso c", Map.ofEntries(
+            entry("id", "c.id"),
+            entry("nome", "c.nome"),
+            entry("descricao", "c.descricao"),
+            entry("cargaHoraria", "c.cargaHoraria"),
+            entry("vagas", "c.vagas"),
+            entry("vagasDisponiveis", "c.vagasDisponiveis"),
+            entry("ativo", "c.ativo"),
+            entry("professorId", "c.professor.id"),
+            entry("professorNome", "c.professor.nome"),
+            entry("dataCriacao", "c.dataCriacao"),
+            entry("totalMatriculas", "size(c.matriculas)")));
+
     private Long id;
     private String nome;
     private String descricao;
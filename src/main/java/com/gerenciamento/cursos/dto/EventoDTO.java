@@ -0,0 +1,40 @@
+package com.gerenciamento.cursos.dto;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.gerenciamento.cursos.config.SparseFieldsAdvice;
+import com.gerenciamento.cursos.model.EventoOutbox;
+import com.gerenciamento.cursos.model.EventoOutbox.TipoEvento;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento publicado no stream. Consumidores guardam a última posição processada
+ * e retomam a partir dela; a entrega é at-least-once, então posições repetidas devem ser ignoradas.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonFilter(SparseFieldsAdvice.FILTRO)
+public class EventoDTO {
+
+    private Long posicao;
+    private TipoEvento tipo;
+    private String agregado;
+    private Long agregadoId;
+    private LocalDateTime criadoEm;
+
+    @JsonRawValue
+    private String dados;
+
+    /**
+     * Converte entidade EventoOutbox para DTO.
+     */
+    public static EventoDTO fromEntity(EventoOutbox evento) {
+        return new EventoDTO(evento.getPosicao(), evento.getTipo(), evento.getAgregado(),
+                evento.getAgregadoId(), evento.getCriadoEm(), evento.getDados());
+    }
+}
@@ -0,0 +1,52 @@
+package com.gerenciamento.cursos.dto;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.gerenciamento.cursos.config.SparseFieldsAdvice;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Data Transfer Object com o andamento de uma importação de alunos via CSV.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonFilter(SparseFieldsAdvice.FILTRO)
+public class ImportacaoAlunosDTO {
+
+    private String id;
+    private StatusImportacao status;
+    private Integer totalLinhas;
+    private Integer linhasProcessadas;
+    private Integer importados;
+    private Integer totalErros;
+    private Double percentual;
+    private List<ErroLinha> erros; // limitado às primeiras ocorrências
+    private LocalDateTime inicio;
+    private LocalDateTime fim;
+
+    /**
+     * Erro de validação ou persistência de uma linha do arquivo.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ErroLinha {
+        private Integer linha;
+        private String mensagem;
+    }
+
+    /**
+     * Enum para representar o status da importação.
+     */
+    public enum StatusImportacao {
+        AGUARDANDO,
+        PROCESSANDO,
+        CONCLUIDA,
+        FALHOU
+    }
+}
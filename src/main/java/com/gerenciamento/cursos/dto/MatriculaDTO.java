@@ -1,6 +1,10 @@
 package com.gerenciamento.cursos.dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.gerenciamento.cursos.config.SparseFieldsAdvice;
 import com.gerenciamento.cursos.model.Matricula;
+import com.gerenciamento.cursos.model.MatriculaArquivada;
+import com.gerenciamento.cursos.model.MatriculaView;
 import com.gerenciamento.cursos.model.Matricula.StatusMatricula;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -14,6 +18,7 @@ import java.time.LocalDateTime;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonFilter(SparseFieldsAdvice.FILTRO)
 public class MatriculaDTO {
 
     private Long id;
@@ -25,6 +30,7 @@ public class MatriculaDTO {
     private Double progresso;
     private LocalDateTime dataMatricula;
     private LocalDateTime dataConclusao;
+    private Boolean arquivada; // presente apenas no histórico
 
     /**
      * Converte entidade Matrícula para DTO.
@@ -42,4 +48,39 @@ public class MatriculaDTO {
         dto.setDataConclusao(matricula.getDataConclusao());
         return dto;
     }
+
+    /**
+     * Converte matrícula arquivada para DTO.
+     */
+    public static MatriculaDTO fromEntity(MatriculaArquivada matricula) {
+        MatriculaDTO dto = new MatriculaDTO();
+        dto.setId(matricula.getId());
+        dto.setAlunoId(matricula.getAluno().getId());
+        dto.setAlunoNome(matricula.getAluno().getNome());
+        dto.setCursoId(matricula.getCurso().getId());
+        dto.setCursoNome(matricula.getCurso().getNome());
+        dto.setStatus(matricula.getStatus());
+        dto.setProgresso(matricula.getProgresso());
+        dto.setDataMatricula(matricula.getDataMatricula());
+        dto.setDataConclusao(matricula.getDataConclusao());
+        dto.setArquivada(true);
+        return dto;
+    }
+
+    /**
+     * Converte linha do modelo de leitura para DTO.
+     */
+    public static MatriculaDTO fromEntity(MatriculaView matricula) {
+        MatriculaDTO dto = new MatriculaDTO();
+        dto.setId(matricula.getId());
+        dto.setAlunoId(matricula.getAlunoId());
+        dto.setAlunoNome(matricula.getAlunoNome());
+        dto.setCursoId(matricula.getCursoId());
+        dto.setCursoNome(matricula.getCursoNome());
+        dto.setStatus(matricula.getStatus());
+        dto.setProgresso(matricula.getProgresso());
+        dto.setDataMatricula(matricula.getDataMatricula());
+        dto.setDataConclusao(matricula.getDataConclusao());
+        return dto;
+    }
 }
@@ -0,0 +1,19 @@
+package com.gerenciamento.cursos.exception;
+
+/**
+ * Exceção lançada quando um recurso interno está saturado e a requisição
+ * deve ser descartada rapidamente (HTTP 503) em vez de enfileirada.
+ */
+public class ServiceUnavailableException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceUnavailableException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
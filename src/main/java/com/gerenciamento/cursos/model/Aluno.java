@@ -23,9 +23,14 @@ import java.util.List;
 public class Aluno {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "alunos_seq")
+    @SequenceGenerator(name = "alunos_seq", sequenceName = "alunos_seq", allocationSize = 50)
     private Long id;
 
+    @Version
+    @Column(nullable = false)
+    private Long versao;
+
     @NotBlank(message = "Nome é obrigatório")
     @Column(nullable = false, length = 200)
     private String nome;
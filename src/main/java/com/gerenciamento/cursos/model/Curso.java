@@ -24,9 +24,14 @@ import java.util.List;
 public class Curso {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cursos_seq")
+    @SequenceGenerator(name = "cursos_seq", sequenceName = "cursos_seq", allocationSize = 50)
     private Long id;
 
+    @Version
+    @Column(nullable = false)
+    private Long versao;
+
     @NotBlank(message = "Nome do curso é obrigatório")
     @Column(nullable = false, length = 200)
     private String nome;
@@ -0,0 +1,77 @@
+package com.gerenciamento.cursos.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento de domínio gravado no outbox, na mesma transação da alteração que o gerou.
+ * A posição (offset do stream) é atribuída depois, pelo relay, na ordem de publicação.
+ */
+@Entity
+@Table(name = "eventos_outbox")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventoOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "eventos_outbox_seq")
+    @SequenceGenerator(name = "eventos_outbox_seq", sequenceName = "eventos_outbox_seq", allocationSize = 1)
+    private Long id;
+
+    @Column(unique = true)
+    private Long posicao;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 60)
+    private TipoEvento tipo;
+
+    @Column(nullable = false, length = 30)
+    private String agregado;
+
+    @Column(name = "agregado_id", nullable = false)
+    private Long agregadoId;
+
+    @Column(nullable = false, length = 8000)
+    private String dados;
+
+    @Column(name = "criado_em", nullable = false)
+    private LocalDateTime criadoEm;
+
+    @PrePersist
+    protected void onCreate() {
+        criadoEm = LocalDateTime.now();
+    }
+
+    /**
+     * Tipos de evento publicados, com o agregado a que se referem.
+     */
+    public enum TipoEvento {
+        MATRICULA_CRIADA("Matricula"),
+        MATRICULA_CANCELADA("Matricula"),
+        MATRICULA_REATIVADA("Matricula"),
+        MATRICULA_PROGRESSO_ATUALIZADO("Matricula"),
+        MATRICULA_CONCLUIDA("Matricula"),
+        CURSO_CRIADO("Curso"),
+        CURSO_ATUALIZADO("Curso"),
+        CURSO_DESATIVADO("Curso"),
+        ALUNO_CRIADO("Aluno"),
+        ALUNO_ATUALIZADO("Aluno"),
+        ALUNO_DESATIVADO("Aluno"),
+        USUARIO_ATUALIZADO("Usuario");
+
+        private final String agregado;
+
+        TipoEvento(String agregado) {
+            this.agregado = agregado;
+        }
+
+        public String getAgregado() {
+            return agregado;
+        }
+    }
+}
@@ -24,9 +24,14 @@ import java.time.LocalDateTime;
 public class Matricula {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "matriculas_seq")
+    @SequenceGenerator(name = "matriculas_seq", sequenceName = "matriculas_seq", allocationSize = 50)
     private Long id;
 
+    @Version
+    @Column(nullable = false)
+    private Long versao;
+
     @NotNull(message = "Aluno é obrigatório")
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "aluno_id", nullable = false)
@@ -0,0 +1,53 @@
+package com.gerenciamento.cursos.model;
+
+import com.gerenciamento.cursos.model.Matricula.StatusMatricula;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Matrícula encerrada (concluída ou cancelada) movida para o arquivo.
+ * Somente leitura: as linhas são gravadas pelo arquivamento, nunca pela aplicação.
+ */
+@Entity
+@Immutable
+@Table(name = "matriculas_arquivo")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MatriculaArquivada {
+
+    @Id
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "aluno_id", nullable = false)
+    private Aluno aluno;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "curso_id", nullable = false)
+    private Curso curso;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private StatusMatricula status;
+
+    @Column(nullable = false)
+    private Double progresso;
+
+    @Column(name = "data_matricula", nullable = false)
+    private LocalDateTime dataMatricula;
+
+    @Column(name = "data_conclusao")
+    private LocalDateTime dataConclusao;
+
+    @Column(name = "data_atualizacao")
+    private LocalDateTime dataAtualizacao;
+
+    @Column(name = "data_arquivamento", nullable = false)
+    private LocalDateTime dataArquivamento;
+}
@@ -0,0 +1,63 @@
+package com.gerenciamento.cursos.model;
+
+import com.gerenciamento.cursos.model.Matricula.StatusMatricula;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Linha do modelo de leitura de matrículas (desnormalizado, sem associações).
+ * Somente leitura: mantida pela projeção a partir dos eventos do outbox.
+ */
+@Entity
+@Immutable
+@Table(name = "matricula_view")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MatriculaView {
+
+    @Id
+    private Long id;
+
+    @Column(name = "aluno_id", nullable = false)
+    private Long alunoId;
+
+    @Column(name = "aluno_nome", nullable = false, length = 200)
+    private String alunoNome;
+
+    @Column(name = "aluno_email", nullable = false, length = 200)
+    private String alunoEmail;
+
+    @Column(name = "curso_id", nullable = false)
+    private Long cursoId;
+
+    @Column(name = "curso_nome", nullable = false, length = 200)
+    private String cursoNome;
+
+    @Column(name = "professor_id", nullable = false)
+    private Long professorId;
+
+    @Column(name = "professor_nome", nullable = false, length = 200)
+    private String professorNome;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private StatusMatricula status;
+
+    @Column(nullable = false)
+    private Double progresso;
+
+    @Column(name = "data_matricula", nullable = false)
+    private LocalDateTime dataMatricula;
+
+    @Column(name = "data_conclusao")
+    private LocalDateTime dataConclusao;
+
+    @Column(name = "projetado_em", nullable = false)
+    private LocalDateTime projetadoEm;
+}
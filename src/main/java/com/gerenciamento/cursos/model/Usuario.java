@@ -1,5 +1,7 @@
 package com.gerenciamento.cursos.model;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.gerenciamento.cursos.config.SparseFieldsAdvice;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -18,12 +20,18 @@ import java.time.LocalDateTime;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonFilter(SparseFieldsAdvice.FILTRO)
 public class Usuario {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "usuarios_seq")
+    @SequenceGenerator(name = "usuarios_seq", sequenceName = "usuarios_seq", allocationSize = 50)
     private Long id;
 
+    @Version
+    @Column(nullable = false)
+    private Long versao;
+
     @NotBlank(message = "Nome é obrigatório")
     @Column(nullable = false, length = 200)
     private String nome;
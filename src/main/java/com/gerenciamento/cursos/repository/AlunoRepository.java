@@ -2,6 +2,7 @@ package com.gerenciamento.cursos.repository;
 
 import com.gerenciamento.cursos.model.Aluno;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -42,4 +43,16 @@ public interface AlunoRepository extends JpaRepository<Aluno, Long> {
      * Busca alunos por nome (case insensitive).
      */
     List<Aluno> findByNomeContainingIgnoreCase(String nome);
+
+    /**
+     * Lista todos os emails cadastrados (pré-carga da importação em lote).
+     */
+    @Query("SELECT a.email FROM Aluno a")
+    List<String> findAllEmails();
+
+    /**
+     * Lista todos os CPFs cadastrados (pré-carga da importação em lote).
+     */
+    @Query("SELECT a.cpf FROM Aluno a")
+    List<String> findAllCpfs();
 }
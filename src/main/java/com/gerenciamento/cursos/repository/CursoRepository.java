@@ -1,11 +1,14 @@
 package com.gerenciamento.cursos.repository;
 
 import com.gerenciamento.cursos.model.Curso;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository para operações de persistência da entidade Curso.
@@ -39,4 +42,11 @@ public interface CursoRepository extends JpaRepository<Curso, Long> {
      * Conta quantos cursos um professor possui.
      */
     long countByProfessorId(Long professorId);
+
+    /**
+     * Busca o curso com lock de escrita na linha (SELECT ... FOR UPDATE).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Curso c WHERE c.id = :id")
+    Optional<Curso> findByIdParaAtualizacao(Long id);
 }
@@ -0,0 +1,20 @@
+package com.gerenciamento.cursos.repository;
+
+import com.gerenciamento.cursos.model.EventoOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository do outbox de eventos de domínio.
+ */
+@Repository
+public interface EventoOutboxRepository extends JpaRepository<EventoOutbox, Long> {
+
+    /**
+     * Busca os eventos já publicados a partir de uma posição (replay para consumidores).
+     */
+    List<EventoOutbox> findByPosicaoGreaterThanOrderByPosicao(Long posicao, Pageable pageable);
+}
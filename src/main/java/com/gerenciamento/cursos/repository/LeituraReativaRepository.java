@@ -0,0 +1,175 @@
+package com.gerenciamento.cursos.repository;
+
+import com.gerenciamento.cursos.dto.AlunoDTO;
+import com.gerenciamento.cursos.dto.CursoDTO;
+import com.gerenciamento.cursos.dto.MatriculaDTO;
+import com.gerenciamento.cursos.model.Matricula.StatusMatricula;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.function.Function;
+
+/**
+ * Consultas da API de leitura reativa (R2DBC), com o mesmo conteúdo dos DTOs montados pelos
+ * serviços JPA. As linhas chegam conforme a demanda do cliente: no PostgreSQL, em lotes de
+ * {@link #TAMANHO_LOTE} pelo cursor do portal.
+ */
+@Repository
+@ConditionalOnProperty(name = "app.reativo.habilitado", havingValue = "true")
+@RequiredArgsConstructor
+public class LeituraReativaRepository {
+
+    static final int TAMANHO_LOTE = 256;
+
+    private static final String CURSOS = "SELECT c.id, c.nome, c.descricao, c.carga_horaria, c.vagas, "
+            + "c.vagas_disponiveis, c.ativo, c.professor_id, u.nome AS professor_nome, c.data_criacao, "
+            + "(SELECT COUNT(*) FROM matriculas m WHERE m.curso_id = c.id) AS total_matriculas "
+            + "FROM cursos c LEFT JOIN usuarios u ON u.id = c.professor_id ";
+
+    private static final String ALUNOS = "SELECT a.id, a.nome, a.email, a.cpf, a.telefone, a.ativo, a.data_cadastro, "
+            + "(SELECT COUNT(*) FROM matriculas m WHERE m.aluno_id = a.id) AS total_cursos, "
+            + "(SELECT COALESCE(AVG(m.progresso), 0) FROM matriculas m WHERE m.aluno_id = a.id) AS progresso_medio "
+            + "FROM alunos a ";
+
+    private static final String MATRICULAS_VIEW = "SELECT id, aluno_id, aluno_nome, curso_id, curso_nome, status, "
+            + "progresso, data_matricula, data_conclusao FROM matricula_view ";
+
+    private static final String MATRICULAS = "SELECT m.id, m.aluno_id, a.nome AS aluno_nome, m.curso_id, "
+            + "c.nome AS curso_nome, m.status, m.progresso, m.data_matricula, m.data_conclusao "
+            + "FROM matriculas m JOIN alunos a ON a.id = m.aluno_id JOIN cursos c ON c.id = m.curso_id ";
+
+    private static final String MATRICULAS_ARQUIVADAS = "SELECT m.id, m.aluno_id, a.nome AS aluno_nome, m.curso_id, "
+            + "c.nome AS curso_nome, m.status, m.progresso, m.data_matricula, m.data_conclusao "
+            + "FROM matriculas_arquivo m JOIN alunos a ON a.id = m.aluno_id JOIN cursos c ON c.id = m.curso_id ";
+
+    private final DatabaseClient databaseClient;
+
+    public Flux<CursoDTO> listarCursos() {
+        return consultar(CURSOS + "WHERE c.ativo = true ORDER BY c.id", this::curso);
+    }
+
+    public Flux<CursoDTO> listarCursosComVagas() {
+        return consultar(CURSOS + "WHERE c.vagas_disponiveis > 0 AND c.ativo = true ORDER BY c.id", this::curso);
+    }
+
+    public Flux<CursoDTO> buscarCursosPorNome(String nome) {
+        return databaseClient.sql(CURSOS + "WHERE UPPER(c.nome) LIKE :padrao ESCAPE '\\' ORDER BY c.id")
+                .bind("padrao", ProjecaoRepository.padraoContendo(nome))
+                .map(this::curso)
+                .all();
+    }
+
+    public Mono<CursoDTO> buscarCurso(Long id) {
+        return databaseClient.sql(CURSOS + "WHERE c.id = :id").bind("id", id).map(this::curso).one();
+    }
+
+    public Flux<AlunoDTO> listarAlunos() {
+        return consultar(ALUNOS + "WHERE a.ativo = true ORDER BY a.id", this::aluno);
+    }
+
+    public Flux<AlunoDTO> buscarAlunosPorNome(String nome) {
+        return databaseClient.sql(ALUNOS + "WHERE UPPER(a.nome) LIKE :padrao ESCAPE '\\' ORDER BY a.id")
+                .bind("padrao", ProjecaoRepository.padraoContendo(nome))
+                .map(this::aluno)
+                .all();
+    }
+
+    public Mono<AlunoDTO> buscarAluno(Long id) {
+        return databaseClient.sql(ALUNOS + "WHERE a.id = :id").bind("id", id).map(this::aluno).one();
+    }
+
+    /**
+     * Matrículas correntes, do modelo de leitura (matricula_view) ou das tabelas de origem.
+     */
+    public Flux<MatriculaDTO> listarMatriculas(boolean modeloDeLeitura) {
+        return consultar((modeloDeLeitura ? MATRICULAS_VIEW + "ORDER BY id" : MATRICULAS + "ORDER BY m.id"),
+                r -> matricula(r, null));
+    }
+
+    /**
+     * Matrículas correntes do aluno seguidas do histórico arquivado.
+     */
+    public Flux<MatriculaDTO> listarMatriculasPorAluno(Long alunoId, boolean modeloDeLeitura) {
+        return Flux.concat(
+                porId(modeloDeLeitura ? MATRICULAS_VIEW + "WHERE aluno_id = :id ORDER BY id"
+                        : MATRICULAS + "WHERE m.aluno_id = :id ORDER BY m.id", alunoId, null),
+                porId(MATRICULAS_ARQUIVADAS + "WHERE m.aluno_id = :id ORDER BY m.id", alunoId, true));
+    }
+
+    /**
+     * Matrículas correntes do curso seguidas do histórico arquivado.
+     */
+    public Flux<MatriculaDTO> listarMatriculasPorCurso(Long cursoId, boolean modeloDeLeitura) {
+        return Flux.concat(
+                porId(modeloDeLeitura ? MATRICULAS_VIEW + "WHERE curso_id = :id ORDER BY id"
+                        : MATRICULAS + "WHERE m.curso_id = :id ORDER BY m.id", cursoId, null),
+                porId(MATRICULAS_ARQUIVADAS + "WHERE m.curso_id = :id ORDER BY m.id", cursoId, true));
+    }
+
+    private <T> Flux<T> consultar(String sql, Function<Readable, T> mapeamento) {
+        return databaseClient.sql(sql)
+                .filter(statement -> statement.fetchSize(TAMANHO_LOTE))
+                .map(mapeamento)
+                .all();
+    }
+
+    private Flux<MatriculaDTO> porId(String sql, Long id, Boolean arquivada) {
+        return databaseClient.sql(sql)
+                .bind("id", id)
+                .filter(statement -> statement.fetchSize(TAMANHO_LOTE))
+                .map(r -> matricula(r, arquivada))
+                .all();
+    }
+
+    private CursoDTO curso(Readable linha) {
+        CursoDTO dto = new CursoDTO();
+        dto.setId(linha.get("id", Long.class));
+        dto.setNome(linha.get("nome", String.class));
+        dto.setDescricao(linha.get("descricao", String.class));
+        dto.setCargaHoraria(linha.get("carga_horaria", Integer.class));
+        dto.setVagas(linha.get("vagas", Integer.class));
+        dto.setVagasDisponiveis(linha.get("vagas_disponiveis", Integer.class));
+        dto.setAtivo(linha.get("ativo", Boolean.class));
+        dto.setProfessorId(linha.get("professor_id", Long.class));
+        dto.setProfessorNome(linha.get("professor_nome", String.class));
+        dto.setDataCriacao(linha.get("data_criacao", LocalDateTime.class));
+        dto.setTotalMatriculas(linha.get("total_matriculas", Number.class).intValue());
+        return dto;
+    }
+
+    private AlunoDTO aluno(Readable linha) {
+        AlunoDTO dto = new AlunoDTO();
+        dto.setId(linha.get("id", Long.class));
+        dto.setNome(linha.get("nome", String.class));
+        dto.setEmail(linha.get("email", String.class));
+        dto.setCpf(linha.get("cpf", String.class));
+        dto.setTelefone(linha.get("telefone", String.class));
+        dto.setAtivo(linha.get("ativo", Boolean.class));
+        dto.setDataCadastro(linha.get("data_cadastro", LocalDateTime.class));
+        dto.setTotalCursos(linha.get("total_cursos", Number.class).intValue());
+        // o tipo do AVG varia entre bancos (numeric no PostgreSQL, double/decfloat no H2)
+        dto.setProgressoMedio(linha.get("progresso_medio", Number.class).doubleValue());
+        return dto;
+    }
+
+    private MatriculaDTO matricula(Readable linha, Boolean arquivada) {
+        MatriculaDTO dto = new MatriculaDTO();
+        dto.setId(linha.get("id", Long.class));
+        dto.setAlunoId(linha.get("aluno_id", Long.class));
+        dto.setAlunoNome(linha.get("aluno_nome", String.class));
+        dto.setCursoId(linha.get("curso_id", Long.class));
+        dto.setCursoNome(linha.get("curso_nome", String.class));
+        dto.setStatus(StatusMatricula.valueOf(linha.get("status", String.class)));
+        dto.setProgresso(linha.get("progresso", Double.class));
+        dto.setDataMatricula(linha.get("data_matricula", LocalDateTime.class));
+        dto.setDataConclusao(linha.get("data_conclusao", LocalDateTime.class));
+        dto.setArquivada(arquivada);
+        return dto;
+    }
+}
@@ -0,0 +1,33 @@
+package com.gerenciamento.cursos.repository;
+
+import com.gerenciamento.cursos.model.Matricula.StatusMatricula;
+import com.gerenciamento.cursos.model.MatriculaArquivada;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository (somente leitura) do arquivo de matrículas concluídas.
+ */
+@Repository
+public interface MatriculaArquivadaRepository extends JpaRepository<MatriculaArquivada, Long> {
+
+    /**
+     * Busca as matrículas arquivadas de um aluno.
+     */
+    @Query("SELECT m FROM MatriculaArquivada m JOIN FETCH m.aluno JOIN FETCH m.curso WHERE m.aluno.id = :alunoId")
+    List<MatriculaArquivada> findByAlunoId(Long alunoId);
+
+    /**
+     * Busca as matrículas arquivadas de um curso.
+     */
+    @Query("SELECT m FROM MatriculaArquivada m JOIN FETCH m.aluno JOIN FETCH m.curso WHERE m.curso.id = :cursoId")
+    List<MatriculaArquivada> findByCursoId(Long cursoId);
+
+    /**
+     * Verifica se o aluno tem matrícula arquivada no curso com o status informado.
+     */
+    boolean existsByAlunoIdAndCursoIdAndStatus(Long alunoId, Long cursoId, StatusMatricula status);
+}
@@ -0,0 +1,29 @@
+package com.gerenciamento.cursos.repository;
+
+import com.gerenciamento.cursos.model.MatriculaView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository (somente leitura) do modelo de leitura de matrículas.
+ */
+@Repository
+public interface MatriculaViewRepository extends JpaRepository<MatriculaView, Long> {
+
+    /**
+     * Busca todas as matrículas correntes.
+     */
+    List<MatriculaView> findAllByOrderById();
+
+    /**
+     * Busca as matrículas correntes de um aluno.
+     */
+    List<MatriculaView> findByAlunoIdOrderById(Long alunoId);
+
+    /**
+     * Busca as matrículas correntes de um curso.
+     */
+    List<MatriculaView> findByCursoIdOrderById(Long cursoId);
+}
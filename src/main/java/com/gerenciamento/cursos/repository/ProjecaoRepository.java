@@ -0,0 +1,77 @@
+package com.gerenciamento.cursos.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Listagens com só os campos pedidos em ?fields= (ver SparseFieldsAdvice): o SELECT traz apenas
+ * as expressões desses campos, sem carregar a entidade nem as associações que o fromEntity do
+ * DTO percorreria (professor, matrículas). Os demais campos do DTO ficam null e não são serializados.
+ */
+@Repository
+public class ProjecaoRepository {
+
+    /**
+     * Expressão JPQL de cada campo do DTO, sobre a {@code origem} (ex.: "Curso c").
+     * Campos sem expressão (ex.: senha) nunca são carregados.
+     */
+    public record Projecao<T>(Supplier<T> fabrica, String origem, Map<String, String> expressoes) {
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Lista os DTOs com os {@code campos} pedidos que a projeção conhece; sem nenhum, só o id.
+     */
+    public <T> List<T> listar(Projecao<T> projecao, Set<String> campos, String condicao, Map<String, Object> parametros) {
+        List<String> selecionados = projecao.expressoes().keySet().stream()
+                .filter(campos::contains)
+                .sorted()
+                .toList();
+        if (selecionados.isEmpty()) {
+            selecionados = List.of("id");
+        }
+        String jpql = "SELECT " + String.join(", ", selecionados.stream().map(projecao.expressoes()::get).toList())
+                + " FROM " + projecao.origem() + " WHERE " + condicao;
+        TypedQuery<Tuple> consulta = entityManager.createQuery(jpql, Tuple.class);
+        parametros.forEach(consulta::setParameter);
+
+        List<Tuple> linhas = consulta.getResultList();
+        List<T> resultado = new ArrayList<>(linhas.size());
+        for (Tuple linha : linhas) {
+            T dto = projecao.fabrica().get();
+            BeanWrapper propriedades = PropertyAccessorFactory.forBeanPropertyAccess(dto);
+            for (int i = 0; i < selecionados.size(); i++) {
+                propriedades.setPropertyValue(selecionados.get(i), linha.get(i));
+            }
+            resultado.add(dto);
+        }
+        return resultado;
+    }
+
+    /**
+     * Padrão de LIKE '%texto%' em maiúsculas com \, % e _ escapados, para uso com
+     * {@code UPPER(campo) LIKE :padrao ESCAPE '\'}: mesmo resultado dos findByNomeContainingIgnoreCase,
+     * que também comparam com upper() e por isso usam os índices gin (upper(nome) gin_trgm_ops).
+     */
+    public static String padraoContendo(String texto) {
+        String escapado = texto
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escapado.toUpperCase(Locale.ROOT) + "%";
+    }
+}
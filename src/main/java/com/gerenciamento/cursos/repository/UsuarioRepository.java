@@ -3,6 +3,7 @@ package com.gerenciamento.cursos.repository;
 import com.gerenciamento.cursos.model.Usuario;
 import com.gerenciamento.cursos.model.Usuario.TipoUsuario;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -38,4 +39,10 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
      * Busca usuários ativos por tipo.
      */
     List<Usuario> findByTipoAndAtivoTrue(TipoUsuario tipo);
+
+    /**
+     * Lista todos os emails cadastrados (pré-carga da importação em lote).
+     */
+    @Query("SELECT u.email FROM Usuario u")
+    List<String> findAllEmails();
 }
@@ -0,0 +1,473 @@
+package com.gerenciamento.cursos.service;
+
+import com.gerenciamento.cursos.config.OffloadedPasswordEncoder;
+import com.gerenciamento.cursos.dto.AlunoDTO;
+import com.gerenciamento.cursos.dto.ImportacaoAlunosDTO;
+import com.gerenciamento.cursos.dto.ImportacaoAlunosDTO.ErroLinha;
+import com.gerenciamento.cursos.dto.ImportacaoAlunosDTO.StatusImportacao;
+import com.gerenciamento.cursos.exception.BusinessException;
+import com.gerenciamento.cursos.exception.ResourceNotFoundException;
+import com.gerenciamento.cursos.exception.ServiceUnavailableException;
+import com.gerenciamento.cursos.model.EventoOutbox.TipoEvento;
+import com.gerenciamento.cursos.model.Usuario;
+import com.gerenciamento.cursos.repository.AlunoRepository;
+import com.gerenciamento.cursos.repository.UsuarioRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Stream;
+
+/**
+ * Service responsável pela importação em lote de alunos a partir de CSV.
+ * Lê o arquivo em streaming, valida unicidade contra conjuntos pré-carregados,
+ * calcula os hashes das senhas em paralelo e grava alunos e usuários em lotes JDBC.
+ */
+@Service
+@Slf4j
+public class AlunoImportacaoService {
+
+    private static final String SENHA_PADRAO = "aluno123";
+    private static final int MAX_ERROS_DETALHADOS = 1000;
+    private static final Duration RETENCAO_JOBS = Duration.ofHours(1);
+
+    // Mesmo allocationSize dos @SequenceGenerator das entidades
+    private static final int TAMANHO_POOL_IDS = 50;
+
+    private static final String INSERT_ALUNO =
+            "INSERT INTO alunos (id, nome, email, cpf, telefone, ativo, data_cadastro, data_atualizacao) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_USUARIO =
+            "INSERT INTO usuarios (id, nome, email, senha, tipo, ativo, data_cadastro, data_atualizacao) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final AlunoRepository alunoRepository;
+    private final UsuarioRepository usuarioRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxService outboxService;
+    private final PasswordEncoder passwordEncoder;
+    private final ExecutorService importacaoExecutor;
+    private final ExecutorService importacaoHashingExecutor;
+    private final int tamanhoLote;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    public AlunoImportacaoService(AlunoRepository alunoRepository,
+                                  UsuarioRepository usuarioRepository,
+                                  JdbcTemplate jdbcTemplate,
+                                  TransactionTemplate transactionTemplate,
+                                  OutboxService outboxService,
+                                  PasswordEncoder passwordEncoder,
+                                  ExecutorService importacaoExecutor,
+                                  ExecutorService importacaoHashingExecutor,
+                                  @Value("${app.importacao.tamanho-lote:1000}") int tamanhoLote) {
+        this.alunoRepository = alunoRepository;
+        this.usuarioRepository = usuarioRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.outboxService = outboxService;
+        // O lote já controla o próprio paralelismo; não compete com a fila do login
+        this.passwordEncoder = passwordEncoder instanceof OffloadedPasswordEncoder offloaded
+                ? offloaded.getDelegate()
+                : passwordEncoder;
+        this.importacaoExecutor = importacaoExecutor;
+        this.importacaoHashingExecutor = importacaoHashingExecutor;
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    /**
+     * Recebe o arquivo CSV e agenda a importação. Retorna imediatamente com o id do job.
+     * Colunas aceitas no cabeçalho: nome, email, cpf, telefone, senha (separador "," ou ";").
+     */
+    public ImportacaoAlunosDTO iniciar(MultipartFile arquivo) {
+        if (arquivo == null || arquivo.isEmpty()) {
+            throw new BusinessException("Arquivo CSV é obrigatório");
+        }
+        removerJobsAntigos();
+
+        Path temporario;
+        try {
+            // O multipart é descartado ao fim da requisição; o processamento é assíncrono
+            temporario = Files.createTempFile("importacao-alunos-", ".csv");
+            arquivo.transferTo(temporario);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Falha ao receber arquivo de importação", ex);
+        }
+
+        Job job = new Job(UUID.randomUUID().toString());
+        jobs.put(job.id, job);
+        try {
+            importacaoExecutor.submit(() -> processar(job, temporario));
+        } catch (RejectedExecutionException ex) {
+            jobs.remove(job.id);
+            apagar(temporario);
+            throw new ServiceUnavailableException("Há importações demais em andamento, tente novamente mais tarde", 30);
+        }
+
+        log.info("Importação de alunos {} agendada ({} bytes)", job.id, arquivo.getSize());
+        return job.snapshot();
+    }
+
+    /**
+     * Consulta o andamento de uma importação.
+     */
+    public ImportacaoAlunosDTO buscarStatus(String id) {
+        Job job = jobs.get(id);
+        if (job == null) {
+            throw new ResourceNotFoundException("Importação " + id + " não encontrada");
+        }
+        return job.snapshot();
+    }
+
+    private void processar(Job job, Path arquivo) {
+        try {
+            job.iniciar(contarLinhasDeDados(arquivo));
+            log.info("Importação {} iniciada: {} linhas", job.id, job.totalLinhas);
+
+            Set<String> emailsAlunos = new HashSet<>(alunoRepository.findAllEmails());
+            Set<String> cpfs = new HashSet<>(alunoRepository.findAllCpfs());
+            Set<String> emailsUsuarios = new HashSet<>(usuarioRepository.findAllEmails());
+            String hashSenhaPadrao = passwordEncoder.encode(SENHA_PADRAO);
+
+            try (BufferedReader reader = Files.newBufferedReader(arquivo, StandardCharsets.UTF_8)) {
+                String cabecalho = reader.readLine();
+                if (cabecalho == null) {
+                    throw new BusinessException("Arquivo CSV vazio");
+                }
+                char separador = cabecalho.indexOf(';') >= 0 && cabecalho.indexOf(',') < 0 ? ';' : ',';
+                Map<String, Integer> colunas = mapearColunas(cabecalho, separador);
+
+                List<LinhaImportacao> lote = new ArrayList<>(tamanhoLote);
+                String linha;
+                int numero = 1;
+                while ((linha = reader.readLine()) != null) {
+                    numero++;
+                    if (linha.isBlank()) {
+                        continue;
+                    }
+                    try {
+                        LinhaImportacao registro = lerLinha(numero, linha, separador, colunas);
+                        AlunoService.validarDadosAluno(registro.aluno);
+                        if (!emailsAlunos.add(registro.aluno.getEmail())) {
+                            throw new BusinessException("Email já cadastrado");
+                        }
+                        if (!cpfs.add(registro.aluno.getCpf())) {
+                            emailsAlunos.remove(registro.aluno.getEmail());
+                            throw new BusinessException("CPF já cadastrado");
+                        }
+                        registro.criarUsuario = emailsUsuarios.add(registro.aluno.getEmail());
+                        lote.add(registro);
+                    } catch (BusinessException ex) {
+                        job.registrarErro(numero, ex.getMessage());
+                        job.avancar(1, 0);
+                    }
+
+                    if (lote.size() >= tamanhoLote) {
+                        gravarLote(job, lote, hashSenhaPadrao);
+                        lote = new ArrayList<>(tamanhoLote);
+                    }
+                }
+                gravarLote(job, lote, hashSenhaPadrao);
+            }
+
+            job.finalizar(StatusImportacao.CONCLUIDA);
+            log.info("Importação {} concluída: {} importados, {} erros", job.id, job.importados, job.totalErros);
+        } catch (Exception ex) {
+            log.error("Importação {} falhou", job.id, ex);
+            job.registrarErro(0, "Falha na importação: " + ex.getMessage());
+            job.finalizar(StatusImportacao.FALHOU);
+        } finally {
+            apagar(arquivo);
+        }
+    }
+
+    /**
+     * Calcula os hashes das senhas informadas em paralelo e grava o lote
+     * (alunos e usuários) em uma única transação com batch JDBC.
+     * Se o lote falhar (ex.: unicidade violada por um cadastro concorrente),
+     * as linhas são regravadas individualmente para identificar as com erro.
+     */
+    private void gravarLote(Job job, List<LinhaImportacao> lote, String hashSenhaPadrao)
+            throws InterruptedException, ExecutionException {
+        if (lote.isEmpty()) {
+            return;
+        }
+
+        List<Future<?>> hashes = new ArrayList<>();
+        for (LinhaImportacao registro : lote) {
+            if (!registro.criarUsuario) {
+                continue;
+            }
+            String senha = registro.aluno.getSenha();
+            if (senha == null || senha.isEmpty()) {
+                registro.hashSenha = hashSenhaPadrao;
+            } else {
+                hashes.add(importacaoHashingExecutor.submit(() -> {
+                    registro.hashSenha = passwordEncoder.encode(senha);
+                }));
+            }
+        }
+        for (Future<?> hash : hashes) {
+            hash.get();
+        }
+
+        Timestamp agora = Timestamp.valueOf(LocalDateTime.now());
+        try {
+            transactionTemplate.executeWithoutResult(status -> inserir(lote, agora));
+            job.avancar(lote.size(), lote.size());
+        } catch (DataAccessException ex) {
+            log.warn("Lote da importação {} falhou, gravando linha a linha: {}", job.id, ex.getMessage());
+            int gravados = 0;
+            for (LinhaImportacao registro : lote) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> inserir(List.of(registro), agora));
+                    gravados++;
+                } catch (DataAccessException erro) {
+                    job.registrarErro(registro.numero, "Erro ao gravar: email ou CPF já cadastrado");
+                }
+            }
+            job.avancar(lote.size(), gravados);
+        }
+    }
+
+    private void inserir(List<LinhaImportacao> lote, Timestamp agora) {
+        Iterator<Long> idsAlunos = alocarIds("alunos_seq", lote.size());
+        jdbcTemplate.batchUpdate(INSERT_ALUNO, lote, lote.size(), (ps, registro) -> {
+            AlunoDTO aluno = registro.aluno;
+            registro.id = idsAlunos.next();
+            ps.setLong(1, registro.id);
+            ps.setString(2, aluno.getNome());
+            ps.setString(3, aluno.getEmail());
+            ps.setString(4, aluno.getCpf());
+            ps.setString(5, aluno.getTelefone());
+            ps.setBoolean(6, true);
+            ps.setTimestamp(7, agora);
+            ps.setTimestamp(8, agora);
+        });
+
+        List<LinhaImportacao> comUsuario = lote.stream().filter(r -> r.criarUsuario).toList();
+        Iterator<Long> idsUsuarios = alocarIds("usuarios_seq", comUsuario.size());
+        jdbcTemplate.batchUpdate(INSERT_USUARIO, comUsuario, comUsuario.size(), (ps, registro) -> {
+            AlunoDTO aluno = registro.aluno;
+            ps.setLong(1, idsUsuarios.next());
+            ps.setString(2, aluno.getNome());
+            ps.setString(3, aluno.getEmail());
+            ps.setString(4, registro.hashSenha);
+            ps.setString(5, Usuario.TipoUsuario.ALUNO.name());
+            ps.setBoolean(6, true);
+            ps.setTimestamp(7, agora);
+            ps.setTimestamp(8, agora);
+        });
+
+        Map<Long, AlunoDTO> eventos = new LinkedHashMap<>();
+        for (LinhaImportacao registro : lote) {
+            AlunoDTO aluno = registro.aluno;
+            eventos.put(registro.id, new AlunoDTO(registro.id, aluno.getNome(), aluno.getEmail(), aluno.getCpf(),
+                    aluno.getTelefone(), null, true, agora.toLocalDateTime(), 0, 0.0));
+        }
+        outboxService.registrarTodos(TipoEvento.ALUNO_CRIADO, eventos);
+    }
+
+    /**
+     * Reserva IDs na sequence em blocos, com a mesma semântica do otimizador "pooled"
+     * do Hibernate: cada nextval V reserva o intervalo [V - 49, V], sem colidir com os
+     * blocos reservados pelas entidades.
+     */
+    private Iterator<Long> alocarIds(String sequence, int quantidade) {
+        List<Long> ids = new ArrayList<>(quantidade);
+        while (ids.size() < quantidade) {
+            Long valor = jdbcTemplate.queryForObject("SELECT nextval('" + sequence + "')", Long.class);
+            if (valor == null || valor < TAMANHO_POOL_IDS) {
+                // Valor inicial da sequence não tem um bloco completo abaixo dele
+                continue;
+            }
+            for (long id = valor - TAMANHO_POOL_IDS + 1; id <= valor && ids.size() < quantidade; id++) {
+                ids.add(id);
+            }
+        }
+        return ids.iterator();
+    }
+
+    private Map<String, Integer> mapearColunas(String cabecalho, char separador) {
+        List<String> nomes = dividir(cabecalho.replace("\uFEFF", ""), separador);
+        Map<String, Integer> colunas = new HashMap<>();
+        for (int i = 0; i < nomes.size(); i++) {
+            colunas.put(nomes.get(i).trim().toLowerCase(), i);
+        }
+        for (String obrigatoria : List.of("nome", "email", "cpf")) {
+            if (!colunas.containsKey(obrigatoria)) {
+                throw new BusinessException("Coluna obrigatória ausente no cabeçalho: " + obrigatoria);
+            }
+        }
+        return colunas;
+    }
+
+    private LinhaImportacao lerLinha(int numero, String linha, char separador, Map<String, Integer> colunas) {
+        List<String> campos = dividir(linha, separador);
+        AlunoDTO aluno = new AlunoDTO();
+        aluno.setNome(campo(campos, colunas, "nome"));
+        aluno.setEmail(campo(campos, colunas, "email"));
+        String cpf = campo(campos, colunas, "cpf");
+        aluno.setCpf(cpf != null ? cpf.replaceAll("[.\\-\\s]", "") : null);
+        aluno.setTelefone(campo(campos, colunas, "telefone"));
+        aluno.setSenha(campo(campos, colunas, "senha"));
+        return new LinhaImportacao(numero, aluno);
+    }
+
+    private static String campo(List<String> campos, Map<String, Integer> colunas, String nome) {
+        Integer indice = colunas.get(nome);
+        if (indice == null || indice >= campos.size()) {
+            return null;
+        }
+        String valor = campos.get(indice).trim();
+        return valor.isEmpty() ? null : valor;
+    }
+
+    /**
+     * Divide uma linha CSV respeitando campos entre aspas e aspas duplicadas ("").
+     */
+    static List<String> dividir(String linha, char separador) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder atual = new StringBuilder();
+        boolean entreAspas = false;
+        for (int i = 0; i < linha.length(); i++) {
+            char c = linha.charAt(i);
+            if (entreAspas) {
+                if (c == '"' && i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+                    atual.append('"');
+                    i++;
+                } else if (c == '"') {
+                    entreAspas = false;
+                } else {
+                    atual.append(c);
+                }
+            } else if (c == '"') {
+                entreAspas = true;
+            } else if (c == separador) {
+                campos.add(atual.toString());
+                atual.setLength(0);
+            } else {
+                atual.append(c);
+            }
+        }
+        campos.add(atual.toString());
+        return campos;
+    }
+
+    private static int contarLinhasDeDados(Path arquivo) throws IOException {
+        try (Stream<String> linhas = Files.lines(arquivo, StandardCharsets.UTF_8)) {
+            return (int) Math.max(0, linhas.filter(l -> !l.isBlank()).count() - 1);
+        }
+    }
+
+    private void removerJobsAntigos() {
+        LocalDateTime limite = LocalDateTime.now().minus(RETENCAO_JOBS);
+        jobs.values().removeIf(job -> job.concluidoAntesDe(limite));
+    }
+
+    private static void apagar(Path arquivo) {
+        try {
+            Files.deleteIfExists(arquivo);
+        } catch (IOException ex) {
+            log.warn("Não foi possível remover arquivo temporário {}", arquivo);
+        }
+    }
+
+    /**
+     * Linha válida aguardando gravação.
+     */
+    private static class LinhaImportacao {
+        private final int numero;
+        private final AlunoDTO aluno;
+        private Long id;
+        private boolean criarUsuario;
+        private volatile String hashSenha;
+
+        LinhaImportacao(int numero, AlunoDTO aluno) {
+            this.numero = numero;
+            this.aluno = aluno;
+        }
+    }
+
+    /**
+     * Estado de uma importação. Escrito pela thread de importação e lido pelas requisições de status.
+     */
+    private static class Job {
+        private final String id;
+        private final LocalDateTime inicio = LocalDateTime.now();
+        private final List<ErroLinha> erros = new ArrayList<>();
+        private StatusImportacao status = StatusImportacao.AGUARDANDO;
+        private int totalLinhas;
+        private int linhasProcessadas;
+        private int importados;
+        private int totalErros;
+        private LocalDateTime fim;
+
+        Job(String id) {
+            this.id = id;
+        }
+
+        synchronized void iniciar(int totalLinhas) {
+            this.totalLinhas = totalLinhas;
+            this.status = StatusImportacao.PROCESSANDO;
+        }
+
+        synchronized void registrarErro(int linha, String mensagem) {
+            totalErros++;
+            if (erros.size() < MAX_ERROS_DETALHADOS) {
+                erros.add(new ErroLinha(linha, mensagem));
+            }
+        }
+
+        synchronized void avancar(int processadas, int gravados) {
+            linhasProcessadas += processadas;
+            importados += gravados;
+        }
+
+        synchronized void finalizar(StatusImportacao statusFinal) {
+            status = statusFinal;
+            fim = LocalDateTime.now();
+        }
+
+        synchronized boolean concluidoAntesDe(LocalDateTime limite) {
+            return fim != null && fim.isBefore(limite);
+        }
+
+        synchronized ImportacaoAlunosDTO snapshot() {
+            double percentual = totalLinhas == 0
+                    ? (fim != null ? 100.0 : 0.0)
+                    : Math.min(100.0, linhasProcessadas * 100.0 / totalLinhas);
+            return new ImportacaoAlunosDTO(id, status, totalLinhas, linhasProcessadas, importados,
+                    totalErros, percentual, new ArrayList<>(erros), inicio, fim);
+        }
+    }
+}
@@ -1,11 +1,14 @@
 package com.gerenciamento.cursos.service;
 
+import com.gerenciamento.cursos.config.RetryOnConflict;
 import com.gerenciamento.cursos.dto.AlunoDTO;
 import com.gerenciamento.cursos.exception.BusinessException;
 import com.gerenciamento.cursos.exception.ResourceNotFoundException;
 import com.gerenciamento.cursos.model.Aluno;
+import com.gerenciamento.cursos.model.EventoOutbox.TipoEvento;
 import com.gerenciamento.cursos.model.Usuario;
 import com.gerenciamento.cursos.repository.AlunoRepository;
+import com.gerenciamento.cursos.repository.ProjecaoRepository;
 import com.gerenciamento.cursos.repository.UsuarioRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -14,7 +17,11 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import static com.gerenciamento.cursos.config.FlightRecorderEvents.mapearLote;
 
 /**
  * Service responsável pela lógica de negócio de Alunos.
@@ -24,23 +31,41 @@ import java.util.stream.Collectors;
 @Slf4j
 public class AlunoService {
 
+    private static final Pattern EMAIL_PATTERN = Pattern.compile("^[\\w-\\.]+@([\\w-]+\\.)+[\\w-]{2,4}$");
+    private static final Pattern CPF_PATTERN = Pattern.compile("\\d{11}");
+
     private final AlunoRepository alunoRepository;
     private final UsuarioRepository usuarioRepository;
     private final PasswordEncoder passwordEncoder;
+    private final OutboxService outboxService;
+    private final ProjecaoRepository projecaoRepository;
 
     /**
      * Lista todos os alunos ativos.
      */
+    @Transactional(readOnly = true)
     public List<AlunoDTO> listarTodos() {
         log.info("Listando todos os alunos ativos");
-        return alunoRepository.findByAtivoTrue().stream()
-                .map(AlunoDTO::fromEntity)
-                .collect(Collectors.toList());
+        return mapearLote("Aluno", alunoRepository.findByAtivoTrue(), AlunoDTO::fromEntity);
+    }
+
+    /**
+     * Lista os alunos ativos carregando só os campos pedidos (todos, se {@code campos} for null).
+     * Sem totalCursos e progressoMedio, as matrículas nem são consultadas.
+     */
+    @Transactional(readOnly = true)
+    public List<AlunoDTO> listarTodos(Set<String> campos) {
+        if (campos == null || campos.isEmpty()) {
+            return listarTodos();
+        }
+        log.info("Listando todos os alunos ativos, campos: {}", campos);
+        return projecaoRepository.listar(AlunoDTO.PROJECAO, campos, "a.ativo = true", Map.of());
     }
 
     /**
      * Busca aluno por ID.
      */
+    @Transactional(readOnly = true)
     public AlunoDTO buscarPorId(Long id) {
         log.info("Buscando aluno com ID: {}", id);
         Aluno aluno = alunoRepository.findById(id)
@@ -80,13 +105,16 @@ public class AlunoService {
             log.info("Usuário criado automaticamente para o aluno: {}", aluno.getEmail());
         }
         
+        AlunoDTO criado = AlunoDTO.fromEntity(aluno);
+        outboxService.registrar(TipoEvento.ALUNO_CRIADO, aluno.getId(), criado);
         log.info("Aluno criado com sucesso. ID: {}", aluno.getId());
-        return AlunoDTO.fromEntity(aluno);
+        return criado;
     }
 
     /**
      * Atualiza um aluno existente.
      */
+    @RetryOnConflict
     @Transactional
     public AlunoDTO atualizar(Long id, AlunoDTO alunoDTO) {
         log.info("Atualizando aluno ID: {}", id);
@@ -103,14 +131,17 @@ public class AlunoService {
         alunoExistente.setTelefone(alunoDTO.getTelefone());
         
         alunoExistente = alunoRepository.save(alunoExistente);
+        AlunoDTO atualizado = AlunoDTO.fromEntity(alunoExistente);
+        outboxService.registrar(TipoEvento.ALUNO_ATUALIZADO, id, atualizado);
         log.info("Aluno atualizado com sucesso");
         
-        return AlunoDTO.fromEntity(alunoExistente);
+        return atualizado;
     }
 
     /**
      * Desativa um aluno (soft delete).
      */
+    @RetryOnConflict
     @Transactional
     public void deletar(Long id) {
         log.info("Desativando aluno ID: {}", id);
@@ -120,6 +151,7 @@ public class AlunoService {
         
         aluno.setAtivo(false);
         alunoRepository.save(aluno);
+        outboxService.registrar(TipoEvento.ALUNO_DESATIVADO, id, AlunoDTO.fromEntity(aluno));
         
         log.info("Aluno desativado com sucesso");
     }
@@ -127,26 +159,39 @@ public class AlunoService {
     /**
      * Busca alunos por nome.
      */
+    @Transactional(readOnly = true)
     public List<AlunoDTO> buscarPorNome(String nome) {
         log.info("Buscando alunos com nome contendo: {}", nome);
-        return alunoRepository.findByNomeContainingIgnoreCase(nome).stream()
-                .map(AlunoDTO::fromEntity)
-                .collect(Collectors.toList());
+        return mapearLote("Aluno", alunoRepository.findByNomeContainingIgnoreCase(nome), AlunoDTO::fromEntity);
+    }
+
+    /**
+     * Busca alunos por nome carregando só os campos pedidos.
+     */
+    @Transactional(readOnly = true)
+    public List<AlunoDTO> buscarPorNome(String nome, Set<String> campos) {
+        if (campos == null || campos.isEmpty()) {
+            return buscarPorNome(nome);
+        }
+        log.info("Buscando alunos com nome contendo: {}, campos: {}", nome, campos);
+        return projecaoRepository.listar(AlunoDTO.PROJECAO, campos, "upper(a.nome) LIKE :nome ESCAPE '\\'",
+                Map.of("nome", ProjecaoRepository.padraoContendo(nome)));
     }
 
     /**
      * Valida dados do aluno.
+     * Também usado pela importação em lote (AlunoImportacaoService).
      */
-    private void validarDadosAluno(AlunoDTO alunoDTO) {
+    static void validarDadosAluno(AlunoDTO alunoDTO) {
         if (alunoDTO.getNome() == null || alunoDTO.getNome().trim().isEmpty()) {
             throw new BusinessException("Nome do aluno é obrigatório");
         }
         
-        if (alunoDTO.getEmail() == null || !alunoDTO.getEmail().matches("^[\\w-\\.]+@([\\w-]+\\.)+[\\w-]{2,4}$")) {
+        if (alunoDTO.getEmail() == null || !EMAIL_PATTERN.matcher(alunoDTO.getEmail()).matches()) {
             throw new BusinessException("Email inválido");
         }
         
-        if (alunoDTO.getCpf() == null || !alunoDTO.getCpf().matches("\\d{11}")) {
+        if (alunoDTO.getCpf() == null || !CPF_PATTERN.matcher(alunoDTO.getCpf()).matches()) {
             throw new BusinessException("CPF inválido. Deve conter 11 dígitos");
         }
     }
@@ -0,0 +1,55 @@
+package com.gerenciamento.cursos.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gerenciamento.cursos.dto.EventoDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Acrescenta os eventos a um arquivo NDJSON (um evento JSON por linha), para testes locais.
+ * Quem lê o arquivo retoma a partir da última "posicao" processada.
+ */
+@Component
+@ConditionalOnProperty(name = "app.outbox.sink", havingValue = "arquivo")
+public class ArquivoEventoSink implements EventoSink {
+
+    private final Path caminho;
+    private final ObjectMapper objectMapper;
+
+    public ArquivoEventoSink(@Value("${app.outbox.arquivo.caminho:eventos.ndjson}") Path caminho,
+                             ObjectMapper objectMapper) {
+        this.caminho = caminho;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public String getNome() {
+        return "arquivo";
+    }
+
+    @Override
+    public void publicar(List<EventoDTO> eventos) throws IOException {
+        StringBuilder linhas = new StringBuilder();
+        for (EventoDTO evento : eventos) {
+            linhas.append(objectMapper.writeValueAsString(evento)).append('\n');
+        }
+        ByteBuffer conteudo = ByteBuffer.wrap(linhas.toString().getBytes(StandardCharsets.UTF_8));
+        try (FileChannel canal = FileChannel.open(caminho,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            while (conteudo.hasRemaining()) {
+                canal.write(conteudo);
+            }
+            // confirma no disco antes de o relay avançar o cursor
+            canal.force(false);
+        }
+    }
+}
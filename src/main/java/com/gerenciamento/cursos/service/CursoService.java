@@ -1,11 +1,14 @@
 package com.gerenciamento.cursos.service;
 
+import com.gerenciamento.cursos.config.RetryOnConflict;
 import com.gerenciamento.cursos.dto.CursoDTO;
 import com.gerenciamento.cursos.exception.BusinessException;
 import com.gerenciamento.cursos.exception.ResourceNotFoundException;
 import com.gerenciamento.cursos.model.Curso;
+import com.gerenciamento.cursos.model.EventoOutbox.TipoEvento;
 import com.gerenciamento.cursos.model.Usuario;
 import com.gerenciamento.cursos.repository.CursoRepository;
+import com.gerenciamento.cursos.repository.ProjecaoRepository;
 import com.gerenciamento.cursos.repository.UsuarioRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -13,7 +16,10 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
+
+import static com.gerenciamento.cursos.config.FlightRecorderEvents.mapearLote;
 
 /**
  * Service responsável pela lógica de negócio de Cursos.
@@ -26,20 +32,34 @@ public class CursoService {
 
     private final CursoRepository cursoRepository;
     private final UsuarioRepository usuarioRepository;
+    private final OutboxService outboxService;
+    private final ProjecaoRepository projecaoRepository;
 
     /**
      * Lista todos os cursos ativos.
      */
+    @Transactional(readOnly = true)
     public List<CursoDTO> listarTodos() {
         log.info("Listando todos os cursos ativos");
-        return cursoRepository.findByAtivoTrue().stream()
-                .map(CursoDTO::fromEntity)
-                .collect(Collectors.toList());
+        return mapearLote("Curso", cursoRepository.findByAtivoTrue(), CursoDTO::fromEntity);
+    }
+
+    /**
+     * Lista os cursos ativos carregando só os campos pedidos (todos, se {@code campos} for null).
+     */
+    @Transactional(readOnly = true)
+    public List<CursoDTO> listarTodos(Set<String> campos) {
+        if (campos == null || campos.isEmpty()) {
+            return listarTodos();
+        }
+        log.info("Listando todos os cursos ativos, campos: {}", campos);
+        return projecaoRepository.listar(CursoDTO.PROJECAO, campos, "c.ativo = true", Map.of());
     }
 
     /**
      * Busca curso por ID.
      */
+    @Transactional(readOnly = true)
     public CursoDTO buscarPorId(Long id) {
         log.info("Buscando curso com ID: {}", id);
         Curso curso = cursoRepository.findById(id)
@@ -66,14 +86,17 @@ public class CursoService {
         }
         
         curso = cursoRepository.save(curso);
+        CursoDTO criado = CursoDTO.fromEntity(curso);
+        outboxService.registrar(TipoEvento.CURSO_CRIADO, curso.getId(), criado);
         
         log.info("Curso criado com sucesso. ID: {}", curso.getId());
-        return CursoDTO.fromEntity(curso);
+        return criado;
     }
 
     /**
      * Atualiza um curso existente.
      */
+    @RetryOnConflict
     @Transactional
     public CursoDTO atualizar(Long id, CursoDTO cursoDTO) {
         log.info("Atualizando curso ID: {}", id);
@@ -102,14 +125,17 @@ public class CursoService {
         }
         
         cursoExistente = cursoRepository.save(cursoExistente);
+        CursoDTO atualizado = CursoDTO.fromEntity(cursoExistente);
+        outboxService.registrar(TipoEvento.CURSO_ATUALIZADO, id, atualizado);
         log.info("Curso atualizado com sucesso");
         
-        return CursoDTO.fromEntity(cursoExistente);
+        return atualizado;
     }
 
     /**
      * Desativa um curso (soft delete).
      */
+    @RetryOnConflict
     @Transactional
     public void deletar(Long id) {
         log.info("Desativando curso ID: {}", id);
@@ -119,6 +145,7 @@ public class CursoService {
         
         curso.setAtivo(false);
         cursoRepository.save(curso);
+        outboxService.registrar(TipoEvento.CURSO_DESATIVADO, id, CursoDTO.fromEntity(curso));
         
         log.info("Curso desativado com sucesso");
     }
@@ -126,21 +153,44 @@ public class CursoService {
     /**
      * Lista cursos com vagas disponíveis.
      */
+    @Transactional(readOnly = true)
     public List<CursoDTO> listarCursosComVagas() {
         log.info("Listando cursos com vagas disponíveis");
-        return cursoRepository.findCursosComVagas().stream()
-                .map(CursoDTO::fromEntity)
-                .collect(Collectors.toList());
+        return mapearLote("Curso", cursoRepository.findCursosComVagas(), CursoDTO::fromEntity);
+    }
+
+    /**
+     * Lista cursos com vagas disponíveis carregando só os campos pedidos.
+     */
+    @Transactional(readOnly = true)
+    public List<CursoDTO> listarCursosComVagas(Set<String> campos) {
+        if (campos == null || campos.isEmpty()) {
+            return listarCursosComVagas();
+        }
+        log.info("Listando cursos com vagas disponíveis, campos: {}", campos);
+        return projecaoRepository.listar(CursoDTO.PROJECAO, campos, "c.vagasDisponiveis > 0 AND c.ativo = true", Map.of());
     }
 
     /**
      * Busca cursos por nome.
      */
+    @Transactional(readOnly = true)
     public List<CursoDTO> buscarPorNome(String nome) {
         log.info("Buscando cursos com nome contendo: {}", nome);
-        return cursoRepository.findByNomeContainingIgnoreCase(nome).stream()
-                .map(CursoDTO::fromEntity)
-                .collect(Collectors.toList());
+        return mapearLote("Curso", cursoRepository.findByNomeContainingIgnoreCase(nome), CursoDTO::fromEntity);
+    }
+
+    /**
+     * Busca cursos por nome carregando só os campos pedidos.
+     */
+    @Transactional(readOnly = true)
+    public List<CursoDTO> buscarPorNome(String nome, Set<String> campos) {
+        if (campos == null || campos.isEmpty()) {
+            return buscarPorNome(nome);
+        }
+        log.info("Buscando cursos com nome contendo: {}, campos: {}", nome, campos);
+        return projecaoRepository.listar(CursoDTO.PROJECAO, campos, "upper(c.nome) LIKE :nome ESCAPE '\\'",
+                Map.of("nome", ProjecaoRepository.padraoContendo(nome)));
     }
 
     /**
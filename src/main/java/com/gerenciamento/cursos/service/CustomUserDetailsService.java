@@ -1,24 +1,30 @@
 package com.gerenciamento.cursos.service;
 
+import com.gerenciamento.cursos.config.RetryOnConflict;
 import com.gerenciamento.cursos.model.Usuario;
 import com.gerenciamento.cursos.repository.UsuarioRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collections;
 
 /**
  * Serviço de autenticação do Spring Security.
  * Carrega dados do usuário pelo email para autenticação.
+ * Também regrava o hash da senha quando o custo do BCrypt configurado é alterado.
  */
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+@Slf4j
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UsuarioRepository usuarioRepository;
 
@@ -37,4 +43,20 @@ public class CustomUserDetailsService implements UserDetailsService {
                 .authorities(Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + usuario.getTipo().name())))
                 .build();
     }
+
+    /**
+     * Chamado pelo Spring Security após um login bem-sucedido quando o hash
+     * armazenado usa um custo diferente do configurado (rehash transparente).
+     */
+    @Override
+    @RetryOnConflict
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        usuarioRepository.findByEmail(user.getUsername()).ifPresent(usuario -> {
+            usuario.setSenha(newPassword);
+            usuarioRepository.save(usuario);
+            log.info("Hash de senha atualizado para o custo atual: {}", usuario.getEmail());
+        });
+        return User.withUserDetails(user).password(newPassword).build();
+    }
 }
@@ -0,0 +1,24 @@
+package com.gerenciamento.cursos.service;
+
+import com.gerenciamento.cursos.dto.EventoDTO;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Destino dos eventos publicados pelo {@link OutboxRelay}. Implementações são escolhidas
+ * por app.outbox.sink; no máximo uma fica ativa.
+ */
+public interface EventoSink {
+
+    /**
+     * Nome do sink; identifica o cursor de entrega em outbox_cursor.
+     */
+    String getNome();
+
+    /**
+     * Entrega o lote, na ordem recebida. Deve retornar só depois da entrega confirmada;
+     * qualquer exceção faz o mesmo lote ser reenviado no próximo ciclo.
+     */
+    void publicar(List<EventoDTO> eventos) throws IOException;
+}
@@ -0,0 +1,168 @@
+package com.gerenciamento.cursos.service;
+
+import com.gerenciamento.cursos.exception.BusinessException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Move matrículas concluídas sem alteração há mais de app.arquivamento.idade-dias para
+ * matriculas_arquivo, em lotes curtos com pausa entre eles, para não disputar locks e I/O com o
+ * tráfego normal. Canceladas ficam em matriculas: podem ser reativadas (PATCH .../reativar) a
+ * qualquer tempo, e arquivá-las impediria tanto a reativação quanto uma nova matrícula.
+ *
+ * As consultas do dia a dia leem só a tabela matriculas; o histórico por aluno e por curso
+ * junta as duas (ver MatriculaService).
+ */
+@Service
+@Slf4j
+public class MatriculaArquivamentoService {
+
+    private static final String CONCLUIDAS = "status = 'CONCLUIDA' AND data_atualizacao < ?";
+    private static final String COLUNAS = "id, aluno_id, curso_id, status, progresso, data_matricula, data_conclusao, data_atualizacao";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final RespostaCacheService respostaCacheService;
+    private final boolean habilitado;
+    private final int idadeDias;
+    private final int tamanhoLote;
+    private final long pausaMs;
+    private final AtomicBoolean emExecucao = new AtomicBoolean();
+    private Boolean postgres;
+
+    public MatriculaArquivamentoService(JdbcTemplate jdbcTemplate,
+                                        TransactionTemplate transactionTemplate,
+                                        RespostaCacheService respostaCacheService,
+                                        @Value("${app.arquivamento.habilitado:true}") boolean habilitado,
+                                        @Value("${app.arquivamento.idade-dias:365}") int idadeDias,
+                                        @Value("${app.arquivamento.tamanho-lote:500}") int tamanhoLote,
+                                        @Value("${app.arquivamento.pausa-ms:200}") long pausaMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.respostaCacheService = respostaCacheService;
+        this.habilitado = habilitado;
+        this.idadeDias = idadeDias;
+        this.tamanhoLote = tamanhoLote;
+        this.pausaMs = pausaMs;
+    }
+
+    @Scheduled(cron = "${app.arquivamento.cron:0 30 3 * * *}")
+    public void arquivarAgendado() {
+        if (!habilitado) {
+            return;
+        }
+        try {
+            arquivar();
+        } catch (BusinessException ex) {
+            log.info("Arquivamento agendado ignorado: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Executa o arquivamento até não restarem matrículas elegíveis.
+     *
+     * @return quantidade de matrículas movidas
+     */
+    public int arquivar() {
+        if (!emExecucao.compareAndSet(false, true)) {
+            throw new BusinessException("Arquivamento de matrículas já está em execução");
+        }
+        try {
+            Timestamp limite = Timestamp.valueOf(LocalDateTime.now().minusDays(idadeDias));
+            log.info("Arquivando matrículas concluídas antes de {} (lotes de {})", limite, tamanhoLote);
+            if (isPostgres()) {
+                criarParticoes(limite);
+            }
+
+            int total = 0;
+            int movidas;
+            do {
+                movidas = transactionTemplate.execute(status -> moverLote(limite));
+                total += movidas;
+                if (movidas == tamanhoLote) {
+                    pausar();
+                }
+            } while (movidas == tamanhoLote);
+            if (total > 0) {
+                // sem eventos no outbox: as contagens de matrículas em cache mudaram
+                respostaCacheService.invalidar(EnumSet.allOf(RespostaCacheService.Regiao.class));
+            }
+
+            log.info("Arquivamento concluído: {} matrículas movidas", total);
+            return total;
+        } finally {
+            emExecucao.set(false);
+        }
+    }
+
+    /**
+     * Move um lote numa transação. SKIP LOCKED: linhas em uso (ou tomadas por outra instância)
+     * ficam para o próximo lote/execução.
+     */
+    private int moverLote(Timestamp limite) {
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT id FROM matriculas WHERE " + CONCLUIDAS
+                        + " ORDER BY data_atualizacao LIMIT ? FOR UPDATE SKIP LOCKED",
+                Long.class, limite, tamanhoLote);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        String marcadores = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        Object[] parametros = ids.toArray();
+        jdbcTemplate.update("INSERT INTO matriculas_arquivo (" + COLUNAS + ", data_arquivamento) "
+                + "SELECT " + COLUNAS + ", CURRENT_TIMESTAMP FROM matriculas WHERE id IN (" + marcadores + ")",
+                parametros);
+        jdbcTemplate.update("DELETE FROM matriculas WHERE id IN (" + marcadores + ")", parametros);
+        jdbcTemplate.update("DELETE FROM matricula_view WHERE id IN (" + marcadores + ")", parametros);
+        return ids.size();
+    }
+
+    /**
+     * Cria as partições anuais que vão receber as linhas desta execução.
+     */
+    private void criarParticoes(Timestamp limite) {
+        List<Integer> anos = jdbcTemplate.queryForList(
+                "SELECT DISTINCT CAST(EXTRACT(YEAR FROM data_matricula) AS INTEGER) FROM matriculas WHERE " + CONCLUIDAS,
+                Integer.class, limite);
+        for (Integer ano : anos) {
+            try {
+                jdbcTemplate.execute(String.format(
+                        "CREATE TABLE IF NOT EXISTS matriculas_arquivo_%d PARTITION OF matriculas_arquivo "
+                                + "FOR VALUES FROM ('%d-01-01') TO ('%d-01-01')", ano, ano, ano + 1));
+            } catch (DataAccessException ex) {
+                log.warn("Não foi possível criar a partição de {}; as linhas irão para a partição padrão: {}",
+                        ano, ex.getMessage());
+            }
+        }
+    }
+
+    private boolean isPostgres() {
+        if (postgres == null) {
+            postgres = "PostgreSQL".equals(jdbcTemplate.execute(
+                    (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName()));
+        }
+        return postgres;
+    }
+
+    private void pausar() {
+        try {
+            Thread.sleep(pausaMs);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Arquivamento interrompido", ex);
+        }
+    }
+}
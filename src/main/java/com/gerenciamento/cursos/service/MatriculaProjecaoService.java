@@ -0,0 +1,243 @@
+package com.gerenciamento.cursos.service;
+
+import com.gerenciamento.cursos.config.ReadYourWritesFilter;
+import com.gerenciamento.cursos.model.EventoOutbox.TipoEvento;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mantém o modelo de leitura matricula_view a partir do outbox. A cada ciclo lê os eventos
+ * após o cursor 'projecao_matriculas' e recalcula, a partir das tabelas de origem, as linhas
+ * afetadas: a da matrícula, as do aluno ou curso alterado, as dos cursos do professor.
+ * Recalcular em vez de aplicar o conteúdo do evento torna a projeção idempotente, então
+ * reprocessar um lote (at-least-once) não a corrompe.
+ *
+ * O atraso é publicado em matriculas.projecao.atraso. Acima de
+ * app.projecao.matriculas.atraso-maximo-ms, ou logo após uma escrita da própria sessão,
+ * as listagens leem das tabelas de origem (ver {@link #disponivel()}).
+ */
+@Service
+@Slf4j
+public class MatriculaProjecaoService {
+
+    private static final String CURSOR = "projecao_matriculas";
+    private static final String SEQUENCIADOR = "sequenciador";
+
+    private static final String INSERIR_PROJECAO = "INSERT INTO matricula_view (id, aluno_id, aluno_nome, aluno_email, "
+            + "curso_id, curso_nome, professor_id, professor_nome, status, progresso, data_matricula, data_conclusao, projetado_em) "
+            + "SELECT m.id, a.id, a.nome, a.email, c.id, c.nome, p.id, p.nome, "
+            + "m.status, m.progresso, m.data_matricula, m.data_conclusao, CURRENT_TIMESTAMP "
+            + "FROM matriculas m "
+            + "JOIN alunos a ON a.id = m.aluno_id "
+            + "JOIN cursos c ON c.id = m.curso_id "
+            + "JOIN usuarios p ON p.id = c.professor_id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean habilitado;
+    private final int tamanhoLote;
+    private final long atrasoMaximoMs;
+
+    /** Criação do evento mais antigo pendente na última medição; null se estava em dia. */
+    private volatile Long pendenteDesde;
+    /** Fim do último ciclo bem-sucedido; 0 antes do primeiro. */
+    private volatile long ultimoCiclo;
+
+    public MatriculaProjecaoService(JdbcTemplate jdbcTemplate,
+                                    TransactionTemplate transactionTemplate,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${app.projecao.matriculas.habilitado:true}") boolean habilitado,
+                                    @Value("${app.projecao.matriculas.tamanho-lote:500}") int tamanhoLote,
+                                    @Value("${app.projecao.matriculas.atraso-maximo-ms:5000}") long atrasoMaximoMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.habilitado = habilitado;
+        this.tamanhoLote = tamanhoLote;
+        this.atrasoMaximoMs = atrasoMaximoMs;
+        TimeGauge.builder("matriculas.projecao.atraso", this, TimeUnit.MILLISECONDS,
+                        projecao -> projecao.ultimoCiclo == 0 ? Double.NaN : projecao.atrasoMs())
+                .description("Tempo máximo que o modelo de leitura de matrículas pode estar desatualizado")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Indica se as listagens podem ler do modelo de leitura: projeção rodando, atraso dentro do
+     * limite e nenhuma escrita da sessão que a projeção possa ainda não ter aplicado.
+     */
+    public boolean disponivel() {
+        return habilitado
+                && ultimoCiclo > 0
+                && atrasoMs() <= atrasoMaximoMs
+                && !ReadYourWritesFilter.escritaRecente(atrasoMaximoMs);
+    }
+
+    /**
+     * Sem evento pendente na última medição, o modelo estava em dia naquele instante.
+     */
+    long atrasoMs() {
+        Long desde = pendenteDesde;
+        return System.currentTimeMillis() - (desde != null ? desde : ultimoCiclo);
+    }
+
+    /**
+     * Dados gravados sem passar pelos services (carga inicial) não geram eventos:
+     * com a view vazia e matrículas existentes, reconstrói.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void inicializar() {
+        if (!habilitado) {
+            return;
+        }
+        boolean viewVazia = jdbcTemplate.queryForList("SELECT id FROM matricula_view LIMIT 1", Long.class).isEmpty();
+        boolean semMatriculas = jdbcTemplate.queryForList("SELECT id FROM matriculas LIMIT 1", Long.class).isEmpty();
+        if (viewVazia && !semMatriculas) {
+            reconstruir();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.projecao.matriculas.intervalo-ms:500}")
+    public void executar() {
+        if (!habilitado) {
+            return;
+        }
+        try {
+            while (projetar() == tamanhoLote) {
+                // continua enquanto houver lotes cheios
+            }
+            medirAtraso();
+        } catch (RuntimeException ex) {
+            log.warn("Projeção de matrículas interrompida, nova tentativa no próximo ciclo: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Recria a view inteira a partir das tabelas de origem e posiciona o cursor na última
+     * posição sequenciada. Eventos posteriores reaplicam linhas já corretas, sem efeito.
+     *
+     * @return quantidade de linhas projetadas
+     */
+    public int reconstruir() {
+        int linhas = transactionTemplate.execute(status -> {
+            travarCursor();
+            long sequenciada = jdbcTemplate.queryForObject(
+                    "SELECT posicao FROM outbox_cursor WHERE nome = ?", Long.class, SEQUENCIADOR);
+            jdbcTemplate.update("DELETE FROM matricula_view");
+            int projetadas = jdbcTemplate.update(INSERIR_PROJECAO);
+            jdbcTemplate.update("UPDATE outbox_cursor SET posicao = ? WHERE nome = ?", sequenciada, CURSOR);
+            return projetadas;
+        });
+        log.info("Modelo de leitura de matrículas reconstruído: {} linhas", linhas);
+        return linhas;
+    }
+
+    /**
+     * Aplica o próximo lote de eventos após o cursor da projeção.
+     */
+    int projetar() {
+        return transactionTemplate.execute(status -> {
+            Lote lote = new Lote(travarCursor());
+            jdbcTemplate.query("SELECT posicao, tipo, agregado_id FROM eventos_outbox "
+                            + "WHERE posicao > ? ORDER BY posicao LIMIT ?",
+                    (RowCallbackHandler) rs -> lote.adicionar(
+                            rs.getLong("posicao"), rs.getString("tipo"), rs.getLong("agregado_id")),
+                    lote.ultimaPosicao, tamanhoLote);
+            if (lote.eventos == 0) {
+                return 0;
+            }
+            recalcular("id", "m.id", lote.matriculas);
+            recalcular("aluno_id", "m.aluno_id", lote.alunos);
+            recalcular("curso_id", "m.curso_id", lote.cursos);
+            recalcular("professor_id", "c.professor_id", lote.professores);
+            jdbcTemplate.update("UPDATE outbox_cursor SET posicao = ? WHERE nome = ?", lote.ultimaPosicao, CURSOR);
+            log.debug("Projeção de matrículas avançou até a posição {}", lote.ultimaPosicao);
+            return lote.eventos;
+        });
+    }
+
+    /**
+     * Substitui as linhas da view cujo campo coluna está em ids pelo estado atual das tabelas
+     * de origem. Matrículas que não existem mais (arquivadas) simplesmente somem da view.
+     */
+    private void recalcular(String coluna, String colunaOrigem, Set<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        String marcadores = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        Object[] parametros = ids.toArray();
+        jdbcTemplate.update("DELETE FROM matricula_view WHERE " + coluna + " IN (" + marcadores + ")", parametros);
+        jdbcTemplate.update(INSERIR_PROJECAO + " WHERE " + colunaOrigem + " IN (" + marcadores + ")", parametros);
+    }
+
+    /**
+     * Atraso = idade do evento mais antigo ainda não projetado, incluindo os que o relay
+     * ainda não sequenciou.
+     */
+    private void medirAtraso() {
+        long cursor = jdbcTemplate.queryForObject(
+                "SELECT posicao FROM outbox_cursor WHERE nome = ?", Long.class, CURSOR);
+        Timestamp proximo = jdbcTemplate.query(
+                "SELECT criado_em FROM eventos_outbox WHERE posicao > ? ORDER BY posicao LIMIT 1",
+                rs -> rs.next() ? rs.getTimestamp(1) : null, cursor);
+        Timestamp naoSequenciado = jdbcTemplate.queryForObject(
+                "SELECT MIN(criado_em) FROM eventos_outbox WHERE posicao IS NULL", Timestamp.class);
+        Long maisAntigo = null;
+        for (Timestamp criadoEm : new Timestamp[]{proximo, naoSequenciado}) {
+            if (criadoEm != null && (maisAntigo == null || criadoEm.getTime() < maisAntigo)) {
+                maisAntigo = criadoEm.getTime();
+            }
+        }
+        pendenteDesde = maisAntigo;
+        ultimoCiclo = System.currentTimeMillis();
+    }
+
+    private long travarCursor() {
+        return jdbcTemplate.queryForObject("SELECT posicao FROM outbox_cursor WHERE nome = ? FOR UPDATE",
+                Long.class, CURSOR);
+    }
+
+    /**
+     * Agregados afetados por um lote de eventos.
+     */
+    private static class Lote {
+        private final Set<Long> matriculas = new LinkedHashSet<>();
+        private final Set<Long> alunos = new LinkedHashSet<>();
+        private final Set<Long> cursos = new LinkedHashSet<>();
+        private final Set<Long> professores = new LinkedHashSet<>();
+        private long ultimaPosicao;
+        private int eventos;
+
+        private Lote(long cursor) {
+            this.ultimaPosicao = cursor;
+        }
+
+        private void adicionar(long posicao, String tipo, long agregadoId) {
+            ultimaPosicao = posicao;
+            eventos++;
+            switch (TipoEvento.valueOf(tipo)) {
+                case MATRICULA_CRIADA, MATRICULA_CANCELADA, MATRICULA_REATIVADA,
+                        MATRICULA_PROGRESSO_ATUALIZADO, MATRICULA_CONCLUIDA -> matriculas.add(agregadoId);
+                case ALUNO_ATUALIZADO, ALUNO_DESATIVADO -> alunos.add(agregadoId);
+                case CURSO_ATUALIZADO, CURSO_DESATIVADO -> cursos.add(agregadoId);
+                case USUARIO_ATUALIZADO -> professores.add(agregadoId);
+                default -> {
+                    // criação de aluno/curso não afeta matrículas existentes
+                }
+            }
+        }
+    }
+}
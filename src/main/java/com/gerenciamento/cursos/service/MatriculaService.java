@@ -1,21 +1,34 @@
 package com.gerenciamento.cursos.service;
 
+import com.gerenciamento.cursos.config.FlightRecorderEvents.ContencaoVagas;
+import com.gerenciamento.cursos.config.FlightRecorderEvents.TentativaMatricula;
+import com.gerenciamento.cursos.config.RetryOnConflict;
 import com.gerenciamento.cursos.dto.MatriculaDTO;
 import com.gerenciamento.cursos.exception.BusinessException;
 import com.gerenciamento.cursos.exception.ResourceNotFoundException;
 import com.gerenciamento.cursos.model.Aluno;
 import com.gerenciamento.cursos.model.Curso;
+import com.gerenciamento.cursos.model.EventoOutbox.TipoEvento;
 import com.gerenciamento.cursos.model.Matricula;
 import com.gerenciamento.cursos.repository.AlunoRepository;
 import com.gerenciamento.cursos.repository.CursoRepository;
+import com.gerenciamento.cursos.repository.MatriculaArquivadaRepository;
 import com.gerenciamento.cursos.repository.MatriculaRepository;
+import com.gerenciamento.cursos.repository.MatriculaViewRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.gerenciamento.cursos.config.FlightRecorderEvents.mapearLote;
 
 /**
  * Service responsável pela lógica de negócio de Matrículas.
@@ -29,31 +42,62 @@ public class MatriculaService {
     private final MatriculaRepository matriculaRepository;
     private final AlunoRepository alunoRepository;
     private final CursoRepository cursoRepository;
+    private final MatriculaArquivadaRepository matriculaArquivadaRepository;
+    private final OutboxService outboxService;
+    private final MatriculaViewRepository matriculaViewRepository;
+    private final MatriculaProjecaoService matriculaProjecaoService;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Controle de concorrência das vagas: "otimista" (@Version + retry) ou
+     * "pessimista" (SELECT ... FOR UPDATE no curso).
+     */
+    @Value("${app.concorrencia.modo:otimista}")
+    private String modoConcorrencia;
 
     /**
-     * Lista todas as matrículas.
+     * Lista todas as matrículas correntes (as arquivadas ficam de fora).
+     * As listagens leem de matricula_view quando a projeção está em dia (ver MatriculaProjecaoService).
      */
+    @Transactional(readOnly = true)
     public List<MatriculaDTO> listarTodas() {
         log.info("Listando todas as matrículas");
-        return matriculaRepository.findAll().stream()
-                .map(MatriculaDTO::fromEntity)
-                .collect(Collectors.toList());
+        if (matriculaProjecaoService.disponivel()) {
+            return mapearLote("MatriculaView", matriculaViewRepository.findAllByOrderById(), MatriculaDTO::fromEntity);
+        }
+        return mapearLote("Matricula", matriculaRepository.findAll(), MatriculaDTO::fromEntity);
     }
 
     /**
      * Realiza matrícula de um aluno em um curso.
      */
+    @RetryOnConflict
     @Transactional
     public MatriculaDTO matricular(Long alunoId, Long cursoId) {
         log.info("Matriculando aluno {} no curso {}", alunoId, cursoId);
-        
+        TentativaMatricula evento = TentativaMatricula.iniciar(alunoId, cursoId);
+        try {
+            return efetuarMatricula(alunoId, cursoId, evento);
+        } catch (RuntimeException ex) {
+            evento.concluir(ex.getClass().getSimpleName());
+            throw ex;
+        }
+    }
+
+    private MatriculaDTO efetuarMatricula(Long alunoId, Long cursoId, TentativaMatricula evento) {
         Aluno aluno = alunoRepository.findById(alunoId)
-                .orElseThrow(() -> new ResourceNotFoundException("Aluno", alunoId));
+                .orElseThrow(() -> recusar(evento, "aluno_nao_encontrado", new ResourceNotFoundException("Aluno", alunoId)));
         
-        Curso curso = cursoRepository.findById(cursoId)
-                .orElseThrow(() -> new ResourceNotFoundException("Curso", cursoId));
+        Curso curso;
+        long inicioEspera = System.nanoTime();
+        try {
+            curso = buscarCursoParaAlterarVagas(cursoId);
+        } catch (ResourceNotFoundException ex) {
+            throw recusar(evento, "curso_nao_encontrado", ex);
+        }
+        evento.registrarEsperaVaga(System.nanoTime() - inicioEspera);
         
-        validarMatricula(aluno, curso);
+        validarMatricula(aluno, curso, evento);
         
         Matricula matricula = new Matricula();
         matricula.setAluno(aluno);
@@ -66,14 +110,27 @@ public class MatriculaService {
         cursoRepository.save(curso);
         
         matricula = matriculaRepository.save(matricula);
+        MatriculaDTO criada = MatriculaDTO.fromEntity(matricula);
+        outboxService.registrar(TipoEvento.MATRICULA_CRIADA, matricula.getId(), criada);
+        // conta só após o commit: a tentativa ainda pode falhar por conflito de versão e ser refeita
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    contarTentativa("sucesso");
+                }
+                evento.concluir(status == STATUS_COMMITTED ? "sucesso" : "conflito");
+            }
+        });
         
         log.info("Matrícula realizada com sucesso. ID: {}", matricula.getId());
-        return MatriculaDTO.fromEntity(matricula);
+        return criada;
     }
 
     /**
      * Cancela uma matrícula.
      */
+    @RetryOnConflict
     @Transactional
     public void cancelarMatricula(Long matriculaId) {
         log.info("Cancelando matrícula ID: {}", matriculaId);
@@ -88,11 +145,12 @@ public class MatriculaService {
         matricula.cancelar();
         
         // Incrementa vaga disponível
-        Curso curso = matricula.getCurso();
+        Curso curso = buscarCursoParaAlterarVagas(matricula.getCurso().getId());
         curso.incrementarVaga();
         cursoRepository.save(curso);
         
         matriculaRepository.save(matricula);
+        outboxService.registrar(TipoEvento.MATRICULA_CANCELADA, matriculaId, MatriculaDTO.fromEntity(matricula));
         
         log.info("Matrícula cancelada com sucesso");
     }
@@ -100,6 +158,7 @@ public class MatriculaService {
     /**
      * Reativa uma matrícula cancelada.
      */
+    @RetryOnConflict
     @Transactional
     public MatriculaDTO reativarMatricula(Long matriculaId) {
         log.info("Reativando matrícula ID: {}", matriculaId);
@@ -111,7 +170,7 @@ public class MatriculaService {
             throw new BusinessException("Apenas matrículas canceladas podem ser reativadas");
         }
         
-        Curso curso = matricula.getCurso();
+        Curso curso = buscarCursoParaAlterarVagas(matricula.getCurso().getId());
         
         // Verifica se o curso ainda está ativo
         if (!curso.getAtivo()) {
@@ -131,14 +190,17 @@ public class MatriculaService {
         cursoRepository.save(curso);
         
         matricula = matriculaRepository.save(matricula);
+        MatriculaDTO reativada = MatriculaDTO.fromEntity(matricula);
+        outboxService.registrar(TipoEvento.MATRICULA_REATIVADA, matriculaId, reativada);
         
         log.info("Matrícula reativada com sucesso");
-        return MatriculaDTO.fromEntity(matricula);
+        return reativada;
     }
 
     /**
      * Atualiza o progresso de uma matrícula.
      */
+    @RetryOnConflict
     @Transactional
     public MatriculaDTO atualizarProgresso(Long matriculaId, Double progresso) {
         log.info("Atualizando progresso da matrícula {} para {}%", matriculaId, progresso);
@@ -155,54 +217,108 @@ public class MatriculaService {
         }
         
         matricula.atualizarProgresso(progresso);
-        matricula = matriculaRepository.save(matricula);
+        // flush aplica a conclusão automática (@PreUpdate) antes de montar a resposta e os eventos
+        matricula = matriculaRepository.saveAndFlush(matricula);
+        MatriculaDTO atualizada = MatriculaDTO.fromEntity(matricula);
+        outboxService.registrar(TipoEvento.MATRICULA_PROGRESSO_ATUALIZADO, matriculaId, atualizada);
+        if (matricula.getStatus() == Matricula.StatusMatricula.CONCLUIDA) {
+            outboxService.registrar(TipoEvento.MATRICULA_CONCLUIDA, matriculaId, atualizada);
+        }
         
         log.info("Progresso atualizado com sucesso");
-        return MatriculaDTO.fromEntity(matricula);
+        return atualizada;
     }
 
     /**
-     * Lista todas as matrículas de um aluno.
+     * Lista todas as matrículas de um aluno, incluindo o histórico arquivado.
      */
+    @Transactional(readOnly = true)
     public List<MatriculaDTO> listarMatriculasPorAluno(Long alunoId) {
         log.info("Listando matrículas do aluno: {}", alunoId);
-        return matriculaRepository.findByAlunoId(alunoId).stream()
-                .map(MatriculaDTO::fromEntity)
+        List<MatriculaDTO> correntes = matriculaProjecaoService.disponivel()
+                ? mapearLote("MatriculaView", matriculaViewRepository.findByAlunoIdOrderById(alunoId), MatriculaDTO::fromEntity)
+                : mapearLote("Matricula", matriculaRepository.findByAlunoId(alunoId), MatriculaDTO::fromEntity);
+        return Stream.concat(correntes.stream(),
+                        mapearLote("MatriculaArquivada", matriculaArquivadaRepository.findByAlunoId(alunoId),
+                                MatriculaDTO::fromEntity).stream())
                 .collect(Collectors.toList());
     }
 
     /**
-     * Lista todas as matrículas de um curso.
+     * Lista todas as matrículas de um curso, incluindo o histórico arquivado.
      */
+    @Transactional(readOnly = true)
     public List<MatriculaDTO> listarMatriculasPorCurso(Long cursoId) {
         log.info("Listando matrículas do curso: {}", cursoId);
-        return matriculaRepository.findByCursoId(cursoId).stream()
-                .map(MatriculaDTO::fromEntity)
+        List<MatriculaDTO> correntes = matriculaProjecaoService.disponivel()
+                ? mapearLote("MatriculaView", matriculaViewRepository.findByCursoIdOrderById(cursoId), MatriculaDTO::fromEntity)
+                : mapearLote("Matricula", matriculaRepository.findByCursoId(cursoId), MatriculaDTO::fromEntity);
+        return Stream.concat(correntes.stream(),
+                        mapearLote("MatriculaArquivada", matriculaArquivadaRepository.findByCursoId(cursoId),
+                                MatriculaDTO::fromEntity).stream())
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Carrega o curso cujas vagas serão alteradas, com lock de linha no modo pessimista.
+     */
+    private Curso buscarCursoParaAlterarVagas(Long cursoId) {
+        ContencaoVagas evento = ContencaoVagas.iniciar(cursoId, modoConcorrencia);
+        try {
+            return ("pessimista".equals(modoConcorrencia)
+                    ? cursoRepository.findByIdParaAtualizacao(cursoId)
+                    : cursoRepository.findById(cursoId))
+                    .orElseThrow(() -> new ResourceNotFoundException("Curso", cursoId));
+        } finally {
+            evento.commit();
+        }
+    }
+
     /**
      * Valida se a matrícula pode ser realizada.
      */
-    private void validarMatricula(Aluno aluno, Curso curso) {
+    private void validarMatricula(Aluno aluno, Curso curso, TentativaMatricula evento) {
         // Verifica se aluno está ativo
         if (!aluno.getAtivo()) {
-            throw new BusinessException("Aluno inativo não pode se matricular");
+            throw recusar(evento, "aluno_inativo", new BusinessException("Aluno inativo não pode se matricular"));
         }
         
         // Verifica se curso está ativo
         if (!curso.getAtivo()) {
-            throw new BusinessException("Curso inativo não aceita novas matrículas");
+            throw recusar(evento, "curso_inativo", new BusinessException("Curso inativo não aceita novas matrículas"));
         }
         
         // Verifica se há vagas disponíveis
         if (!curso.temVagasDisponiveis()) {
-            throw new BusinessException("Curso não possui vagas disponíveis");
+            throw recusar(evento, "sem_vagas", new BusinessException("Curso não possui vagas disponíveis"));
         }
         
         // Verifica se aluno já está matriculado no curso
         if (matriculaRepository.existsByAlunoIdAndCursoId(aluno.getId(), curso.getId())) {
-            throw new BusinessException("Aluno já está matriculado neste curso");
+            throw recusar(evento, "ja_matriculado", new BusinessException("Aluno já está matriculado neste curso"));
+        }
+
+        // Matrículas concluídas saem de matriculas para o arquivo, fora da unique (aluno, curso):
+        // sem esta verificação o aluno poderia refazer um curso concluído. Canceladas arquivadas por
+        // versões anteriores não contam, senão o aluno não teria como voltar ao curso.
+        // Consultada depois de matriculas, uma matrícula arquivada no meio das duas é vista em uma delas.
+        if (matriculaArquivadaRepository.existsByAlunoIdAndCursoIdAndStatus(
+                aluno.getId(), curso.getId(), Matricula.StatusMatricula.CONCLUIDA)) {
+            throw recusar(evento, "ja_matriculado", new BusinessException("Aluno já concluiu este curso"));
         }
     }
+
+    /**
+     * Conta a recusa de uma matrícula pelo motivo (também no evento JFR) e devolve a exceção a lançar.
+     * Recusas não são reexecutadas pelo retry, então cada uma é contada uma vez.
+     */
+    private <E extends RuntimeException> E recusar(TentativaMatricula evento, String motivo, E excecao) {
+        contarTentativa(motivo);
+        evento.recusar(motivo);
+        return excecao;
+    }
+
+    private void contarTentativa(String resultado) {
+        meterRegistry.counter("matriculas.tentativas", "resultado", resultado).increment();
+    }
 }
@@ -0,0 +1,178 @@
+package com.gerenciamento.cursos.service;
+
+import com.gerenciamento.cursos.dto.EventoDTO;
+import com.gerenciamento.cursos.model.EventoOutbox.TipoEvento;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Publica os eventos do outbox em dois passos, ambos serializados entre instâncias
+ * por lock na linha do cursor (outbox_cursor):
+ *
+ * 1. sequenciar: atribui posições consecutivas aos eventos gravados, na ordem de id.
+ *    Um evento cuja transação confirma depois recebe uma posição maior, então quem
+ *    consome por posição nunca o perde.
+ * 2. entregar: envia ao sink os eventos após o cursor do sink e avança o cursor.
+ *    Se o envio falhar, o cursor não avança e o lote é reenviado (at-least-once).
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+
+    private static final String SEQUENCIADOR = "sequenciador";
+
+    private static final RowMapper<EventoDTO> EVENTO_MAPPER = (rs, linha) -> new EventoDTO(
+            rs.getLong("posicao"),
+            TipoEvento.valueOf(rs.getString("tipo")),
+            rs.getString("agregado"),
+            rs.getLong("agregado_id"),
+            rs.getTimestamp("criado_em").toLocalDateTime(),
+            rs.getString("dados"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EventoSink sink;
+    private final boolean habilitado;
+    private final int tamanhoLote;
+    private final int retencaoDias;
+    private boolean cursorDoSinkCriado;
+
+    public OutboxRelay(JdbcTemplate jdbcTemplate,
+                       TransactionTemplate transactionTemplate,
+                       ObjectProvider<EventoSink> sink,
+                       @Value("${app.outbox.relay.habilitado:true}") boolean habilitado,
+                       @Value("${app.outbox.tamanho-lote:200}") int tamanhoLote,
+                       @Value("${app.outbox.retencao-dias:7}") int retencaoDias) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.sink = sink.getIfAvailable();
+        this.habilitado = habilitado;
+        this.tamanhoLote = tamanhoLote;
+        this.retencaoDias = retencaoDias;
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.intervalo-ms:1000}",
+            initialDelayString = "${app.outbox.intervalo-ms:1000}")
+    public void executar() {
+        if (!habilitado) {
+            return;
+        }
+        try {
+            while (sequenciar() == tamanhoLote) {
+                // continua enquanto houver lotes cheios
+            }
+            if (sink != null) {
+                criarCursorDoSink();
+                while (entregar() == tamanhoLote) {
+                    // idem
+                }
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Relay do outbox interrompido, nova tentativa no próximo ciclo: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Atribui posições ao próximo lote de eventos ainda não sequenciados.
+     */
+    int sequenciar() {
+        return transactionTemplate.execute(status -> {
+            long ultima = travarCursor(SEQUENCIADOR);
+            List<Long> ids = jdbcTemplate.queryForList(
+                    "SELECT id FROM eventos_outbox WHERE posicao IS NULL ORDER BY id LIMIT ?",
+                    Long.class, tamanhoLote);
+            if (ids.isEmpty()) {
+                return 0;
+            }
+            List<Object[]> posicoes = new ArrayList<>(ids.size());
+            for (Long id : ids) {
+                posicoes.add(new Object[]{++ultima, id});
+            }
+            jdbcTemplate.batchUpdate("UPDATE eventos_outbox SET posicao = ? WHERE id = ?", posicoes);
+            jdbcTemplate.update("UPDATE outbox_cursor SET posicao = ? WHERE nome = ?", ultima, SEQUENCIADOR);
+            return ids.size();
+        });
+    }
+
+    /**
+     * Entrega ao sink o próximo lote após o cursor dele.
+     */
+    int entregar() {
+        return transactionTemplate.execute(status -> {
+            long entregue = travarCursor(sink.getNome());
+            List<EventoDTO> eventos = jdbcTemplate.query(
+                    "SELECT posicao, tipo, agregado, agregado_id, criado_em, dados FROM eventos_outbox "
+                            + "WHERE posicao > ? ORDER BY posicao LIMIT ?",
+                    EVENTO_MAPPER, entregue, tamanhoLote);
+            if (eventos.isEmpty()) {
+                return 0;
+            }
+            try {
+                sink.publicar(eventos);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            long ultima = eventos.get(eventos.size() - 1).getPosicao();
+            jdbcTemplate.update("UPDATE outbox_cursor SET posicao = ? WHERE nome = ?", ultima, sink.getNome());
+            log.debug("Eventos {}..{} entregues ao sink {}", eventos.get(0).getPosicao(), ultima, sink.getNome());
+            return eventos.size();
+        });
+    }
+
+    /**
+     * Remove eventos já entregues ao sink e aplicados pelas projeções (sem sink, já sequenciados)
+     * mais antigos que a retenção. Dentro da retenção, consumidores podem reler o stream por GET /api/eventos.
+     */
+    @Scheduled(cron = "${app.outbox.limpeza-cron:0 0 4 * * *}")
+    public void limpar() {
+        if (!habilitado) {
+            return;
+        }
+        String cursor = sink != null ? sink.getNome() : SEQUENCIADOR;
+        Long limite = jdbcTemplate.queryForObject(
+                "SELECT MIN(posicao) FROM outbox_cursor WHERE nome = ? OR nome LIKE 'projecao%'",
+                Long.class, cursor);
+        if (limite == null) {
+            return;
+        }
+        int removidos = jdbcTemplate.update("DELETE FROM eventos_outbox WHERE posicao <= ? AND criado_em < ?",
+                limite, Timestamp.valueOf(LocalDateTime.now().minusDays(retencaoDias)));
+        log.info("Limpeza do outbox: {} eventos removidos", removidos);
+    }
+
+    private long travarCursor(String nome) {
+        return jdbcTemplate.queryForObject("SELECT posicao FROM outbox_cursor WHERE nome = ? FOR UPDATE",
+                Long.class, nome);
+    }
+
+    /**
+     * Um sink novo começa do início dos eventos retidos.
+     */
+    private void criarCursorDoSink() {
+        if (cursorDoSinkCriado) {
+            return;
+        }
+        try {
+            jdbcTemplate.update("INSERT INTO outbox_cursor (nome, posicao) "
+                            + "SELECT ?, 0 WHERE NOT EXISTS (SELECT 1 FROM outbox_cursor WHERE nome = ?)",
+                    sink.getNome(), sink.getNome());
+        } catch (DuplicateKeyException ex) {
+            // criado por outra instância
+        }
+        cursorDoSinkCriado = true;
+    }
+}
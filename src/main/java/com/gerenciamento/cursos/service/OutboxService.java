@@ -0,0 +1,93 @@
+package com.gerenciamento.cursos.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gerenciamento.cursos.config.ReadYourWritesFilter;
+import com.gerenciamento.cursos.dto.EventoDTO;
+import com.gerenciamento.cursos.model.EventoOutbox;
+import com.gerenciamento.cursos.model.EventoOutbox.TipoEvento;
+import com.gerenciamento.cursos.repository.EventoOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static com.gerenciamento.cursos.config.FlightRecorderEvents.mapearLote;
+
+/**
+ * Registra eventos de domínio no outbox. Exige uma transação em andamento:
+ * o evento só existe se a alteração que o gerou for confirmada.
+ */
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+    private static final int LIMITE_MAXIMO_CONSULTA = 1000;
+
+    private final EventoOutboxRepository eventoOutboxRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final RespostaCacheService respostaCacheService;
+
+    /**
+     * Grava um evento com os dados serializados em JSON.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrar(TipoEvento tipo, Long agregadoId, Object dados) {
+        EventoOutbox evento = new EventoOutbox();
+        evento.setTipo(tipo);
+        evento.setAgregado(tipo.getAgregado());
+        evento.setAgregadoId(agregadoId);
+        evento.setDados(serializar(dados));
+        eventoOutboxRepository.save(evento);
+        ReadYourWritesFilter.registrarEscrita();
+        respostaCacheService.invalidarAposCommit(tipo);
+    }
+
+    /**
+     * Grava vários eventos do mesmo tipo com batch JDBC (gravações em lote feitas fora do JPA).
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarTodos(TipoEvento tipo, Map<Long, ?> dadosPorAgregado) {
+        Timestamp agora = Timestamp.valueOf(LocalDateTime.now());
+        List<Map.Entry<Long, ?>> eventos = List.copyOf(dadosPorAgregado.entrySet());
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO eventos_outbox (id, tipo, agregado, agregado_id, dados, criado_em) "
+                        + "VALUES (nextval('eventos_outbox_seq'), ?, ?, ?, ?, ?)",
+                eventos, eventos.size(), (ps, evento) -> {
+                    ps.setString(1, tipo.name());
+                    ps.setString(2, tipo.getAgregado());
+                    ps.setLong(3, evento.getKey());
+                    ps.setString(4, serializar(evento.getValue()));
+                    ps.setTimestamp(5, agora);
+                });
+        ReadYourWritesFilter.registrarEscrita();
+        respostaCacheService.invalidarAposCommit(tipo);
+    }
+
+    /**
+     * Eventos já publicados depois da posição informada, em ordem (replay para consumidores).
+     */
+    @Transactional(readOnly = true)
+    public List<EventoDTO> buscarDesde(long posicao, int limite) {
+        int tamanho = Math.max(1, Math.min(limite, LIMITE_MAXIMO_CONSULTA));
+        return mapearLote("EventoOutbox",
+                eventoOutboxRepository.findByPosicaoGreaterThanOrderByPosicao(posicao, PageRequest.of(0, tamanho)),
+                EventoDTO::fromEntity);
+    }
+
+    private String serializar(Object dados) {
+        try {
+            return objectMapper.writeValueAsString(dados);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Falha ao serializar evento", ex);
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package com.gerenciamento.cursos.service;
+
+import com.gerenciamento.cursos.model.EventoOutbox.TipoEvento;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Corpos JSON já serializados das listagens mais lidas (ver ResponseCacheFilter), por caminho
+ * e perfil do usuário, com a versão gzip opcional.
+ *
+ * Cada região tem uma geração, incrementada a cada invalidação; uma entrada só vale para a
+ * geração em que foi montada. Uma resposta montada enquanto uma escrita era confirmada é
+ * descartada em vez de guardada. Invalidação:
+ * - local: eventos do outbox, depois do commit da transação que os gravou (ver OutboxService);
+ * - outras instâncias: a cada app.cache-respostas.sincronizacao-ms, pelos eventos sequenciados
+ *   desde a última verificação;
+ * - escritas fora do outbox (arquivamento) invalidam direto; o TTL limita o resto.
+ *
+ * Memória: cada entrada tem até tamanho-maximo-kb e o total até total-maximo-mb; acima dele as
+ * entradas mais antigas saem primeiro. Como cada combinação de ?fields= é uma chave, entradas
+ * vencidas que ninguém pede de novo são varridas a cada app.cache-respostas.limpeza-ms.
+ */
+@Service
+@Slf4j
+public class RespostaCacheService {
+
+    /**
+     * Grupos de listagens invalidados juntos.
+     */
+    public enum Regiao {
+        /** Cursos: vagas, total de matrículas e nome do professor. */
+        CURSOS,
+        /** Alunos: total de cursos e progresso médio. */
+        ALUNOS
+    }
+
+    /**
+     * Resposta 200 guardada; {@code gzip} é null se a compressão está desligada ou o corpo é pequeno.
+     */
+    public record Entrada(byte[] corpo, byte[] gzip, String contentType, long geracao, long expiraEm) {
+    }
+
+    private record Chave(Regiao regiao, String caminho, String perfil) {
+    }
+
+    private static final String SEQUENCIADOR = "sequenciador";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+    private final boolean habilitado;
+    private final long ttlMillis;
+    private final int tamanhoMaximo;
+    private final long totalMaximo;
+    private final boolean gzip;
+    private final int gzipMinimo;
+    private final Map<Regiao, AtomicLong> geracoes = new EnumMap<>(Regiao.class);
+    private final Map<Regiao, AtomicLong> invalidadaEm = new EnumMap<>(Regiao.class);
+    private final Map<Chave, Entrada> entradas = new ConcurrentHashMap<>();
+    private final AtomicLong bytes = new AtomicLong();
+    private final AtomicBoolean liberando = new AtomicBoolean();
+    /** Última posição do outbox já considerada; null antes da primeira sincronização. */
+    private volatile Long posicaoSincronizada;
+
+    public RespostaCacheService(JdbcTemplate jdbcTemplate,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.cache-respostas.habilitado:true}") boolean habilitado,
+                                @Value("${app.cache-respostas.ttl-ms:30000}") long ttlMillis,
+                                @Value("${app.cache-respostas.tamanho-maximo-kb:8192}") int tamanhoMaximoKb,
+                                @Value("${app.cache-respostas.total-maximo-mb:64}") int totalMaximoMb,
+                                @Value("${app.cache-respostas.gzip:true}") boolean gzip,
+                                @Value("${app.cache-respostas.gzip-minimo-bytes:1024}") int gzipMinimo) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.meterRegistry = meterRegistry;
+        this.habilitado = habilitado;
+        this.ttlMillis = ttlMillis;
+        this.tamanhoMaximo = tamanhoMaximoKb * 1024;
+        this.totalMaximo = totalMaximoMb * 1024L * 1024L;
+        this.gzip = gzip;
+        this.gzipMinimo = gzipMinimo;
+        for (Regiao regiao : Regiao.values()) {
+            geracoes.put(regiao, new AtomicLong());
+            invalidadaEm.put(regiao, new AtomicLong());
+        }
+        meterRegistry.gauge("cache.respostas.bytes", Tags.empty(), bytes);
+    }
+
+    public boolean habilitado() {
+        return habilitado;
+    }
+
+    public long geracao(Regiao regiao) {
+        return geracoes.get(regiao).get();
+    }
+
+    /**
+     * Indica se a região foi invalidada há menos de janelaMillis.
+     */
+    public boolean invalidadaRecentemente(Regiao regiao, long janelaMillis) {
+        return System.currentTimeMillis() - invalidadaEm.get(regiao).get() < janelaMillis;
+    }
+
+    /**
+     * Entrada válida (geração atual e dentro do TTL) ou null.
+     */
+    public Entrada buscar(Regiao regiao, String caminho, String perfil) {
+        Chave chave = new Chave(regiao, caminho, perfil);
+        Entrada entrada = entradas.get(chave);
+        boolean valida = entrada != null && entrada.geracao() == geracao(regiao)
+                && System.currentTimeMillis() < entrada.expiraEm();
+        if (entrada != null && !valida && entradas.remove(chave, entrada)) {
+            bytes.addAndGet(-tamanho(entrada));
+        }
+        meterRegistry.counter("cache.respostas", "regiao", regiao.name(), "resultado", valida ? "hit" : "miss").increment();
+        return valida ? entrada : null;
+    }
+
+    /**
+     * Guarda o corpo montado na {@code geracao} lida antes da requisição; se a região foi
+     * invalidada nesse meio tempo, o corpo pode refletir dados antigos e é descartado.
+     */
+    public void guardar(Regiao regiao, String caminho, String perfil, long geracao, byte[] corpo, String contentType) {
+        if (geracao != geracao(regiao) || corpo.length > tamanhoMaximo || corpo.length > totalMaximo) {
+            return;
+        }
+        byte[] comprimido = gzip && corpo.length >= gzipMinimo ? comprimir(corpo) : null;
+        Entrada entrada = new Entrada(corpo, comprimido, contentType, geracao, System.currentTimeMillis() + ttlMillis);
+        Entrada anterior = entradas.put(new Chave(regiao, caminho, perfil), entrada);
+        bytes.addAndGet(tamanho(entrada) - (anterior != null ? tamanho(anterior) : 0));
+        // invalidada durante a compressão: a remoção feita por invalidar() pode ter passado antes do put
+        if (geracao != geracao(regiao) && entradas.remove(new Chave(regiao, caminho, perfil), entrada)) {
+            bytes.addAndGet(-tamanho(entrada));
+        }
+        if (bytes.get() > totalMaximo) {
+            liberarEspaco();
+        }
+    }
+
+    /**
+     * Acima de total-maximo-mb, remove as entradas mais antigas até voltar a 90% do limite, para
+     * que a varredura não se repita a cada guardar(). Uma thread por vez; as outras seguem sem esperar.
+     */
+    private void liberarEspaco() {
+        if (!liberando.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long alvo = totalMaximo / 10 * 9;
+            List<Map.Entry<Chave, Entrada>> antigas = entradas.entrySet().stream()
+                    .sorted(Comparator.comparingLong(e -> e.getValue().expiraEm()))
+                    .toList();
+            for (Map.Entry<Chave, Entrada> antiga : antigas) {
+                if (bytes.get() <= alvo) {
+                    break;
+                }
+                descartar(antiga.getKey(), antiga.getValue(), "limite");
+            }
+        } finally {
+            liberando.set(false);
+        }
+    }
+
+    /**
+     * Remove as entradas vencidas ou de gerações antigas que não foram pedidas de novo.
+     */
+    @Scheduled(fixedDelayString = "${app.cache-respostas.limpeza-ms:60000}",
+            initialDelayString = "${app.cache-respostas.limpeza-ms:60000}")
+    public void limpar() {
+        long agora = System.currentTimeMillis();
+        entradas.forEach((chave, entrada) -> {
+            if (agora >= entrada.expiraEm() || entrada.geracao() != geracao(chave.regiao())) {
+                descartar(chave, entrada, "expirada");
+            }
+        });
+    }
+
+    private void descartar(Chave chave, Entrada entrada, String motivo) {
+        if (entradas.remove(chave, entrada)) {
+            bytes.addAndGet(-tamanho(entrada));
+            meterRegistry.counter("cache.respostas.descartes", "motivo", motivo).increment();
+        }
+    }
+
+    /**
+     * Invalida as regiões afetadas pelo evento quando a transação atual confirmar (sem transação, na hora).
+     */
+    public void invalidarAposCommit(TipoEvento tipo) {
+        invalidarAposCommit(regioes(tipo));
+    }
+
+    public void invalidarAposCommit(Collection<Regiao> regioes) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidar(regioes);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidar(regioes);
+            }
+        });
+    }
+
+    public void invalidar(Collection<Regiao> regioes) {
+        for (Regiao regiao : regioes) {
+            geracoes.get(regiao).incrementAndGet();
+            invalidadaEm.get(regiao).set(System.currentTimeMillis());
+            entradas.entrySet().removeIf(e -> {
+                if (e.getKey().regiao() != regiao) {
+                    return false;
+                }
+                bytes.addAndGet(-tamanho(e.getValue()));
+                return true;
+            });
+            meterRegistry.counter("cache.respostas.invalidacoes", "regiao", regiao.name()).increment();
+        }
+    }
+
+    /**
+     * Regiões cujo conteúdo o evento altera. Progresso muda só as médias dos alunos.
+     */
+    static Set<Regiao> regioes(TipoEvento tipo) {
+        return switch (tipo) {
+            case MATRICULA_PROGRESSO_ATUALIZADO, ALUNO_CRIADO, ALUNO_ATUALIZADO, ALUNO_DESATIVADO -> EnumSet.of(Regiao.ALUNOS);
+            case CURSO_CRIADO, CURSO_ATUALIZADO, CURSO_DESATIVADO, USUARIO_ATUALIZADO -> EnumSet.of(Regiao.CURSOS);
+            case MATRICULA_CRIADA, MATRICULA_CANCELADA, MATRICULA_REATIVADA, MATRICULA_CONCLUIDA -> EnumSet.allOf(Regiao.class);
+        };
+    }
+
+    /**
+     * Escritas de outras instâncias: eventos sequenciados pelo relay desde a última verificação.
+     * As da própria instância já foram invalidadas no commit; invalidar de novo só custa um miss.
+     */
+    @Scheduled(fixedDelayString = "${app.cache-respostas.sincronizacao-ms:1000}",
+            initialDelayString = "${app.cache-respostas.sincronizacao-ms:1000}")
+    public void sincronizar() {
+        if (!habilitado) {
+            return;
+        }
+        try {
+            Long posicao = jdbcTemplate.queryForObject(
+                    "SELECT posicao FROM outbox_cursor WHERE nome = ?", Long.class, SEQUENCIADOR);
+            Long anterior = posicaoSincronizada;
+            if (posicao == null || posicao.equals(anterior)) {
+                return;
+            }
+            if (anterior == null) {
+                invalidar(EnumSet.allOf(Regiao.class));
+            } else {
+                List<String> tipos = jdbcTemplate.queryForList(
+                        "SELECT DISTINCT tipo FROM eventos_outbox WHERE posicao > ? AND posicao <= ?",
+                        String.class, anterior, posicao);
+                Set<Regiao> afetadas = EnumSet.noneOf(Regiao.class);
+                tipos.forEach(tipo -> afetadas.addAll(regioes(TipoEvento.valueOf(tipo))));
+                invalidar(afetadas);
+            }
+            posicaoSincronizada = posicao;
+        } catch (RuntimeException ex) {
+            log.warn("Sincronização do cache de respostas falhou, nova tentativa no próximo ciclo: {}", ex.getMessage());
+        }
+    }
+
+    private static long tamanho(Entrada entrada) {
+        return entrada.corpo().length + (entrada.gzip() != null ? entrada.gzip().length : 0);
+    }
+
+    private static byte[] comprimir(byte[] corpo) {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream(corpo.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(saida)) {
+            gzip.write(corpo);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return saida.toByteArray();
+    }
+}
@@ -1,7 +1,9 @@
 package com.gerenciamento.cursos.service;
 
+import com.gerenciamento.cursos.config.RetryOnConflict;
 import com.gerenciamento.cursos.exception.BusinessException;
 import com.gerenciamento.cursos.exception.ResourceNotFoundException;
+import com.gerenciamento.cursos.model.EventoOutbox.TipoEvento;
 import com.gerenciamento.cursos.model.Usuario;
 import com.gerenciamento.cursos.repository.UsuarioRepository;
 import lombok.RequiredArgsConstructor;
@@ -11,6 +13,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * Service responsável pela lógica de negócio de Usuários.
@@ -22,10 +25,12 @@ public class UsuarioService {
 
     private final UsuarioRepository usuarioRepository;
     private final PasswordEncoder passwordEncoder;
+    private final OutboxService outboxService;
 
     /**
      * Lista todos os usuários.
      */
+    @Transactional(readOnly = true)
     public List<Usuario> listarTodos() {
         return usuarioRepository.findAll();
     }
@@ -33,6 +38,7 @@ public class UsuarioService {
     /**
      * Lista apenas professores.
      */
+    @Transactional(readOnly = true)
     public List<Usuario> listarProfessores() {
         return usuarioRepository.findByTipo(Usuario.TipoUsuario.PROFESSOR);
     }
@@ -40,6 +46,7 @@ public class UsuarioService {
     /**
      * Busca usuário por ID.
      */
+    @Transactional(readOnly = true)
     public Usuario buscarPorId(Long id) {
         return usuarioRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Usuário", id));
@@ -74,6 +81,7 @@ public class UsuarioService {
     /**
      * Atualiza um usuário existente.
      */
+    @RetryOnConflict
     @Transactional
     public Usuario atualizar(Long id, Usuario usuarioAtualizado) {
         log.info("Atualizando usuário ID: {}", id);
@@ -100,6 +108,12 @@ public class UsuarioService {
         }
 
         usuarioExistente = usuarioRepository.save(usuarioExistente);
+        // sem a senha: o evento vai para consumidores externos
+        outboxService.registrar(TipoEvento.USUARIO_ATUALIZADO, id, Map.of(
+                "id", id,
+                "nome", usuarioExistente.getNome(),
+                "email", usuarioExistente.getEmail(),
+                "tipo", usuarioExistente.getTipo()));
         log.info("Usuário atualizado com sucesso");
 
         return usuarioExistente;
@@ -108,6 +122,7 @@ public class UsuarioService {
     /**
      * Desativa um usuário.
      */
+    @RetryOnConflict
     @Transactional
     public void desativar(Long id) {
         log.info("Desativando usuário ID: {}", id);
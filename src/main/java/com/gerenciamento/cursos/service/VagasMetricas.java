@@ -0,0 +1,61 @@
+package com.gerenciamento.cursos.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Gauges de vagas por curso ativo (tag curso = id), atualizados periodicamente a partir de uma
+ * única consulta. Cursos desativados saem da série na atualização seguinte.
+ */
+@Component
+@Slf4j
+public class VagasMetricas {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean habilitado;
+    private final MultiGauge vagasDisponiveis;
+    private final MultiGauge vagas;
+
+    public VagasMetricas(JdbcTemplate jdbcTemplate,
+                         MeterRegistry meterRegistry,
+                         @Value("${app.metricas.vagas.habilitado:true}") boolean habilitado) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.habilitado = habilitado;
+        this.vagasDisponiveis = MultiGauge.builder("cursos.vagas.disponiveis")
+                .description("Vagas disponíveis por curso ativo")
+                .register(meterRegistry);
+        this.vagas = MultiGauge.builder("cursos.vagas")
+                .description("Total de vagas por curso ativo")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.metricas.vagas.intervalo-ms:30000}", initialDelay = 5000)
+    public void atualizar() {
+        if (!habilitado) {
+            return;
+        }
+        List<MultiGauge.Row<?>> disponiveis = new ArrayList<>();
+        List<MultiGauge.Row<?>> totais = new ArrayList<>();
+        try {
+            jdbcTemplate.query("SELECT id, vagas, vagas_disponiveis FROM cursos WHERE ativo = true", rs -> {
+                Tags tags = Tags.of("curso", String.valueOf(rs.getLong("id")));
+                disponiveis.add(MultiGauge.Row.of(tags, rs.getInt("vagas_disponiveis")));
+                totais.add(MultiGauge.Row.of(tags, rs.getInt("vagas")));
+            });
+        } catch (RuntimeException ex) {
+            log.warn("Falha ao atualizar métricas de vagas: {}", ex.getMessage());
+            return;
+        }
+        vagasDisponiveis.register(disponiveis, true);
+        vagas.register(totais, true);
+    }
+}
@@ -0,0 +1,88 @@
+package com.gerenciamento.cursos.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gerenciamento.cursos.dto.EventoDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.retry.support.RetryTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Envia cada lote de eventos como um array JSON via POST para app.outbox.webhook.url.
+ * Falhas de rede e respostas de erro são reenviadas com backoff exponencial; esgotadas
+ * as tentativas, o relay reenvia o mesmo lote no próximo ciclo.
+ */
+@Component
+@ConditionalOnProperty(name = "app.outbox.sink", havingValue = "webhook")
+@Slf4j
+public class WebhookEventoSink implements EventoSink {
+
+    static final String HEADER_POSICAO_INICIAL = "X-Evento-Posicao-Inicial";
+    static final String HEADER_POSICAO_FINAL = "X-Evento-Posicao-Final";
+
+    private final RestClient restClient;
+    private final RetryTemplate retryTemplate;
+    private final ObjectMapper objectMapper;
+    private final String url;
+
+    public WebhookEventoSink(RestClient.Builder builder,
+                             ObjectMapper objectMapper,
+                             @Value("${app.outbox.webhook.url}") String url,
+                             @Value("${app.outbox.webhook.token:}") String token,
+                             @Value("${app.outbox.webhook.tentativas:5}") int tentativas,
+                             @Value("${app.outbox.webhook.timeout-ms:5000}") int timeoutMs) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(timeoutMs);
+        requestFactory.setReadTimeout(timeoutMs);
+        this.restClient = builder
+                .requestFactory(requestFactory)
+                .defaultHeaders(headers -> {
+                    if (!token.isEmpty()) {
+                        headers.setBearerAuth(token);
+                    }
+                })
+                .build();
+        this.retryTemplate = RetryTemplate.builder()
+                .maxAttempts(tentativas)
+                .exponentialBackoff(200, 2, 10_000, true)
+                .retryOn(RestClientException.class)
+                .build();
+        this.objectMapper = objectMapper;
+        this.url = url;
+    }
+
+    @Override
+    public String getNome() {
+        return "webhook";
+    }
+
+    @Override
+    public void publicar(List<EventoDTO> eventos) throws IOException {
+        // corpo serializado antes: vai com Content-Length em vez de chunked, e é reaproveitado nas tentativas
+        byte[] corpo = objectMapper.writeValueAsBytes(eventos);
+        String inicial = String.valueOf(eventos.get(0).getPosicao());
+        String ultima = String.valueOf(eventos.get(eventos.size() - 1).getPosicao());
+        retryTemplate.execute(contexto -> {
+            if (contexto.getRetryCount() > 0) {
+                log.warn("Reenviando eventos {}..{} ao webhook (tentativa {}): {}", inicial, ultima,
+                        contexto.getRetryCount() + 1, contexto.getLastThrowable().getMessage());
+            }
+            return restClient.post()
+                    .uri(url)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header(HEADER_POSICAO_INICIAL, inicial)
+                    .header(HEADER_POSICAO_FINAL, ultima)
+                    .body(corpo)
+                    .retrieve()
+                    .toBodilessEntity();
+        });
+    }
+}
@@ -0,0 +1,87 @@
+-- Schema inicial (H2, para execução local)
+-- Sequences com INCREMENT 50 = allocationSize dos @SequenceGenerator (otimizador pooled)
+
+CREATE SEQUENCE usuarios_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE alunos_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE cursos_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE matriculas_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE usuarios (
+    id BIGINT NOT NULL,
+    nome VARCHAR(200) NOT NULL,
+    email VARCHAR(200) NOT NULL,
+    senha VARCHAR(255) NOT NULL,
+    tipo VARCHAR(20) NOT NULL CHECK (tipo IN ('ADMIN', 'PROFESSOR', 'ALUNO')),
+    ativo BOOLEAN NOT NULL,
+    data_cadastro TIMESTAMP(6) NOT NULL,
+    data_atualizacao TIMESTAMP(6),
+    CONSTRAINT usuarios_pk PRIMARY KEY (id),
+    CONSTRAINT usuarios_email_uk UNIQUE (email)
+);
+
+CREATE TABLE alunos (
+    id BIGINT NOT NULL,
+    nome VARCHAR(200) NOT NULL,
+    email VARCHAR(200) NOT NULL,
+    cpf VARCHAR(11) NOT NULL,
+    telefone VARCHAR(15),
+    ativo BOOLEAN NOT NULL,
+    data_cadastro TIMESTAMP(6) NOT NULL,
+    data_atualizacao TIMESTAMP(6),
+    CONSTRAINT alunos_pk PRIMARY KEY (id),
+    CONSTRAINT alunos_email_uk UNIQUE (email),
+    CONSTRAINT alunos_cpf_uk UNIQUE (cpf)
+);
+
+CREATE TABLE cursos (
+    id BIGINT NOT NULL,
+    nome VARCHAR(200) NOT NULL,
+    descricao VARCHAR(1000),
+    carga_horaria INTEGER NOT NULL,
+    vagas INTEGER NOT NULL,
+    vagas_disponiveis INTEGER NOT NULL,
+    ativo BOOLEAN NOT NULL,
+    data_criacao TIMESTAMP(6) NOT NULL,
+    data_atualizacao TIMESTAMP(6),
+    professor_id BIGINT NOT NULL,
+    CONSTRAINT cursos_pk PRIMARY KEY (id),
+    CONSTRAINT cursos_professor_fk FOREIGN KEY (professor_id) REFERENCES usuarios (id)
+);
+
+CREATE TABLE matriculas (
+    id BIGINT NOT NULL,
+    aluno_id BIGINT NOT NULL,
+    curso_id BIGINT NOT NULL,
+    status VARCHAR(20) NOT NULL CHECK (status IN ('ATIVA', 'CONCLUIDA', 'CANCELADA', 'TRANCADA')),
+    progresso FLOAT(53) NOT NULL,
+    data_matricula TIMESTAMP(6) NOT NULL,
+    data_conclusao TIMESTAMP(6),
+    data_atualizacao TIMESTAMP(6),
+    CONSTRAINT matriculas_pk PRIMARY KEY (id),
+    CONSTRAINT matriculas_aluno_curso_uk UNIQUE (aluno_id, curso_id),
+    CONSTRAINT matriculas_aluno_fk FOREIGN KEY (aluno_id) REFERENCES alunos (id),
+    CONSTRAINT matriculas_curso_fk FOREIGN KEY (curso_id) REFERENCES cursos (id)
+);
+
+-- Spring Session JDBC
+CREATE TABLE spring_session (
+    primary_id CHAR(36) NOT NULL,
+    session_id CHAR(36) NOT NULL,
+    creation_time BIGINT NOT NULL,
+    last_access_time BIGINT NOT NULL,
+    max_inactive_interval INT NOT NULL,
+    expiry_time BIGINT NOT NULL,
+    principal_name VARCHAR(100),
+    CONSTRAINT spring_session_pk PRIMARY KEY (primary_id)
+);
+CREATE UNIQUE INDEX spring_session_ix1 ON spring_session (session_id);
+CREATE INDEX spring_session_ix2 ON spring_session (expiry_time);
+CREATE INDEX spring_session_ix3 ON spring_session (principal_name);
+
+CREATE TABLE spring_session_attributes (
+    session_primary_id CHAR(36) NOT NULL,
+    attribute_name VARCHAR(200) NOT NULL,
+    attribute_bytes LONGVARBINARY NOT NULL,
+    CONSTRAINT spring_session_attributes_pk PRIMARY KEY (session_primary_id, attribute_name),
+    CONSTRAINT spring_session_attributes_fk FOREIGN KEY (session_primary_id) REFERENCES spring_session (primary_id) ON DELETE CASCADE
+);
@@ -0,0 +1,9 @@
+-- Índices desenhados para as consultas dos repositories (H2: sem índices parciais nem trigram)
+
+CREATE INDEX matriculas_curso_status_ix ON matriculas (curso_id, status);
+CREATE INDEX matriculas_aluno_status_ix ON matriculas (aluno_id, status);
+CREATE INDEX cursos_professor_ix ON cursos (professor_id);
+CREATE INDEX alunos_ativo_ix ON alunos (ativo);
+CREATE INDEX cursos_ativo_vagas_ix ON cursos (ativo, vagas_disponiveis);
+CREATE INDEX usuarios_tipo_ativo_ix ON usuarios (tipo, ativo);
+CREATE INDEX usuarios_ativo_ix ON usuarios (ativo);
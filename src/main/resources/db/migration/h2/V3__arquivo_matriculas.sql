@@ -0,0 +1,20 @@
+-- Arquivo de matrículas encerradas (H2: sem particionamento)
+
+CREATE TABLE matriculas_arquivo (
+    id BIGINT NOT NULL,
+    aluno_id BIGINT NOT NULL,
+    curso_id BIGINT NOT NULL,
+    status VARCHAR(20) NOT NULL CHECK (status IN ('CONCLUIDA', 'CANCELADA')),
+    progresso FLOAT(53) NOT NULL,
+    data_matricula TIMESTAMP(6) NOT NULL,
+    data_conclusao TIMESTAMP(6),
+    data_atualizacao TIMESTAMP(6),
+    data_arquivamento TIMESTAMP(6) NOT NULL,
+    CONSTRAINT matriculas_arquivo_pk PRIMARY KEY (id),
+    CONSTRAINT matriculas_arquivo_aluno_fk FOREIGN KEY (aluno_id) REFERENCES alunos (id),
+    CONSTRAINT matriculas_arquivo_curso_fk FOREIGN KEY (curso_id) REFERENCES cursos (id)
+);
+
+CREATE INDEX matriculas_arquivo_aluno_ix ON matriculas_arquivo (aluno_id);
+CREATE INDEX matriculas_arquivo_curso_ix ON matriculas_arquivo (curso_id);
+CREATE INDEX matriculas_encerradas_ix ON matriculas (status, data_atualizacao);
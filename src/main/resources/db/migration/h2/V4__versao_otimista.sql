@@ -0,0 +1,6 @@
+-- Coluna de versão para locking otimista (@Version); linhas existentes começam na versão 0
+
+ALTER TABLE usuarios ADD COLUMN versao BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE alunos ADD COLUMN versao BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE cursos ADD COLUMN versao BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE matriculas ADD COLUMN versao BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,23 @@
+-- Outbox transacional (H2: sem índice parcial)
+
+CREATE SEQUENCE eventos_outbox_seq START WITH 1 INCREMENT BY 1;
+
+CREATE TABLE eventos_outbox (
+    id BIGINT NOT NULL,
+    posicao BIGINT,
+    tipo VARCHAR(60) NOT NULL,
+    agregado VARCHAR(30) NOT NULL,
+    agregado_id BIGINT NOT NULL,
+    dados VARCHAR(8000) NOT NULL,
+    criado_em TIMESTAMP(6) NOT NULL,
+    CONSTRAINT eventos_outbox_pk PRIMARY KEY (id),
+    CONSTRAINT eventos_outbox_posicao_uk UNIQUE (posicao)
+);
+
+CREATE TABLE outbox_cursor (
+    nome VARCHAR(60) NOT NULL,
+    posicao BIGINT NOT NULL,
+    CONSTRAINT outbox_cursor_pk PRIMARY KEY (nome)
+);
+
+INSERT INTO outbox_cursor (nome, posicao) VALUES ('sequenciador', 0);
@@ -0,0 +1,36 @@
+-- Modelo de leitura de matrículas: uma linha por matrícula corrente, já com os nomes de aluno,
+-- curso e professor. Mantido de forma assíncrona a partir do outbox (MatriculaProjecaoService);
+-- as listagens leem só esta tabela.
+
+CREATE TABLE matricula_view (
+    id BIGINT NOT NULL,
+    aluno_id BIGINT NOT NULL,
+    aluno_nome VARCHAR(200) NOT NULL,
+    aluno_email VARCHAR(200) NOT NULL,
+    curso_id BIGINT NOT NULL,
+    curso_nome VARCHAR(200) NOT NULL,
+    professor_id BIGINT NOT NULL,
+    professor_nome VARCHAR(200) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    progresso FLOAT(53) NOT NULL,
+    data_matricula TIMESTAMP(6) NOT NULL,
+    data_conclusao TIMESTAMP(6),
+    projetado_em TIMESTAMP(6) NOT NULL,
+    CONSTRAINT matricula_view_pk PRIMARY KEY (id)
+);
+
+CREATE INDEX matricula_view_aluno_ix ON matricula_view (aluno_id, id);
+CREATE INDEX matricula_view_curso_ix ON matricula_view (curso_id, id);
+CREATE INDEX matricula_view_professor_ix ON matricula_view (professor_id);
+
+-- carga inicial; a projeção segue o outbox a partir da última posição já sequenciada
+INSERT INTO matricula_view
+SELECT m.id, a.id, a.nome, a.email, c.id, c.nome, p.id, p.nome,
+       m.status, m.progresso, m.data_matricula, m.data_conclusao, CURRENT_TIMESTAMP
+FROM matriculas m
+JOIN alunos a ON a.id = m.aluno_id
+JOIN cursos c ON c.id = m.curso_id
+JOIN usuarios p ON p.id = c.professor_id;
+
+INSERT INTO outbox_cursor (nome, posicao)
+SELECT 'projecao_matriculas', posicao FROM outbox_cursor WHERE nome = 'sequenciador';
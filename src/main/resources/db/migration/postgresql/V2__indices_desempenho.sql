@@ -0,0 +1,25 @@
+-- Índices desenhados para as consultas dos repositories
+-- (unicidade de email/CPF e matriculas(aluno_id, curso_id) já têm índice pelas constraints do V1)
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- MatriculaRepository: findByCursoId, countMatriculasAtivasByCursoId
+CREATE INDEX matriculas_curso_status_ix ON matriculas (curso_id, status);
+-- MatriculaRepository: findByAlunoId, findByAlunoIdAndStatus, countByAlunoIdAndStatus
+CREATE INDEX matriculas_aluno_status_ix ON matriculas (aluno_id, status);
+
+-- CursoRepository: findByProfessorId, countByProfessorId (FKs não são indexadas automaticamente)
+CREATE INDEX cursos_professor_ix ON cursos (professor_id);
+
+-- findByAtivoTrue (alunos, cursos, usuarios) e findCursosComVagas: índices parciais só com ativos
+CREATE INDEX alunos_ativos_ix ON alunos (id) WHERE ativo = true;
+CREATE INDEX cursos_ativos_vagas_ix ON cursos (vagas_disponiveis) WHERE ativo = true;
+-- UsuarioRepository: findByAtivoTrue, findByTipoAndAtivoTrue
+CREATE INDEX usuarios_ativos_tipo_ix ON usuarios (tipo) WHERE ativo = true;
+-- UsuarioRepository: findByTipo
+CREATE INDEX usuarios_tipo_ix ON usuarios (tipo);
+
+-- findByNomeContainingIgnoreCase: o Hibernate gera "upper(nome) like upper(?)" com curingas nas
+-- duas pontas, que só pode usar índice trigram sobre a mesma expressão
+CREATE INDEX alunos_nome_trgm_ix ON alunos USING gin (upper(nome) gin_trgm_ops);
+CREATE INDEX cursos_nome_trgm_ix ON cursos USING gin (upper(nome) gin_trgm_ops);
@@ -0,0 +1,29 @@
+-- Arquivo de matrículas encerradas (CONCLUIDA/CANCELADA), particionado por data_matricula.
+-- As partições anuais (matriculas_arquivo_<ano>) são criadas pelo arquivamento antes de mover as linhas;
+-- a partição padrão só recebe linhas se a criação falhar.
+-- A própria tabela matriculas não é particionada: a unicidade (aluno_id, curso_id) teria de incluir a data.
+
+CREATE TABLE IF NOT EXISTS matriculas_arquivo (
+    id BIGINT NOT NULL,
+    aluno_id BIGINT NOT NULL,
+    curso_id BIGINT NOT NULL,
+    status VARCHAR(20) NOT NULL CHECK (status IN ('CONCLUIDA', 'CANCELADA')),
+    progresso FLOAT(53) NOT NULL,
+    data_matricula TIMESTAMP(6) NOT NULL,
+    data_conclusao TIMESTAMP(6),
+    data_atualizacao TIMESTAMP(6),
+    data_arquivamento TIMESTAMP(6) NOT NULL,
+    CONSTRAINT matriculas_arquivo_pk PRIMARY KEY (id, data_matricula),
+    CONSTRAINT matriculas_arquivo_aluno_fk FOREIGN KEY (aluno_id) REFERENCES alunos (id),
+    CONSTRAINT matriculas_arquivo_curso_fk FOREIGN KEY (curso_id) REFERENCES cursos (id)
+) PARTITION BY RANGE (data_matricula);
+
+CREATE TABLE IF NOT EXISTS matriculas_arquivo_padrao PARTITION OF matriculas_arquivo DEFAULT;
+
+-- MatriculaArquivadaRepository: findByAlunoId, findByCursoId (histórico)
+CREATE INDEX IF NOT EXISTS matriculas_arquivo_aluno_ix ON matriculas_arquivo (aluno_id);
+CREATE INDEX IF NOT EXISTS matriculas_arquivo_curso_ix ON matriculas_arquivo (curso_id);
+
+-- varredura do arquivamento: matrículas encerradas, da alteração mais antiga para a mais recente
+CREATE INDEX IF NOT EXISTS matriculas_encerradas_ix ON matriculas (data_atualizacao)
+    WHERE status IN ('CONCLUIDA', 'CANCELADA');
@@ -0,0 +1,28 @@
+-- Outbox transacional: eventos de domínio gravados na mesma transação da alteração.
+-- posicao é atribuída pelo relay, em ordem e sem lacunas, e serve de offset para os consumidores.
+
+CREATE SEQUENCE IF NOT EXISTS eventos_outbox_seq START WITH 1 INCREMENT BY 1;
+
+CREATE TABLE IF NOT EXISTS eventos_outbox (
+    id BIGINT NOT NULL,
+    posicao BIGINT,
+    tipo VARCHAR(60) NOT NULL,
+    agregado VARCHAR(30) NOT NULL,
+    agregado_id BIGINT NOT NULL,
+    dados VARCHAR(8000) NOT NULL,
+    criado_em TIMESTAMP(6) NOT NULL,
+    CONSTRAINT eventos_outbox_pk PRIMARY KEY (id),
+    CONSTRAINT eventos_outbox_posicao_uk UNIQUE (posicao)
+);
+
+-- relay: eventos ainda sem posição, na ordem de gravação
+CREATE INDEX IF NOT EXISTS eventos_outbox_pendentes_ix ON eventos_outbox (id) WHERE posicao IS NULL;
+
+-- última posição atribuída ('sequenciador') e última entregue por sink
+CREATE TABLE IF NOT EXISTS outbox_cursor (
+    nome VARCHAR(60) NOT NULL,
+    posicao BIGINT NOT NULL,
+    CONSTRAINT outbox_cursor_pk PRIMARY KEY (nome)
+);
+
+INSERT INTO outbox_cursor (nome, posicao) VALUES ('sequenciador', 0) ON CONFLICT DO NOTHING;
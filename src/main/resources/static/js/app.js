@@ -8,6 +8,10 @@ let alunosOptions = [];
 let cursosOptions = [];
 let currentUser = null; // Informações do usuário logado
 
+// Campos usados pelas tabelas e pelos selects que leem cursosCache/alunosCache (?fields=)
+const CAMPOS_TABELA_CURSOS = 'id,nome,professorNome,cargaHoraria,vagas,vagasDisponiveis,ativo';
+const CAMPOS_TABELA_ALUNOS = 'id,nome,email,cpf,telefone,ativo';
+
 // Verificação de autenticação e carregamento de usuário
 async function checkAuthentication() {
     try {
@@ -141,11 +145,12 @@ function showSection(sectionId) {
 // Dashboard
 async function loadDashboard() {
     try {
+        // o painel só conta os registros: pede apenas os campos usados (?fields=)
         const [cursos, alunos, professores, cursosComVagas] = await Promise.all([
-            fetch(`${API_URL}/cursos`).then(r => r.json()),
-            fetch(`${API_URL}/alunos`).then(r => r.json()),
-            fetch(`${API_URL}/usuarios/professores`).then(r => r.json()),
-            fetch(`${API_URL}/cursos/disponiveis`).then(r => r.json())
+            fetch(`${API_URL}/cursos?fields=id,totalMatriculas`).then(r => r.json()),
+            fetch(`${API_URL}/alunos?fields=id`).then(r => r.json()),
+            fetch(`${API_URL}/usuarios/professores?fields=id`).then(r => r.json()),
+            fetch(`${API_URL}/cursos/disponiveis?fields=id`).then(r => r.json())
         ]);
 
         document.getElementById('totalCursos').textContent = cursos.length;
@@ -325,7 +330,7 @@ function filterSelect(selectId, searchText, type) {
 // CURSOS
 async function loadCursos() {
     try {
-        const response = await fetch(`${API_URL}/cursos`);
+        const response = await fetch(`${API_URL}/cursos?fields=${CAMPOS_TABELA_CURSOS}`);
         const cursos = await response.json();
         cursosCache = cursos;
         const tbody = document.getElementById('cursosTableBody');
@@ -419,7 +424,7 @@ async function deleteCurso(id) {
 // ALUNOS
 async function loadAlunos() {
     try {
-        const response = await fetch(`${API_URL}/alunos`);
+        const response = await fetch(`${API_URL}/alunos?fields=${CAMPOS_TABELA_ALUNOS}`);
         const alunos = await response.json();
         alunosCache = alunos;
         const tbody = document.getElementById('alunosTableBody');